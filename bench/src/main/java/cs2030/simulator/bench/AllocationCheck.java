@@ -0,0 +1,92 @@
+package cs2030.simulator.bench;
+
+import cs2030.simulator.EventRunner;
+import cs2030.simulator.NullSink;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Checks that {@link EventRunner#runDispatch} allocates nothing for each event, by the
+ * bytes allocated by the running thread, as counted by the JVM.
+ *
+ * <p>For each shape of arguments of {@link RunBenchmark}, a short and a long run are
+ * measured after warming up. The engine only allocates while its tables grow to the
+ * most customers in the shop at once, so both runs should allocate about the same, and
+ * the difference divided by the extra customers should be 0. Exits with status 1 if it
+ * is above {@value #MAX_BYTES_PER_CUSTOMER} for any shape. Run with
+ * {@code java -cp bench/target/benchmarks.jar cs2030.simulator.bench.AllocationCheck}.</p>
+ */
+public class AllocationCheck {
+
+    /**
+     * Numbers of customers of the short and long runs, and of runs to warm up with.
+     */
+    private static final int SHORT_RUN = 100_000;
+    private static final int LONG_RUN = 2_000_000;
+    private static final int WARMUP_RUNS = 5;
+
+    /**
+     * Most bytes allocated for each extra customer before the check fails, which
+     * allows for a few tables growing once more in the long run.
+     */
+    private static final double MAX_BYTES_PER_CUSTOMER = 0.01;
+
+    /**
+     * Runs the check.
+     * @param args  Not used.
+     */
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        boolean failed = false;
+        for (int shape : new int[] {5, 6, 8, 9, 10}) {
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                runner(shape, SHORT_RUN).runDispatch(new NullSink());
+            }
+            long shortBytes = allocated(threads, runner(shape, SHORT_RUN));
+            long longBytes = allocated(threads, runner(shape, LONG_RUN));
+            double perCustomer = (double) (longBytes - shortBytes) / (LONG_RUN - SHORT_RUN);
+            boolean ok = perCustomer <= MAX_BYTES_PER_CUSTOMER;
+            System.out.printf("shape %d: %d bytes for %d customers, %d bytes for %d, "
+                    + "%.4f bytes per extra customer %s%n", shape, shortBytes, SHORT_RUN,
+                    longBytes, LONG_RUN, perCustomer, ok ? "ok" : "FAILED");
+            failed |= !ok;
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Gives the bytes allocated by this thread during one run of the engine.
+     */
+    private static long allocated(com.sun.management.ThreadMXBean threads,
+                                  EventRunner runner) {
+        NullSink sink = new NullSink();
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        runner.runDispatch(sink);
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+    /**
+     * Builds the runner of a shape as {@link RunBenchmark} does.
+     */
+    private static EventRunner runner(int shape, int customers) {
+        switch (shape) {
+            case 5:
+                return new EventRunner(customers, 3, 1, 1.0, 1.0, 1, 1, 0.0, 0.0, List.of());
+            case 6:
+                return new EventRunner(customers, 3, 1, 1.0, 1.0, 1, 2, 0.0, 0.0, List.of());
+            case 8:
+                return new EventRunner(customers, 3, 1, 1.0, 1.0, 0.5, 2, 0.3, 0.0, List.of());
+            case 9:
+                return new EventRunner(customers, 3, 1, 1.0, 1.0, 0.5, 2, 0.3, 0.0,
+                        List.of(2));
+            default:
+                return new EventRunner(customers, 3, 1, 1.0, 1.0, 0.5, 2, 0.3, 0.4,
+                        List.of(2));
+        }
+    }
+
+}
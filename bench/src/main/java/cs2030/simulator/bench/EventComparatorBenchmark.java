@@ -0,0 +1,92 @@
+package cs2030.simulator.bench;
+
+import cs2030.simulator.ArriveEvent;
+import cs2030.simulator.Customer;
+import cs2030.simulator.Event;
+import cs2030.simulator.EventComparator;
+import cs2030.simulator.EventHeap;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of {@link EventComparator}, on its own and as used by a PriorityQueue,
+ * against the primitive keys of an {@link EventHeap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventComparatorBenchmark {
+
+    /**
+     * Number of events added to and polled from each queue.
+     */
+    private static final int EVENTS = 1024;
+
+    private final EventComparator comparator = new EventComparator();
+    private Event[] events;
+    private int next;
+
+    /**
+     * Creates arrivals at random times, where every eighth one ties on time with the
+     * one before, so the customer ID is compared too.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        this.events = new Event[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            double time = i % 8 == 7 ? this.events[i - 1].eventStartTime()
+                    : random.nextDouble() * 100;
+            this.events[i] = new ArriveEvent(new Customer(i + 1, time));
+        }
+        this.next = 0;
+    }
+
+    @Benchmark
+    public int compare() {
+        int i = this.next;
+        this.next = (i + 1) & (EVENTS - 1);
+        return this.comparator.compare(this.events[i], this.events[this.next]);
+    }
+
+    @Benchmark
+    public Event priorityQueue() {
+        PriorityQueue<Event> queue = new PriorityQueue<>(this.comparator);
+        for (Event e : this.events) {
+            queue.add(e);
+        }
+        Event last = null;
+        while (!queue.isEmpty()) {
+            last = queue.poll();
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Event eventHeap() {
+        EventHeap heap = new EventHeap();
+        for (Event e : this.events) {
+            heap.add(e);
+        }
+        Event last = null;
+        while (!heap.isEmpty()) {
+            last = heap.poll();
+        }
+        return last;
+    }
+
+}
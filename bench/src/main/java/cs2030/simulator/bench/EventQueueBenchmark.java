@@ -0,0 +1,67 @@
+package cs2030.simulator.bench;
+
+import cs2030.simulator.EventQueueType;
+import cs2030.simulator.EventRunner;
+import cs2030.simulator.NullSink;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times each kind of {@link cs2030.simulator.EventQueue} on whole simulations, over a
+ * range of arrival rates and numbers of servers.
+ *
+ * <p>Simulations use the in-place engine and a {@link NullSink}, so the time is spent
+ * on the simulation and its event list rather than on output. Arrival rates are set
+ * for a given load per server, with a service rate of 1, so that the event list holds
+ * about as many events as there are servers and waiting customers.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventQueueBenchmark {
+
+    @Param({"PRIORITY", "HEAP", "CALENDAR", "LADDER", "RADIX"})
+    private EventQueueType queue;
+
+    @Param({"1", "10", "100", "1000"})
+    private int servers;
+
+    @Param({"0.5", "0.9", "2.0"})
+    private double load;
+
+    @Param({"100000"})
+    private int customers;
+
+    private EventRunner runner;
+
+    /**
+     * Builds the runner, where the queue holds at most servers * 5 waiting customers.
+     */
+    @Setup
+    public void setUp() {
+        this.runner = new EventRunner(this.customers, this.servers, 1, this.load * this.servers,
+                1.0, 1.0, 4, 0.0, 0.0, List.of()).withEventQueue(this.queue);
+    }
+
+    @Benchmark
+    public NullSink simulate() {
+        NullSink sink = new NullSink();
+        this.runner.runInPlace(sink);
+        return sink;
+    }
+
+}
@@ -0,0 +1,103 @@
+package cs2030.simulator.bench;
+
+import cs2030.simulator.EventRunner;
+import cs2030.simulator.NullSink;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Times {@link EventRunner#run} and the other engines end to end, for each shape of
+ * arguments that Main takes.
+ *
+ * <p>Each shape is set up with the same defaults that Main fills in for the arguments
+ * it leaves out, so a run here is the same simulation as Main with those arguments,
+ * without the cost of printing.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RunBenchmark {
+
+    /**
+     * Number of arguments given to Main, which picks the level of the simulation.
+     */
+    @Param({"5", "6", "8", "9", "10"})
+    private int shape;
+
+    @Param({"10000"})
+    private int customers;
+
+    private EventRunner runner;
+
+    /**
+     * Builds the runner as Main would, with seed 1, 3 human servers, arrival and service
+     * rates of 1.0, and from level 4 a queue of 2, from level 5 a resting rate of 0.5
+     * and probability of resting of 0.3, from level 6 a pool of 2 self-checkout counters,
+     * and at level 7 a probability of greedy customers of 0.4.
+     */
+    @Setup
+    public void setUp() {
+        switch (this.shape) {
+            case 5:
+                this.runner = new EventRunner(this.customers, 3, 1, 1.0, 1.0, 1, 1, 0.0, 0.0,
+                        List.of());
+                break;
+            case 6:
+                this.runner = new EventRunner(this.customers, 3, 1, 1.0, 1.0, 1, 2, 0.0, 0.0,
+                        List.of());
+                break;
+            case 8:
+                this.runner = new EventRunner(this.customers, 3, 1, 1.0, 1.0, 0.5, 2, 0.3, 0.0,
+                        List.of());
+                break;
+            case 9:
+                this.runner = new EventRunner(this.customers, 3, 1, 1.0, 1.0, 0.5, 2, 0.3, 0.0,
+                        List.of(2));
+                break;
+            default:
+                this.runner = new EventRunner(this.customers, 3, 1, 1.0, 1.0, 0.5, 2, 0.3, 0.4,
+                        List.of(2));
+                break;
+        }
+    }
+
+    @Benchmark
+    public NullSink run() {
+        NullSink sink = new NullSink();
+        this.runner.run(sink);
+        return sink;
+    }
+
+    @Benchmark
+    public NullSink runInPlace() {
+        NullSink sink = new NullSink();
+        this.runner.runInPlace(sink);
+        return sink;
+    }
+
+    /**
+     * Runs with the {@link cs2030.simulator.DispatchEngine}, whose allocation per event
+     * shows as zero under {@code -prof gc}, and is checked by {@link AllocationCheck}.
+     */
+    @Benchmark
+    public NullSink runDispatch() {
+        NullSink sink = new NullSink();
+        this.runner.runDispatch(sink);
+        return sink;
+    }
+
+}
@@ -0,0 +1,94 @@
+package cs2030.simulator.bench;
+
+import cs2030.simulator.Customer;
+import cs2030.simulator.EventRunner;
+import cs2030.simulator.Pair;
+import cs2030.simulator.Server;
+import cs2030.simulator.Shop;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmarks of the {@link Shop} operations done on every event, and of
+ * {@link Customer#canWait(Shop)}, which is done on every arrival that finds no
+ * available server.
+ *
+ * <p>Shop.updateSelfQueues no longer exists, as self-checkout counters now share the
+ * queue of their {@link cs2030.simulator.ServerPool}. Its place is taken by
+ * {@link #enqueueDispatch()}, which adds a customer to a pool and takes one out.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShopBenchmark {
+
+    /**
+     * Number of human servers and of self-checkout counters in the shop.
+     */
+    @Param({"4", "64", "1024"})
+    private int servers;
+
+    private Shop shop;
+    private Shop busyShop;
+    private Server replacement;
+    private Customer customer;
+    private int selfID;
+
+    /**
+     * Builds a shop with the given number of human servers, followed by a pool of as
+     * many self-checkout counters. In busyShop every server is serving, and the queue of
+     * every human server is full, so canWait has to look past every human server.
+     */
+    @Setup
+    public void setUp() {
+        EventRunner runner = new EventRunner(0, this.servers, 1, 1.0, 1.0, 1.0, 2, 0.0, 0.0,
+                List.of(this.servers));
+        this.shop = runner.generateShop(this.servers, List.of(this.servers), 2, 0.0, null);
+        Server middle = this.shop.get(this.servers / 2);
+        this.replacement = middle.of(middle.getServerIdentifier(), false, false, 1.0,
+                middle.getCustomersInQueue(), middle.getRand());
+        this.customer = new Customer(1, 0.0);
+        this.selfID = this.servers + 1;
+        Shop busy = this.shop;
+        for (Server s : this.shop.getServers()) {
+            busy = busy.replace(s.of(s.getServerIdentifier(), false, false, 1.0,
+                    s.getCustomersInQueue(), s.getRand()));
+            if (s.getServerIdentifier() <= this.servers) {
+                busy = busy.enqueue(s.getServerIdentifier(), this.customer)
+                        .enqueue(s.getServerIdentifier(), this.customer);
+            }
+        }
+        this.busyShop = busy;
+    }
+
+    @Benchmark
+    public Shop replace() {
+        return this.shop.replace(this.replacement);
+    }
+
+    @Benchmark
+    public Shop enqueueDispatch() {
+        return this.shop.enqueue(this.selfID, this.customer).dispatch(this.selfID);
+    }
+
+    @Benchmark
+    public Pair<Boolean, Optional<Server>> canWait() {
+        return this.customer.canWait(this.busyShop);
+    }
+
+}
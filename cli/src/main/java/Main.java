@@ -0,0 +1,416 @@
+import cs2030.simulator.BufferedEventWriter;
+import cs2030.simulator.Checkpoint;
+import cs2030.simulator.CheckpointSchedule;
+import cs2030.simulator.EventMetrics;
+import cs2030.simulator.EventQueueType;
+import cs2030.simulator.EventRunner;
+import cs2030.simulator.EventSink;
+import cs2030.simulator.MultiShopRunner;
+import cs2030.simulator.NullSink;
+import cs2030.simulator.OnlineStats;
+import cs2030.simulator.ParameterSweep;
+import cs2030.simulator.PeriodicSummary;
+import cs2030.simulator.RandomMode;
+import cs2030.simulator.ReplicationRunner;
+import cs2030.simulator.RoutingPolicy;
+import cs2030.simulator.RunConfig;
+import cs2030.simulator.SteadyState;
+import cs2030.simulator.TeeSink;
+import cs2030.simulator.TraceReader;
+import cs2030.simulator.TraceWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Driver class which runs the cs2030.simulator package to execute events.
+ *
+ * <p>Argument length varies based on inputs, and the parameters will vary accordingly.
+ * The number of self-checkout counters may be given as a comma-separated list, such as
+ * "3,2", for several pools of counters which each share a queue.
+ * Options starting with "--" may be given anywhere, and are not counted as arguments:
+ * <ul>
+ *     <li>--engine=inplace runs the simulation with server state updated in place.</li>
+ *     <li>--engine=dispatch runs the simulation with customers and events kept in
+  *     primitive tables, allocating nothing for each event.</li>
+ *     <li>--engine=timewarp runs the simulation on the threads given by --threads, or
+ *     one per core, by optimistic Time Warp, where groups of servers run ahead of each
+ *     other and roll back, and prints exactly the same.</li>
+ *     <li>--output=stats prints only the final statistics, without each event.</li>
+ *     <li>--stats also prints percentiles of the waiting time, and the utilisation,
+ *     rest and average queue length of each server, after the usual output.</li>
+ *     <li>--until=T generates customers until time T, however many there are, instead
+ *     of the given number, and serves those still in the shop at T as usual. With
+ *     --replications or --shops, every replication or shop stops at T.</li>
+ *     <li>--forever generates customers until the run is interrupted. As customer IDs
+ *     are ints, this run, like one with --until, generates at most 2147483647
+ *     customers, and then ends as if that many had been given.</li>
+ *     <li>--report-every=P prints the statistics so far every P units of simulated
+ *     time, to standard error unless only the statistics are printed or traced.</li>
+ *     <li>--precision=H stops generating customers once the 95% confidence interval
+ *     of the steady-state mean wait, after the warm-up, is narrower than H on each
+ *     side, and prints the estimate after the usual output. --forever, --report-every
+ *     and --precision apply to a single run, and cannot be given with --replications
+ *     or --shops.</li>
+ *     <li>--queue=priority|heap|calendar|ladder|radix chooses the future event list.</li>
+ *     <li>--rng=fast draws from faster SplittableRandom streams, which give different
+ *     results from the default --rng=exact.</li>
+ *     <li>--replications=R runs R replications with seeds from the given seed, in
+ *     parallel, and prints the mean, variance and 95% confidence interval of each
+ *     statistic.</li>
+ *     <li>--metrics counts the events executed, their time and the size of the future
+ *     event list, which can be read through JMX while running, and prints the counts
+ *     to standard error at the end.</li>
+ *     <li>--shops=K splits the arriving customers between K shops of the given layout,
+ *     run in parallel, and prints the statistics of each shop and of all of them.
+ *     Customers are numbered from 1 in each shop.</li>
+ *     <li>--routing=round-robin|hashed|weighted:W1,W2,... chooses how customers are
+ *     routed to shops, in turn by default.</li>
+ *     <li>--threads=N runs replications, sweeps, shops or the Time Warp engine on N
+ *     threads, instead of one per core.</li>
+ *     <li>--sweep=FILE runs every simulation in FILE, one line of arguments each, and
+ *     writes a CSV row of results for each as it finishes.</li>
+ *     <li>--out=FILE writes the results of a sweep to FILE instead of standard output.</li>
+ *     <li>--checkpoint=FILE saves a checkpoint of the simulation to FILE every million
+ *     events, or every N events with --checkpoint-every=N.</li>
+ *     <li>--trace=FILE writes the events and statistics to FILE as a compact binary
+ *     trace, instead of printing them.</li>
+ *     <li>--decode=FILE prints the output of the simulation traced in FILE, without
+ *     other arguments. With --output=stats, it instead prints the statistics computed
+ *     from the events of the trace, and those of the time waited.</li>
+ *     <li>--resume=FILE carries on the simulation saved in the checkpoint FILE, without
+ *     other arguments, printing the output after the checkpoint. The number of lines
+ *     printed before it is written to standard error.</li>
+ * </ul>
+ */
+class Main {
+
+    /**
+     * Number of events between checkpoints, unless given with --checkpoint-every.
+     */
+    private static final long CHECKPOINT_INTERVAL = 1_000_000;
+
+    /**
+     * Options which only apply to a single run, and not to replications or shops.
+     */
+    private static final List<String> SINGLE_RUN_OPTIONS = List.of("--forever",
+            "--report-every=", "--precision=");
+
+    /**
+     * Driver class.
+     * @param input the inputs for which to determine the fields passed into EventRunner,
+     *              and any options.
+     */
+    public static void main(String[] input) throws IOException {
+        List<String> options = Arrays.stream(input).filter(x -> x.startsWith("--"))
+                .collect(Collectors.toList());
+        String[] args = Arrays.stream(input).filter(x -> !x.startsWith("--"))
+                .toArray(String[]::new);
+        String threads = optionValue(options, "--threads=");
+        int parallelism = threads == null ? Runtime.getRuntime().availableProcessors()
+                : Integer.parseInt(threads);
+        String sweep = optionValue(options, "--sweep=");
+        if (sweep != null) {
+            runSweep(Path.of(sweep), optionValue(options, "--out="), parallelism);
+            return;
+        }
+        String decode = optionValue(options, "--decode=");
+        if (decode != null) {
+            decodeTrace(Path.of(decode), options.contains("--output=stats"));
+            return;
+        }
+        String resume = optionValue(options, "--resume=");
+        Checkpoint checkpoint = null;
+        RunConfig config;
+        if (resume != null) {
+            checkpoint = Checkpoint.read(Path.of(resume));
+            config = checkpoint.getConfig();
+            System.err.println("resuming after event " + checkpoint.getEventsExecuted()
+                    + " and line " + checkpoint.getLinesPrinted() + " of output");
+        } else {
+            config = parse(args);
+        }
+        //runs EventRunner to simulate discrete events
+        EventRunner simulator = config.toRunner();
+        if (checkpoint != null) {
+            simulator = simulator.withRandomMode(checkpoint.getRandomMode());
+        }
+        String checkpointFile = optionValue(options, "--checkpoint=");
+        if (checkpointFile != null) {
+            String every = optionValue(options, "--checkpoint-every=");
+            simulator = simulator.withCheckpoints(new CheckpointSchedule(
+                    Path.of(checkpointFile),
+                    every == null ? CHECKPOINT_INTERVAL : Long.parseLong(every)));
+        }
+        EventMetrics metrics = null;
+        if (options.contains("--metrics")) {
+            metrics = new EventMetrics();
+            metrics.registerMBean("main");
+            simulator = simulator.withMetrics(metrics);
+        }
+        String until = optionValue(options, "--until=");
+        if (until != null || options.contains("--forever")) {
+            simulator = simulator.withNumOfCustomers(EventRunner.UNBOUNDED);
+        }
+        if (until != null) {
+            simulator = simulator.withHorizon(Double.parseDouble(until));
+        }
+        String replications = optionValue(options, "--replications=");
+        String shops = optionValue(options, "--shops=");
+        if (shops != null) {
+            requireSingleRun(options, "--shops");
+            String routing = optionValue(options, "--routing=");
+            System.out.println(new MultiShopRunner(withQueue(simulator, options),
+                    Integer.parseInt(shops), routing == null ? RoutingPolicy.roundRobin()
+                    : RoutingPolicy.forName(routing), parallelism).run());
+        } else if (replications != null) {
+            requireSingleRun(options, "--replications");
+            System.out.println(new ReplicationRunner(withQueue(simulator, options),
+                    config.getSeed(), Integer.parseInt(replications), parallelism).run());
+        } else {
+            EventSink sink;
+            NullSink summary = null;
+            TraceWriter trace = null;
+            String traceFile = optionValue(options, "--trace=");
+            if (traceFile != null) {
+                trace = TraceWriter.open(Path.of(traceFile));
+                sink = trace;
+            } else if (options.contains("--output=stats")) {
+                summary = new NullSink();
+                sink = summary;
+            } else {
+                sink = new BufferedEventWriter(System.out);
+            }
+            OnlineStats stats = null;
+            if (options.contains("--stats")) {
+                stats = simulator.generateStats();
+                sink = new TeeSink(sink, stats);
+            }
+            String reportEvery = optionValue(options, "--report-every=");
+            if (reportEvery != null) {
+                boolean eventsPrinted = traceFile == null && summary == null;
+                sink = new TeeSink(sink, new PeriodicSummary(Double.parseDouble(reportEvery),
+                        eventsPrinted ? System.err : System.out));
+            }
+            SteadyState steady = null;
+            String precision = optionValue(options, "--precision=");
+            if (precision != null) {
+                steady = new SteadyState(Double.parseDouble(precision));
+                simulator = simulator.withSteadyState(steady);
+            }
+            runWith(simulator, options, sink, checkpoint, parallelism);
+            if (trace != null) {
+                trace.close();
+            }
+            if (summary != null) {
+                System.out.println(summary);
+            }
+            if (stats != null) {
+                System.out.println(stats);
+            }
+            if (steady != null) {
+                System.out.println(steady);
+            }
+        }
+        if (metrics != null) {
+            System.err.println(metrics);
+        }
+    }
+
+    /**
+     * Checks that no option which only applies to a single run was given with one that
+     * runs several simulations.
+     * @param options   Options given to Main.
+     * @param several   Name of the option that runs several simulations.
+     * @throws IllegalArgumentException if such an option was given.
+     */
+    private static void requireSingleRun(List<String> options, String several) {
+        for (String option : options) {
+            for (String single : SINGLE_RUN_OPTIONS) {
+                if (option.startsWith(single)) {
+                    throw new IllegalArgumentException(option + " cannot be given with "
+                            + several);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the parameters of a simulation from the arguments given to Main.
+     * @param args  The arguments, without any options.
+     * @return      The parameters, where those left out take their default values.
+     */
+    private static RunConfig parse(String[] args) {
+        int numOfArgs = args.length;
+        int seed = Integer.parseInt(args[0]);
+        int numOfServers = Integer.parseInt(args[1]);
+        List<Integer> selfCheckout;
+        int maxQueue;
+        int numOfCustomers;
+        double lambda;
+        double miu;
+        double rho;
+        double probRest;
+        double probGreedy;
+        if (numOfArgs == 5) {  //level 3
+            selfCheckout = List.of();
+            maxQueue = 1;
+            numOfCustomers = Integer.parseInt(args[2]);
+            lambda = Double.parseDouble(args[3]);
+            miu = Double.parseDouble(args[4]);
+            rho = 1;
+            probRest = 0.0;
+            probGreedy = 0.0;
+        } else if (numOfArgs == 6) {  //level 4
+            selfCheckout = List.of();
+            maxQueue = Integer.parseInt(args[2]);
+            numOfCustomers = Integer.parseInt(args[3]);
+            lambda = Double.parseDouble(args[4]);
+            miu = Double.parseDouble(args[5]);
+            rho = 1;
+            probRest = 0.0;
+            probGreedy = 0.0;
+        } else if (numOfArgs == 8) {  //level 5
+            selfCheckout = List.of();
+            maxQueue = Integer.parseInt(args[2]);
+            numOfCustomers = Integer.parseInt(args[3]);
+            lambda = Double.parseDouble(args[4]);
+            miu = Double.parseDouble(args[5]);
+            rho = Double.parseDouble(args[6]);
+            probRest = Double.parseDouble(args[7]);
+            probGreedy = 0.0;
+        } else if (numOfArgs == 9) { //level 6
+            selfCheckout = Arrays.stream(args[2].split(",")).map(Integer::parseInt)
+                    .collect(Collectors.toList());
+            maxQueue = Integer.parseInt(args[3]);
+            numOfCustomers = Integer.parseInt(args[4]);
+            lambda = Double.parseDouble(args[5]);
+            miu = Double.parseDouble(args[6]);
+            rho = Double.parseDouble(args[7]);
+            probRest = Double.parseDouble(args[8]);
+            probGreedy = 0.0;
+        } else { //level 7
+            selfCheckout = Arrays.stream(args[2].split(",")).map(Integer::parseInt)
+                    .collect(Collectors.toList());
+            maxQueue = Integer.parseInt(args[3]);
+            numOfCustomers = Integer.parseInt(args[4]);
+            lambda = Double.parseDouble(args[5]);
+            miu = Double.parseDouble(args[6]);
+            rho = Double.parseDouble(args[7]);
+            probRest = Double.parseDouble(args[8]);
+            probGreedy = Double.parseDouble(args[9]);
+        }
+        return new RunConfig(seed, numOfServers, selfCheckout, maxQueue, numOfCustomers,
+                lambda, miu, rho, probRest, probGreedy);
+    }
+
+    /**
+     * Prints the output of a simulation from its binary trace, or the statistics
+     * computed from the events of the trace.
+     * @param file          The trace.
+     * @param statsOnly     Whether to print only the statistics.
+     */
+    private static void decodeTrace(Path file, boolean statsOnly) throws IOException {
+        TraceReader reader = new TraceReader(file);
+        if (statsOnly) {
+            reader.replay(new NullSink());
+            System.out.println("[" + String.format("%.3f", reader.getAverageWait()) + " "
+                    + reader.getNumServed() + " " + reader.getNumLeft() + "]");
+            System.out.println("wait: " + reader.getWait());
+        } else {
+            reader.replay(new BufferedEventWriter(System.out));
+        }
+    }
+
+    /**
+     * Runs a sweep of simulations, where each line of a file holds the arguments of one
+     * simulation, as would be given to Main. Blank lines and lines starting with "#"
+     * are skipped.
+     * @param file          File listing the simulations.
+     * @param out           File to write the CSV results to, or null for standard output.
+     * @param parallelism   Number of threads to run simulations on.
+     */
+    private static void runSweep(Path file, String out, int parallelism) throws IOException {
+        List<RunConfig> configs = Files.readAllLines(file).stream().map(String::trim)
+                .filter(x -> !x.isEmpty() && !x.startsWith("#"))
+                .map(x -> parse(x.split("\\s+"))).collect(Collectors.toList());
+        ParameterSweep sweep = new ParameterSweep(configs, parallelism);
+        if (out == null) {
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            sweep.run(writer);
+            writer.flush();
+        } else {
+            try (Writer writer = Files.newBufferedWriter(Path.of(out))) {
+                sweep.run(writer);
+            }
+        }
+    }
+
+    /**
+     * Runs the simulation with the engine chosen by the options, or resumes it from
+     * a checkpoint.
+     * @param simulator     EventRunner to run.
+     * @param options       Options given to Main.
+     * @param sink          Receives the output of the simulation.
+     * @param checkpoint    Checkpoint to resume from, or null to run from the start.
+     * @param parallelism   Number of threads to run on, for the Time Warp engine.
+     */
+    private static void runWith(EventRunner simulator, List<String> options, EventSink sink,
+                                Checkpoint checkpoint, int parallelism) {
+        simulator = withQueue(simulator, options);
+        if (checkpoint != null) {
+            simulator.resume(checkpoint, sink);
+        } else if (options.contains("--engine=inplace")) {
+            simulator.runInPlace(sink);
+        } else if (options.contains("--engine=dispatch")) {
+            simulator.runDispatch(sink);
+        } else if (options.contains("--engine=timewarp")) {
+            simulator.runTimeWarp(sink, parallelism);
+        } else {
+            simulator.run(sink);
+        }
+    }
+
+    /**
+     * Gives the EventRunner with the future event list and random streams chosen by
+     * the options.
+     * @param simulator     EventRunner to run.
+     * @param options       Options given to Main.
+     * @return              The EventRunner, with a different queue or random streams
+     *                      if either was chosen.
+     */
+    private static EventRunner withQueue(EventRunner simulator, List<String> options) {
+        String queue = optionValue(options, "--queue=");
+        if (queue != null) {
+            simulator = simulator.withEventQueue(EventQueueType.valueOf(queue.toUpperCase()));
+        }
+        String rng = optionValue(options, "--rng=");
+        if (rng != null) {
+            simulator = simulator.withRandomMode(RandomMode.valueOf(rng.toUpperCase()));
+        }
+        return simulator;
+    }
+
+    /**
+     * Finds the value of an option of the form --name=value.
+     * @param options       Options given to Main.
+     * @param prefix        The option up to and including "=".
+     * @return              The value of the last such option, or null if not given.
+     */
+    private static String optionValue(List<String> options, String prefix) {
+        String value = null;
+        for (String option : options) {
+            if (option.startsWith(prefix)) {
+                value = option.substring(prefix.length());
+            }
+        }
+        return value;
+    }
+
+}
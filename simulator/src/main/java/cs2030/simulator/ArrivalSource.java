@@ -0,0 +1,166 @@
+package cs2030.simulator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Generates the customers arriving at a {@link Shop} one at a time, in order of arrival.
+ *
+ * <p>Each customer is only created when it is asked for, so {@link EventRunner} can
+ * schedule the arrival of the next customer when the current one arrives, instead of
+ * keeping every customer and arrival in memory. Arrival times and customer types are
+ * drawn in the same order as {@link EventRunner#generateCustomersList}, so both give
+ * the same customers.</p>
+ */
+public class ArrivalSource implements Iterator<Customer> {
+
+    /**
+     * Fields that do not change while generating customers, except the number of
+     * customers, which {@link #stop} lowers, and the time after which no customer
+     * arrives, which {@link #closeAt} sets.
+     */
+    private int numOfCustomers;
+    private final RandomGenerator random;
+    private final double probGreedy;
+    private final int phases;
+    private double horizon = Double.POSITIVE_INFINITY;
+
+    /**
+     * ID and arrival time of the next customer to generate.
+     */
+    private int nextID;
+    private double nextArrivalTime;
+
+    /**
+     * Initialises the source, where the first customer arrives at time 0.
+     * @param numOfCustomers    The number of customers entering a Shop
+     * @param random            The RandomGenerator used to generate arrival times
+     *                          and probability of a customer being greedy
+     * @param probGreedy        Probability to decide whether each customer is greedy
+     */
+    public ArrivalSource(int numOfCustomers, RandomGenerator random, double probGreedy) {
+        this(numOfCustomers, random, probGreedy, 1, 1, 0.0);
+    }
+
+    /**
+     * Initialises the source part way through, as restored from a {@link Checkpoint}.
+     * @param numOfCustomers    The number of customers entering a Shop
+     * @param random            The RandomGenerator, at the position it had then
+     * @param probGreedy        Probability to decide whether each customer is greedy
+     * @param nextID            ID of the next customer to generate
+     * @param nextArrivalTime   Arrival time of the next customer to generate
+     */
+    ArrivalSource(int numOfCustomers, RandomGenerator random, double probGreedy,
+                  int nextID, double nextArrivalTime) {
+        this(numOfCustomers, random, probGreedy, 1, nextID, nextArrivalTime);
+    }
+
+    private ArrivalSource(int numOfCustomers, RandomGenerator random, double probGreedy,
+                          int phases, int nextID, double nextArrivalTime) {
+        this.numOfCustomers = numOfCustomers;
+        this.random = random;
+        this.probGreedy = probGreedy;
+        this.phases = phases;
+        this.nextID = nextID;
+        this.nextArrivalTime = nextArrivalTime;
+    }
+
+    /**
+     * Creates a source for the customers routed to one shop out of a stream of arrivals,
+     * where the time between two of them is the sum of a number of inter-arrival times
+     * drawn from the generator, and the first arrives after some of them.
+     * @param numOfCustomers    The number of customers entering the shop
+     * @param random            The RandomGenerator used to generate arrival times
+     *                          and probability of a customer being greedy
+     * @param probGreedy        Probability to decide whether each customer is greedy
+     * @param phases            Number of inter-arrival times between two customers
+     * @param firstPhases       Number of inter-arrival times before the first customer
+     * @return                  A new ArrivalSource.
+     */
+    static ArrivalSource split(int numOfCustomers, RandomGenerator random, double probGreedy,
+                               int phases, int firstPhases) {
+        double firstArrival = 0.0;
+        for (int i = 0; i < firstPhases; i++) {
+            firstArrival += random.genInterArrivalTime();
+        }
+        return new ArrivalSource(numOfCustomers, random, probGreedy, phases, 1, firstArrival);
+    }
+
+    /**
+     * Getter method.
+     * @return  Number of customers generated so far.
+     */
+    public int numGenerated() {
+        return this.nextID - 1;
+    }
+
+    /**
+     * Getter methods, for the next customer to be generated.
+     */
+    public int nextID() {
+        return this.nextID;
+    }
+
+    public double nextArrivalTime() {
+        return this.nextArrivalTime;
+    }
+
+    /**
+     * Stops generating customers, so the customers generated so far are the last.
+     */
+    public void stop() {
+        this.numOfCustomers = this.nextID - 1;
+    }
+
+    /**
+     * Stops generating customers at a time, so no customer arrives after it.
+     * @param horizon   Time after which no customer arrives.
+     */
+    void closeAt(double horizon) {
+        this.horizon = horizon;
+    }
+
+    /**
+     * Checks whether there is another customer, which is never the case once
+     * {@link Integer#MAX_VALUE} customers have been generated.
+     * @return  Whether there is another customer.
+     */
+    @Override
+    public boolean hasNext() {
+        //compares the number generated, which does not overflow as the next ID does
+        return this.nextID - 1 < this.numOfCustomers && this.nextArrivalTime <= this.horizon;
+    }
+
+    /**
+     * Generates the next customer, and draws the arrival time of the one after.
+     * @return  The next customer to arrive.
+     */
+    @Override
+    public Customer next() {
+        int id = this.nextID;
+        double arrivalTime = this.nextArrivalTime;
+        return new Customer(id, arrivalTime, this.advance());
+    }
+
+    /**
+     * Generates the next customer without creating a {@link Customer}, for engines that
+     * keep customers in primitive tables, drawing exactly as {@link #next()} does. The
+     * ID and arrival time of the customer are those given by {@link #nextID()} and
+     * {@link #nextArrivalTime()} just before.
+     * @return  Whether the customer is greedy.
+     */
+    public boolean advance() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        boolean greedy = this.random.genCustomerType() < this.probGreedy;
+        this.nextID++;
+        if (this.hasNext()) {
+            for (int i = 0; i < this.phases; i++) {
+                this.nextArrivalTime += this.random.genInterArrivalTime();
+            }
+        }
+        return greedy;
+    }
+
+}
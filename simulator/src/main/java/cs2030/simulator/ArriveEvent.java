@@ -0,0 +1,65 @@
+package cs2030.simulator;
+
+import java.util.Optional;
+
+/**
+ * The first event that happens, simulates a {@link Customer} arriving at a food establishment.
+ */
+public class ArriveEvent extends Event {
+
+    /**
+     * Initialises the Arrival Event.
+     * @param customer represents the arriving customer
+     */
+    public ArriveEvent(Customer customer) {
+        super(customer, customer.getArrivalTime(), EventType.ARRIVE);
+    }
+
+    @Override
+    Pair<Shop, Event> execute(Shop x) {
+        Customer customer = this.getCustomer();
+        Optional<Server> avail = x.findAvailable();
+        if (avail.isPresent()) {
+            Server s = avail.get();
+            //checks if its a counter in a pool, such as self checkout
+            if (x.isPooled(s.getServerIdentifier())) {
+                Customer cust = customer.updateType(1);
+                Server q = s.of(s.getServerIdentifier(), true, false,
+                        s.getNextAvailTime(),0,s.getRand());
+                return Pair.of(x.replace(q), new ServeEvent(cust,
+                        s.getServerIdentifier()));
+            }
+            Server n = s.of(s.getServerIdentifier(), true, false,
+                    s.getNextAvailTime(), s.getCustomersInQueue(), s.getRand());
+            return Pair.of(x.replace(n), new ServeEvent(customer,
+                        s.getServerIdentifier()));
+        }
+        //only looks for a queue once no server is free
+        Pair<Boolean, Optional<Server>> wait = customer.canWait(x);
+        if (wait.first()) {
+            //gets the server to wait for, since True in if means the server is present
+            Server s = wait.second().get();
+            if (x.isPooled(s.getServerIdentifier())) {
+                //indicates self checkout, waiting in the queue shared by the pool
+                Customer selfCust = customer.updateType(1);
+                return Pair.of(x, new WaitEvent(selfCust, s.getServerIdentifier()));
+            } else {
+                return Pair.of(x, new WaitEvent(customer, s.getServerIdentifier()));
+            }
+        } else {
+            return Pair.of(x, new LeaveEvent(customer));
+        }
+    }
+
+    @Override
+    public String toString() {
+        Customer customer = this.getCustomer();
+        String greedy = "";
+        if (customer.isGreedy()) {
+            greedy = "(greedy)";
+        }
+        return String.format("%.3f", customer.getArrivalTime()) + " " + 
+            customer.getCustomerID() + greedy + " arrives";
+    }
+
+}
@@ -0,0 +1,29 @@
+package cs2030.simulator;
+
+/**
+ * An event where a {@link Server} comes back from resting.
+ */
+public class BackEvent extends Event {
+
+    /**
+     * Initialises the Service Back Event. Executing this Event should make isResting in the
+     * server to be false, and update his/her availability, after which the server serves
+     * the customer who has waited longest for him/her, if any.
+     * @param c                Customer used in EventComparator for priority.
+     * @param serverID         the identity of the server that returned from resting.
+     * @param backTime         Time the server will finish resting.
+     */
+    public BackEvent(Customer c, int serverID, double backTime) {
+        super(c, backTime, EventType.BACK, serverID);
+    }
+
+    @Override
+    Pair<Shop, Event> execute(Shop x) {
+        Server s = x.get(this.getServerID());
+        Server v = s.of(s.getServerIdentifier(), true, false,
+                s.getNextAvailTime(), s.getCustomersInQueue(), s.getRand());
+        return serveNext(x.replace(v), this.getServerID(), v.getNextAvailTime(),
+                this.getCustomer());
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * {@link EventSink} which writes the usual text output of a simulation as bytes into
+ * a buffer, and passes the buffer to an OutputStream only when it is full or flushed.
+ *
+ * <p>Times are formatted to 3 decimal places by hand, instead of through
+ * String.format, and events are written without building a String for each,
+ * while the output stays byte for byte the same as printing the toString of
+ * each {@link Event} under an English locale.</p>
+ *
+ * <p>The output does not depend on the default locale: times always have a '.'
+ * before their decimals, as under {@link Locale#ROOT}, including those that are
+ * formatted by String.format.</p>
+ */
+public class BufferedEventWriter implements EventSink {
+
+    /**
+     * Default size of the buffer, in bytes.
+     */
+    private static final int DEFAULT_SIZE = 1 << 16;
+
+    /**
+     * Above this, a time scaled to thousandths can no longer be held exactly by a
+     * long, so it is formatted by String.format instead.
+     */
+    private static final double MAX_SCALED = 1e15;
+
+    /**
+     * Parts of each line of output, as ASCII bytes.
+     */
+    private static final byte[] GREEDY = ascii("(greedy)");
+    private static final byte[] ARRIVES = ascii(" arrives");
+    private static final byte[] SERVED_BY = ascii(" served by ");
+    private static final byte[] WAITS = ascii(" waits to be served by ");
+    private static final byte[] LEAVES = ascii(" leaves");
+    private static final byte[] DONE_BY = ascii(" done serving by ");
+    private static final byte[] SERVER = ascii("server ");
+    private static final byte[] SELF_CHECK = ascii("self-check ");
+
+    /**
+     * Stream that receives the output, and the buffer of output not yet written to it.
+     */
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count;
+
+    /**
+     * Initialises a writer with the default buffer size.
+     * @param out   Stream to write the output to, such as System.out.
+     */
+    public BufferedEventWriter(OutputStream out) {
+        this(out, DEFAULT_SIZE);
+    }
+
+    /**
+     * Initialises a writer.
+     * @param out   Stream to write the output to, such as System.out.
+     * @param size  Size of the buffer, in bytes.
+     */
+    public BufferedEventWriter(OutputStream out, int size) {
+        this.out = out;
+        this.buffer = new byte[Math.max(size, 1)];
+        this.count = 0;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void accept(Event e) {
+        Customer c = e.getCustomer();
+        this.write(e.getEventType(), e.eventStartTime(), c.getCustomerID(), c.isGreedy(),
+                c.getServerType(), e.getServerID());
+    }
+
+    @Override
+    public void accept(EventType type, double time, int customerID, double arrivalTime,
+                       boolean greedy, int serverType, int serverID) {
+        this.write(type, time, customerID, greedy, serverType, serverID);
+    }
+
+    /**
+     * Writes one line of output from the fields of an event, as its toString would give.
+     * @param type          Type of the event.
+     * @param time          Start time of the event.
+     * @param customerID    ID of the customer.
+     * @param greedy        Whether the customer is greedy.
+     * @param serverType    1 if the customer is served by a self-checkout counter.
+     * @param serverID      ID of the server of the event, if any.
+     */
+    public void write(EventType type, double time, int customerID, boolean greedy,
+                      int serverType, int serverID) {
+        this.writeTime(time);
+        this.put((byte) ' ');
+        this.writeInt(customerID);
+        if (greedy) {
+            this.put(GREEDY);
+        }
+        switch (type) {
+            case ARRIVE:
+                this.put(ARRIVES);
+                break;
+            case LEAVE:
+                this.put(LEAVES);
+                break;
+            case SERVE:
+                this.writeServer(SERVED_BY, serverType, serverID);
+                break;
+            case WAIT:
+                this.writeServer(WAITS, serverType, serverID);
+                break;
+            case DONE:
+                this.writeServer(DONE_BY, serverType, serverID);
+                break;
+            default:
+                break;
+        }
+        this.put((byte) '\n');
+    }
+
+    @Override
+    public void summary(double averageWait, int numServed, int numLeft) {
+        this.put((byte) '[');
+        this.writeTime(averageWait);
+        this.put((byte) ' ');
+        this.writeInt(numServed);
+        this.put((byte) ' ');
+        this.writeInt(numLeft);
+        this.put((byte) ']');
+        this.put((byte) '\n');
+    }
+
+    @Override
+    public void flush() {
+        this.drain();
+        try {
+            this.out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeServer(byte[] action, int serverType, int serverID) {
+        this.put(action);
+        this.put(serverType == 1 ? SELF_CHECK : SERVER);
+        this.writeInt(serverID);
+    }
+
+    /**
+     * Writes a time to 3 decimal places, exactly as String.format(Locale.ROOT, "%.3f",
+     * time) does.
+     *
+     * <p>The time is scaled to thousandths and rounded by hand. String.format rounds
+     * half up from the shortest decimal that gives back the double, which can differ
+     * from the double itself by up to half an ulp. Hence when the scaled time is
+     * within a few ulps of a tie, or cannot be scaled exactly, String.format is
+     * used instead.</p>
+     * @param time  Time to write.
+     */
+    private void writeTime(double time) {
+        double scaled = time * 1000;
+        if (!(time >= 0) || Double.doubleToRawLongBits(time) < 0 || scaled >= MAX_SCALED) {
+            this.put(ascii(String.format(Locale.ROOT, "%.3f", time)));
+            return;
+        }
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            this.put(ascii(String.format(Locale.ROOT, "%.3f", time)));
+            return;
+        }
+        long thousandths = (long) floor + (fraction > 0.5 ? 1 : 0);
+        this.writeLong(thousandths / 1000);
+        int rest = (int) (thousandths % 1000);
+        this.put((byte) '.');
+        this.put((byte) ('0' + rest / 100));
+        this.put((byte) ('0' + rest / 10 % 10));
+        this.put((byte) ('0' + rest % 10));
+    }
+
+    private void writeInt(int value) {
+        this.writeLong(value);
+    }
+
+    /**
+     * Writes the decimal digits of a number.
+     * @param value     Number to write.
+     */
+    private void writeLong(long value) {
+        if (value < 0) {
+            this.put(ascii(Long.toString(value)));
+            return;
+        }
+        long digits = 1;
+        int length = 1;
+        while (length < 19 && digits * 10 <= value) {
+            digits *= 10;
+            length++;
+        }
+        for (; digits > 0; digits /= 10) {
+            this.put((byte) ('0' + value / digits % 10));
+        }
+    }
+
+    private void put(byte b) {
+        if (this.count == this.buffer.length) {
+            this.drain();
+        }
+        this.buffer[this.count++] = b;
+    }
+
+    private void put(byte[] bytes) {
+        if (this.count + bytes.length > this.buffer.length) {
+            this.drain();
+        }
+        if (bytes.length > this.buffer.length) {
+            this.writeOut(bytes, bytes.length);
+            return;
+        }
+        System.arraycopy(bytes, 0, this.buffer, this.count, bytes.length);
+        this.count += bytes.length;
+    }
+
+    /**
+     * Writes the contents of the buffer to the stream, and empties the buffer.
+     */
+    private void drain() {
+        if (this.count > 0) {
+            this.writeOut(this.buffer, this.count);
+            this.count = 0;
+        }
+    }
+
+    private void writeOut(byte[] bytes, int length) {
+        try {
+            this.out.write(bytes, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link EventQueue} kept as a calendar queue, which spreads events over a ring of
+ * buckets by start time, like the days of a calendar, for O(1) amortised adds and polls.
+ *
+ * <p>An event falls on the day given by the floor of its time over the bucket width,
+ * and each day maps to the bucket at that day modulo the number of buckets. Each
+ * bucket holds a list of events sorted as {@link EventComparator} sorts them, and
+ * polling walks the days from the last event polled. The number of buckets doubles or
+ * halves as the queue grows or shrinks, and the width is then set to about three times
+ * the average gap between the first events in the queue.</p>
+ */
+public class CalendarQueue implements EventQueue {
+
+    /**
+     * Fewest buckets in the calendar, and number of events sampled to set the width.
+     */
+    private static final int MIN_BUCKETS = 16;
+    private static final int SAMPLES = 25;
+
+    /**
+     * Buckets of the calendar, as sorted linked lists, and the width of each day.
+     */
+    private Node[] buckets;
+    private double width;
+
+    /**
+     * Day of the last event polled, before which no event falls, and the number of events.
+     */
+    private long currentDay;
+    private int size;
+    private boolean resizing;
+
+    /**
+     * Initialises an empty calendar, where each day is one unit of time.
+     */
+    public CalendarQueue() {
+        this.buckets = new Node[MIN_BUCKETS];
+        this.width = 1.0;
+        this.currentDay = 0;
+        this.size = 0;
+        this.resizing = false;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private long dayOf(double time) {
+        return (long) Math.floor(time / this.width);
+    }
+
+    @Override
+    public void add(Event e) {
+        this.insert(new Node(e, this.dayOf(e.eventStartTime())));
+        this.size++;
+        if (!this.resizing && this.size > 2 * this.buckets.length) {
+            this.resize(2 * this.buckets.length);
+        }
+    }
+
+    /**
+     * Inserts a node into its bucket, keeping the bucket sorted.
+     * @param node  The node to insert.
+     */
+    private void insert(Node node) {
+        int i = (int) (node.day & (this.buckets.length - 1));
+        if (node.day < this.currentDay) {
+            this.currentDay = node.day;
+        }
+        Node head = this.buckets[i];
+        if (head == null || EventQueue.before(node.event, head.event)) {
+            node.next = head;
+            this.buckets[i] = node;
+            return;
+        }
+        Node prev = head;
+        while (prev.next != null && !EventQueue.before(node.event, prev.next.event)) {
+            prev = prev.next;
+        }
+        node.next = prev.next;
+        prev.next = node;
+    }
+
+    @Override
+    public Event poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        int mask = this.buckets.length - 1;
+        int bucket = -1;
+        for (int i = 0; i < this.buckets.length; i++) {
+            long day = this.currentDay + i;
+            Node head = this.buckets[(int) (day & mask)];
+            if (head != null && head.day == day) {
+                bucket = (int) (day & mask);
+                break;
+            }
+        }
+        if (bucket < 0) {
+            //no event within a year of the current day, so look for the first at every bucket
+            for (int i = 0; i < this.buckets.length; i++) {
+                Node head = this.buckets[i];
+                if (head != null && (bucket < 0
+                        || EventQueue.before(head.event, this.buckets[bucket].event))) {
+                    bucket = i;
+                }
+            }
+        }
+        Node first = this.buckets[bucket];
+        this.buckets[bucket] = first.next;
+        this.currentDay = first.day;
+        this.size--;
+        if (!this.resizing && this.buckets.length > MIN_BUCKETS
+                && this.size < this.buckets.length / 2) {
+            this.resize(this.buckets.length / 2);
+        }
+        return first.event;
+    }
+
+    /**
+     * Lists the events of every bucket, without polling them.
+     * @return      The events, in no particular order.
+     */
+    @Override
+    public List<Event> toList() {
+        List<Event> res = new ArrayList<>(this.size);
+        for (Node head : this.buckets) {
+            for (Node node = head; node != null; node = node.next) {
+                res.add(node.event);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Rebuilds the calendar with a new number of buckets, and a width taken from the
+     * gaps between the first events in the queue.
+     * @param numBuckets    New number of buckets, which is a power of 2.
+     */
+    private void resize(int numBuckets) {
+        this.resizing = true;
+        double newWidth = this.sampleWidth();
+        Node[] old = this.buckets;
+        this.buckets = new Node[numBuckets];
+        this.width = newWidth;
+        this.currentDay = Long.MAX_VALUE;
+        for (Node head : old) {
+            Node node = head;
+            while (node != null) {
+                Node next = node.next;
+                node.day = this.dayOf(node.event.eventStartTime());
+                this.insert(node);
+                node = next;
+            }
+        }
+        if (this.size == 0) {
+            this.currentDay = 0;
+        }
+        this.resizing = false;
+    }
+
+    /**
+     * Works out a bucket width of about three times the average gap between the first
+     * events in the queue, leaving out gaps more than twice the average.
+     * @return      The new width, or the current width if there are too few gaps.
+     */
+    private double sampleWidth() {
+        int n = Math.min(this.size, SAMPLES);
+        if (n < 2) {
+            return this.width;
+        }
+        Event[] first = new Event[n];
+        for (int i = 0; i < n; i++) {
+            first[i] = this.poll();
+        }
+        for (Event e : first) {
+            this.add(e);
+        }
+        double span = first[n - 1].eventStartTime() - first[0].eventStartTime();
+        double average = span / (n - 1);
+        double total = 0.0;
+        int count = 0;
+        for (int i = 1; i < n; i++) {
+            double gap = first[i].eventStartTime() - first[i - 1].eventStartTime();
+            if (gap <= 2 * average) {
+                total += gap;
+                count++;
+            }
+        }
+        double newWidth = count == 0 ? 0.0 : 3 * total / count;
+        return newWidth > 0 ? newWidth : this.width;
+    }
+
+    /**
+     * Node of the sorted linked list in each bucket.
+     */
+    private static class Node {
+
+        private final Event event;
+        private long day;
+        private Node next;
+
+        Node(Event event, long day) {
+            this.event = event;
+            this.day = day;
+        }
+
+    }
+
+}
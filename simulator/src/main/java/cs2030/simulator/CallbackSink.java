@@ -0,0 +1,40 @@
+package cs2030.simulator;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link EventSink} which hands each event to a callback, for code in the same process
+ * that consumes the events of a simulation directly, instead of parsing its output.
+ * The final statistics are kept as in a {@link NullSink}.
+ */
+public class CallbackSink extends NullSink {
+
+    /**
+     * Callback given each event of the output.
+     */
+    private final Consumer<Event> callback;
+
+    /**
+     * Initialises the sink.
+     * @param callback  Called with each event of the output, in order.
+     */
+    public CallbackSink(Consumer<Event> callback) {
+        this.callback = callback;
+    }
+
+    @Override
+    public void accept(Event e) {
+        this.callback.accept(e);
+    }
+
+    /**
+     * Builds the event from its fields, to pass to the callback.
+     */
+    @Override
+    public void accept(EventType type, double time, int customerID, double arrivalTime,
+                       boolean greedy, int serverType, int serverID) {
+        this.callback.accept(Event.of(type, time, new Customer(customerID, arrivalTime,
+                arrivalTime, serverType, greedy), serverID));
+    }
+
+}
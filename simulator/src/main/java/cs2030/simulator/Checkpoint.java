@@ -0,0 +1,454 @@
+package cs2030.simulator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * State of a simulation of {@link EventRunner#run} part way through, from which
+ * {@link EventRunner#resume} carries on to give exactly the output the simulation
+ * would have given from then on.
+ *
+ * <p>Holds the parameters of the simulation, the number of events executed and of
+ * lines of output printed so far, the statistics kept by the event loop, the next
+ * customer to arrive, the position of every random stream, the {@link Shop} with its
+ * queues and the pending events. As the Shop and events are immutable, a checkpoint
+ * only keeps references to them, and can be written to a file while the simulation
+ * goes on.</p>
+ *
+ * <p>The file starts with the characters "CSCK" and a version number, and ends with a
+ * CRC-32 of everything before it. Each number is written as by {@link DataOutput}.</p>
+ */
+public class Checkpoint {
+
+    /**
+     * First int of every checkpoint file, "CSCK", and the version of the format.
+     */
+    static final int MAGIC = 0x4353434B;
+    static final int VERSION = 1;
+
+    /**
+     * Immutable fields holding the simulation and how far it has run.
+     */
+    private final RunConfig config;
+    private final RandomMode randomMode;
+    private final String kernel;
+    private final long eventsExecuted;
+    private final long linesPrinted;
+    private final int numServed;
+    private final double totalWait;
+
+    /**
+     * Immutable fields holding the state of the simulation. The random streams are
+     * kept as written by {@link RandomGenerator#save}.
+     */
+    private final int nextID;
+    private final double nextArrivalTime;
+    private final byte[] randomState;
+    private final Shop shop;
+    private final List<Event> events;
+
+    /**
+     * Initialises a checkpoint.
+     * @param config            Parameters of the simulation.
+     * @param randomMode        Kind of random streams drawn from.
+     * @param kernel            Name of the {@link ExpKernel} of the RandomGenerator.
+     * @param eventsExecuted    Number of events executed so far.
+     * @param linesPrinted      Number of events given to the sink to be printed so far.
+     * @param numServed         Number of customers served so far.
+     * @param totalWait         Total time waited by the customers served so far.
+     * @param nextID            ID of the next customer to be generated.
+     * @param nextArrivalTime   Arrival time of the next customer to be generated.
+     * @param randomState       State of the RandomGenerator, as written by its save method.
+     * @param shop              The shop.
+     * @param events            The pending events, in any order.
+     */
+    Checkpoint(RunConfig config, RandomMode randomMode, String kernel, long eventsExecuted,
+               long linesPrinted, int numServed, double totalWait, int nextID,
+               double nextArrivalTime, byte[] randomState, Shop shop, List<Event> events) {
+        this.config = config;
+        this.randomMode = randomMode;
+        this.kernel = kernel;
+        this.eventsExecuted = eventsExecuted;
+        this.linesPrinted = linesPrinted;
+        this.numServed = numServed;
+        this.totalWait = totalWait;
+        this.nextID = nextID;
+        this.nextArrivalTime = nextArrivalTime;
+        this.randomState = randomState;
+        this.shop = shop;
+        this.events = List.copyOf(events);
+    }
+
+    /**
+     * Getter methods.
+     */
+    public RunConfig getConfig() {
+        return this.config;
+    }
+
+    public RandomMode getRandomMode() {
+        return this.randomMode;
+    }
+
+    public long getEventsExecuted() {
+        return this.eventsExecuted;
+    }
+
+    /**
+     * Gives the number of lines of output printed before the checkpoint, which is the
+     * number of lines to keep from the output of the interrupted run, before the output
+     * of the resumed run.
+     * @return  Number of lines printed.
+     */
+    public long getLinesPrinted() {
+        return this.linesPrinted;
+    }
+
+    int getNumServed() {
+        return this.numServed;
+    }
+
+    double getTotalWait() {
+        return this.totalWait;
+    }
+
+    List<Event> getEvents() {
+        return this.events;
+    }
+
+    /**
+     * Creates the RandomGenerator of the simulation, at the position of the checkpoint.
+     * @return  A new RandomGenerator.
+     * @throws IllegalStateException if the state of the streams cannot be read.
+     */
+    RandomGenerator restoreRandom() {
+        RandomGenerator random = new RandomGenerator(this.config.getSeed(),
+                this.config.getLambda(), this.config.getMiu(), this.config.getRho(),
+                this.randomMode, ExpKernel.forName(this.kernel));
+        try {
+            random.restore(new DataInputStream(new ByteArrayInputStream(this.randomState)));
+        } catch (IOException e) {
+            throw new IllegalStateException("bad random state in checkpoint", e);
+        }
+        return random;
+    }
+
+    /**
+     * Creates the source of the customers still to arrive.
+     * @param random    The RandomGenerator from {@link #restoreRandom()}.
+     * @return          A new ArrivalSource.
+     */
+    ArrivalSource restoreArrivals(RandomGenerator random) {
+        return new ArrivalSource(this.config.getNumOfCustomers(), random,
+                this.config.getProbGreedy(), this.nextID, this.nextArrivalTime);
+    }
+
+    /**
+     * Gives the shop, with every server drawing from a RandomGenerator.
+     * @param random    The RandomGenerator from {@link #restoreRandom()}.
+     * @return          The shop of the checkpoint.
+     */
+    Shop restoreShop(RandomGenerator random) {
+        Shop res = this.shop;
+        for (Server s : this.shop.getServers()) {
+            res = res.replace(s.of(s.getServerIdentifier(), s.isAvailable(), s.isResting(),
+                    s.getNextAvailTime(), s.getCustomersInQueue(), () -> random));
+        }
+        return res;
+    }
+
+    /**
+     * Writes the checkpoint to a file, replacing it only once the whole checkpoint is
+     * on disk, so that the file holds either this checkpoint or the one before.
+     * @param file      The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeConfig(out, this.config);
+        out.writeUTF(this.randomMode.name());
+        out.writeUTF(this.kernel);
+        out.writeLong(this.eventsExecuted);
+        out.writeLong(this.linesPrinted);
+        out.writeInt(this.numServed);
+        out.writeDouble(this.totalWait);
+        out.writeInt(this.nextID);
+        out.writeDouble(this.nextArrivalTime);
+        out.writeInt(this.randomState.length);
+        out.write(this.randomState);
+        writeShop(out, this.shop);
+        out.writeInt(this.events.size());
+        for (Event e : this.events) {
+            writeEvent(out, e);
+        }
+        out.flush();
+        byte[] data = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(data.length + Long.BYTES);
+            buffer.put(data).putLong(crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #write}.
+     * @param file      The file to read.
+     * @return          The checkpoint.
+     * @throws IOException if the file cannot be read, or is not a whole checkpoint
+     *                     of this version.
+     */
+    public static Checkpoint read(Path file) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        if (data.length < 2 * Integer.BYTES + Long.BYTES) {
+            throw new IOException(file + " is not a checkpoint");
+        }
+        int length = data.length - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        if (ByteBuffer.wrap(data, length, Long.BYTES).getLong() != crc.getValue()) {
+            throw new IOException(file + " is a damaged checkpoint");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, length));
+        if (in.readInt() != MAGIC) {
+            throw new IOException(file + " is not a checkpoint");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("checkpoint version " + version + " is not supported");
+        }
+        RunConfig config = readConfig(in);
+        RandomMode randomMode = RandomMode.valueOf(in.readUTF());
+        String kernel = in.readUTF();
+        long eventsExecuted = in.readLong();
+        long linesPrinted = in.readLong();
+        int numServed = in.readInt();
+        double totalWait = in.readDouble();
+        int nextID = in.readInt();
+        double nextArrivalTime = in.readDouble();
+        byte[] randomState = new byte[in.readInt()];
+        in.readFully(randomState);
+        Shop shop = readShop(in, config);
+        int numEvents = in.readInt();
+        List<Event> events = new ArrayList<>(numEvents);
+        for (int i = 0; i < numEvents; i++) {
+            events.add(readEvent(in));
+        }
+        return new Checkpoint(config, randomMode, kernel, eventsExecuted, linesPrinted,
+                numServed, totalWait, nextID, nextArrivalTime, randomState, shop, events);
+    }
+
+    private static void writeConfig(DataOutput out, RunConfig config) throws IOException {
+        out.writeInt(config.getSeed());
+        out.writeInt(config.getNumOfServers());
+        out.writeInt(config.getSelfCheckoutPools().size());
+        for (int size : config.getSelfCheckoutPools()) {
+            out.writeInt(size);
+        }
+        out.writeInt(config.getMaxQueue());
+        out.writeInt(config.getNumOfCustomers());
+        out.writeDouble(config.getLambda());
+        out.writeDouble(config.getMiu());
+        out.writeDouble(config.getRho());
+        out.writeDouble(config.getProbRest());
+        out.writeDouble(config.getProbGreedy());
+    }
+
+    private static RunConfig readConfig(DataInput in) throws IOException {
+        int seed = in.readInt();
+        int numOfServers = in.readInt();
+        int numPools = in.readInt();
+        List<Integer> pools = new ArrayList<>(numPools);
+        for (int i = 0; i < numPools; i++) {
+            pools.add(in.readInt());
+        }
+        int maxQueue = in.readInt();
+        int numOfCustomers = in.readInt();
+        double lambda = in.readDouble();
+        double miu = in.readDouble();
+        double rho = in.readDouble();
+        double probRest = in.readDouble();
+        double probGreedy = in.readDouble();
+        return new RunConfig(seed, numOfServers, pools, maxQueue, numOfCustomers, lambda,
+                miu, rho, probRest, probGreedy);
+    }
+
+    /**
+     * Writes every server, then the queue of each human server and of each pool of
+     * self-checkout counters, in order of server ID.
+     */
+    private static void writeShop(DataOutput out, Shop shop) throws IOException {
+        List<Server> servers = shop.getServers();
+        out.writeInt(servers.size());
+        for (Server s : servers) {
+            out.writeBoolean(s instanceof SelfCheckout);
+            out.writeInt(s.getServerIdentifier());
+            out.writeBoolean(s.isAvailable());
+            out.writeBoolean(s.isResting());
+            out.writeDouble(s.getNextAvailTime());
+            out.writeInt(s.getCustomersInQueue());
+        }
+        for (int i = 0; i < shop.numOfHumans(); i++) {
+            writeQueue(out, shop.getPool(servers.get(i).getServerIdentifier()));
+        }
+        for (ServerPool pool : shop.getPools()) {
+            writeQueue(out, pool);
+        }
+    }
+
+    private static void writeQueue(DataOutput out, ServerPool pool) throws IOException {
+        List<Customer> waiting = pool.getWaiting();
+        out.writeInt(waiting.size());
+        for (Customer c : waiting) {
+            writeCustomer(out, c);
+        }
+    }
+
+    /**
+     * Reads a shop written by writeShop, built as {@link EventRunner#generateShop} builds
+     * it, with servers that draw from no RandomGenerator until restored.
+     */
+    private static Shop readShop(DataInput in, RunConfig config) throws IOException {
+        int numServers = in.readInt();
+        List<Server> servers = new ArrayList<>(numServers);
+        for (int i = 0; i < numServers; i++) {
+            boolean selfCheckout = in.readBoolean();
+            int id = in.readInt();
+            boolean available = in.readBoolean();
+            boolean resting = in.readBoolean();
+            double nextAvailableTime = in.readDouble();
+            int inQueue = in.readInt();
+            servers.add(selfCheckout
+                    ? new SelfCheckout(id, available, nextAvailableTime, inQueue, () -> null)
+                    : new Server(id, available, resting, nextAvailableTime, inQueue,
+                            () -> null));
+        }
+        if (servers.isEmpty()) {
+            return new Shop(0);
+        }
+        int humans = config.getNumOfServers();
+        List<ServerPool> pools = config.toRunner().generatePools(humans,
+                config.getSelfCheckoutPools());
+        Shop shop = new Shop(servers, humans, pools, config.getMaxQueue(),
+                config.getProbRest());
+        for (int i = 0; i < humans; i++) {
+            shop = readQueue(in, shop, servers.get(i).getServerIdentifier());
+        }
+        for (ServerPool pool : pools) {
+            shop = readQueue(in, shop, pool.getFirstID());
+        }
+        return shop;
+    }
+
+    private static Shop readQueue(DataInput in, Shop shop, int serverID) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            shop = shop.enqueue(serverID, readCustomer(in));
+        }
+        return shop;
+    }
+
+    private static void writeCustomer(DataOutput out, Customer c) throws IOException {
+        out.writeInt(c.getCustomerID());
+        out.writeDouble(c.getArrivalTime());
+        out.writeDouble(c.serviceStarts());
+        out.writeByte(c.getServerType());
+        out.writeBoolean(c.isGreedy());
+    }
+
+    private static Customer readCustomer(DataInput in) throws IOException {
+        int id = in.readInt();
+        double arrivalTime = in.readDouble();
+        double servedTime = in.readDouble();
+        int serverType = in.readByte();
+        boolean greedy = in.readBoolean();
+        return new Customer(id, arrivalTime, servedTime, serverType, greedy);
+    }
+
+    /**
+     * Writes an event as its type, customer, server and start time, with the length of
+     * the rest for a REST event.
+     */
+    private static void writeEvent(DataOutput out, Event e) throws IOException {
+        out.writeByte(e.getEventType().ordinal());
+        writeCustomer(out, e.getCustomer());
+        out.writeInt(e.getServerID());
+        out.writeDouble(e.eventStartTime());
+        if (e instanceof RestEvent) {
+            out.writeDouble(((RestEvent) e).getRestTime());
+        }
+    }
+
+    private static Event readEvent(DataInput in) throws IOException {
+        int ordinal = in.readByte();
+        if (ordinal < 0 || ordinal >= EventType.values().length) {
+            throw new IOException("bad event type " + ordinal);
+        }
+        EventType type = EventType.values()[ordinal];
+        Customer c = readCustomer(in);
+        int serverID = in.readInt();
+        double time = in.readDouble();
+        Event e;
+        switch (type) {
+            case ARRIVE:
+                e = new ArriveEvent(c);
+                break;
+            case SERVE:
+                e = new ServeEvent(c, serverID);
+                break;
+            case WAIT:
+                e = new WaitEvent(c, serverID);
+                break;
+            case LEAVE:
+                e = new LeaveEvent(c);
+                break;
+            case DONE:
+                e = new DoneEvent(c, serverID);
+                break;
+            case REST:
+                e = new RestEvent(c, serverID, in.readDouble());
+                break;
+            case BACK:
+                e = new BackEvent(c, serverID, time);
+                break;
+            default:
+                throw new IOException("event " + type + " cannot be pending");
+        }
+        if (Double.compare(e.eventStartTime(), time) != 0) {
+            throw new IOException("event " + type + " of customer " + c.getCustomerID()
+                    + " does not start at " + time);
+        }
+        return e;
+    }
+
+}
@@ -0,0 +1,55 @@
+package cs2030.simulator;
+
+import java.nio.file.Path;
+
+/**
+ * When and where {@link EventRunner#run} saves a {@link Checkpoint} of its simulation,
+ * as given to {@link EventRunner#withCheckpoints}.
+ *
+ * <p>A checkpoint is taken each time the number of events executed, counted from
+ * the start of the simulation, reaches a multiple of the interval. Each checkpoint
+ * replaces the last in the same file.</p>
+ */
+public class CheckpointSchedule {
+
+    /**
+     * Immutable fields holding the file and the number of events between checkpoints.
+     */
+    private final Path file;
+    private final long interval;
+
+    /**
+     * Initialises the schedule.
+     * @param file      File to write checkpoints to.
+     * @param interval  Number of events executed between checkpoints.
+     */
+    public CheckpointSchedule(Path file, long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("checkpoint interval must be positive: "
+                    + interval);
+        }
+        this.file = file;
+        this.interval = interval;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public Path getFile() {
+        return this.file;
+    }
+
+    public long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Checks whether a checkpoint is due.
+     * @param events    Number of events executed since the start of the simulation.
+     * @return          True if a checkpoint should be taken now.
+     */
+    boolean isDue(long events) {
+        return events % this.interval == 0;
+    }
+
+}
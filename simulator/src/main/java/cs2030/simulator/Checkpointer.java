@@ -0,0 +1,139 @@
+package cs2030.simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Takes the {@link Checkpoint}s of one run of {@link EventRunner#run}, on the
+ * {@link CheckpointSchedule} of the runner.
+ *
+ * <p>Taking a checkpoint only copies the position of the random streams and the list
+ * of pending events, as the Shop and events are immutable. The checkpoint is then
+ * written to its file on a thread of its own, while the event loop goes on. If the
+ * last checkpoint is still being written when the next is due, the next is skipped
+ * rather than making the event loop wait.</p>
+ */
+class Checkpointer {
+
+    /**
+     * Immutable fields holding the schedule and the simulation being checkpointed.
+     */
+    private final CheckpointSchedule schedule;
+    private final RunConfig config;
+    private final RandomMode randomMode;
+    private final RandomGenerator random;
+    private final Supplier<Shop> shop;
+    private final ExecutorService writer;
+
+    /**
+     * Checkpoint being written or last written, if any.
+     */
+    private Future<?> pending;
+
+    /**
+     * Initialises the checkpoints of a run.
+     * @param schedule      When and where to write checkpoints.
+     * @param config        Parameters of the simulation.
+     * @param randomMode    Kind of random streams drawn from.
+     * @param random        RandomGenerator of the run.
+     * @param shop          Gives the latest Shop of the run.
+     */
+    Checkpointer(CheckpointSchedule schedule, RunConfig config, RandomMode randomMode,
+                 RandomGenerator random, Supplier<Shop> shop) {
+        this.schedule = schedule;
+        this.config = config;
+        this.randomMode = randomMode;
+        this.random = random;
+        this.shop = shop;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Checks whether a checkpoint is due.
+     * @param events    Number of events executed since the start of the simulation.
+     * @return          True if a checkpoint should be taken now.
+     */
+    boolean isDue(long events) {
+        return this.schedule.isDue(events);
+    }
+
+    /**
+     * Takes a checkpoint between two events, and starts writing it. The sink is
+     * flushed first, so the output so far is all printed.
+     * @param events        Number of events executed so far.
+     * @param lines         Number of events given to the sink to be printed so far.
+     * @param numServed     Number of customers served so far.
+     * @param totalWait     Total time waited by the customers served so far.
+     * @param arrivals      Source of the customers still to arrive.
+     * @param pq            The future event list.
+     * @param sink          Receives the output of the simulation.
+     * @throws UncheckedIOException if the last checkpoint could not be written.
+     */
+    void take(long events, long lines, int numServed, double totalWait,
+              ArrivalSource arrivals, EventQueue pq, EventSink sink) {
+        if (this.pending != null && !this.pending.isDone()) {
+            return;
+        }
+        this.awaitPending();
+        sink.flush();
+        ByteArrayOutputStream randomState = new ByteArrayOutputStream();
+        try {
+            this.random.save(new DataOutputStream(randomState));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Checkpoint checkpoint = new Checkpoint(this.config, this.randomMode,
+                this.random.getKernel().name(), events, lines, numServed, totalWait,
+                arrivals.nextID(), arrivals.nextArrivalTime(), randomState.toByteArray(),
+                this.shop.get(), pq.toList());
+        this.pending = this.writer.submit(() -> {
+            checkpoint.write(this.schedule.getFile());
+            return null;
+        });
+    }
+
+    /**
+     * Waits for the last checkpoint to be written, and stops the writing thread.
+     * @throws UncheckedIOException if the last checkpoint could not be written.
+     */
+    void finish() {
+        try {
+            this.awaitPending();
+        } finally {
+            this.writer.shutdown();
+        }
+    }
+
+    private void awaitPending() {
+        if (this.pending == null) {
+            return;
+        }
+        try {
+            this.pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while writing a checkpoint", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException("could not write checkpoint to "
+                        + this.schedule.getFile(), (IOException) cause);
+            }
+            throw new IllegalStateException("could not write checkpoint", cause);
+        } finally {
+            this.pending = null;
+        }
+    }
+
+}
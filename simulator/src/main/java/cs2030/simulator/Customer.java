@@ -13,7 +13,7 @@ public class Customer {
      */
     private final int customerID;
     private final double arrivalTime;
-    private final Supplier<Double> servedTime;
+    private final double servedTime;
     private final int serverType;
     private final boolean isGreedy;
 
@@ -25,7 +25,7 @@ public class Customer {
     public Customer(int customerID, double arrivalTime) {
         this.customerID = customerID;
         this.arrivalTime = arrivalTime;
-        this.servedTime = () -> arrivalTime;
+        this.servedTime = arrivalTime;
         this.serverType = 0;
         this.isGreedy = false;
     }
@@ -39,7 +39,7 @@ public class Customer {
     public Customer(int customerID, double arrivalTime, boolean isGreedy) {
         this.customerID = customerID;
         this.arrivalTime = arrivalTime;
-        this.servedTime = () -> arrivalTime;
+        this.servedTime = arrivalTime;
         this.serverType = 0;
         this.isGreedy = isGreedy;
     }
@@ -48,23 +48,19 @@ public class Customer {
      * Overloaded constructor to initialise the customer object.
      * @param customerID    An integer representing a unique customer
      * @param arrivalTime   The time of arrival of a customer
-     * @param servedTime    What time a customer MAY be served at, lazily evaluated.
+     * @param servedTime    What time a customer MAY be served at, evaluated once here.
      * @param isGreedy      Whether a customer is a Greedy or Typical customer
      */
     public Customer(int customerID, double arrivalTime, Supplier<Double> servedTime,
                     boolean isGreedy) {
-        this.customerID = customerID;
-        this.arrivalTime = arrivalTime;
-        this.servedTime = servedTime;
-        this.serverType = 0;
-        this.isGreedy = isGreedy;
+        this(customerID, arrivalTime, servedTime.get(), 0, isGreedy);
     }
 
     /**
      * Overloaded constructor to initialise the customer object.
      * @param customerID    An integer representing a unique customer
      * @param arrivalTime   The time of arrival of a customer
-     * @param servedTime    What time a customer MAY be served at, lazily evaluated.
+     * @param servedTime    What time a customer MAY be served at, evaluated once here.
      * @param serverType    Whether the customer serving is human or self-checkout.
      *                      (0 representing human servers and
      *                      1 representing self-checkout servers)
@@ -72,6 +68,22 @@ public class Customer {
      */
     public Customer(int customerID, double arrivalTime, Supplier<Double> servedTime,
                     int serverType, boolean isGreedy) {
+        this(customerID, arrivalTime, servedTime.get(), serverType, isGreedy);
+    }
+
+    /**
+     * Overloaded constructor to initialise the customer object, with the time of
+     * service held as a primitive, so that no Supplier or boxed Double is created.
+     * @param customerID    An integer representing a unique customer
+     * @param arrivalTime   The time of arrival of a customer
+     * @param servedTime    What time a customer MAY be served at.
+     * @param serverType    Whether the customer serving is human or self-checkout.
+     *                      (0 representing human servers and
+     *                      1 representing self-checkout servers)
+     * @param isGreedy      Whether a customer is a Greedy or Typical customer
+     */
+    public Customer(int customerID, double arrivalTime, double servedTime,
+                    int serverType, boolean isGreedy) {
         this.customerID = customerID;
         this.arrivalTime = arrivalTime;
         this.servedTime = servedTime;
@@ -91,7 +103,7 @@ public class Customer {
     }
 
     public double serviceStarts() {
-        return this.servedTime.get();
+        return this.servedTime;
     }
 
     public int getServerType() {
@@ -105,11 +117,11 @@ public class Customer {
     /**
      * Creates new customer and updates time finished serving.
      * @param time  The time that a customer MAY be served at.
-     * @return      A new customer with a serve time lazily stored
+     * @return      A new customer with the serve time stored
      *              in its new instance.
      */
     public Customer freeze(double time) {
-        return new Customer(this.customerID, this.arrivalTime, () -> time,
+        return new Customer(this.customerID, this.arrivalTime, time,
                 this.serverType, this.isGreedy);
     }
 
@@ -132,11 +144,7 @@ public class Customer {
      *              to wait for.
      */
     public Pair<Boolean, Optional<Server>> canWait(Shop s) {
-        int limit = s.getMaxQueue();
-        Optional<Server> wait = s.find(x -> (x.getCustomersInQueue() < limit));
-        if (this.isGreedy) {
-            wait = s.findShortestQueue();
-        }
+        Optional<Server> wait = this.isGreedy ? s.findShortestQueue() : s.findQueueSpace();
         if (wait.isPresent()) {
             return Pair.of(true,wait);
         } else {
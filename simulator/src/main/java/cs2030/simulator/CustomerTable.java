@@ -0,0 +1,169 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Primitive store of the customers in a shop, in place of {@link Customer} objects,
+ * where each customer is referred to by the index of his/her slot.
+ *
+ * <p>Each slot holds the ID, arrival time, time of service and server type of a
+ * customer in packed arrays, with whether he/she is greedy kept in a bitset. A slot
+ * is freed when its customer leaves the shop, and reused by a later arrival, so the
+ * table only grows to the most customers in the shop at once, and adding or freeing
+ * a customer allocates nothing after that.</p>
+ */
+public class CustomerTable {
+
+    /**
+     * Starting number of slots.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Fields of the customer in each slot, and whether each slot's customer is greedy,
+     * one bit per slot.
+     */
+    private int[] ids;
+    private double[] arrivalTime;
+    private double[] serviceStart;
+    private byte[] serverType;
+    private long[] greedy;
+
+    /**
+     * Slots that are free for reuse, the next slot never used, and the number of
+     * customers held.
+     */
+    private int[] freeSlots;
+    private int numFree;
+    private int nextSlot;
+
+    /**
+     * Initialises an empty table.
+     */
+    public CustomerTable() {
+        this.ids = new int[INITIAL_CAPACITY];
+        this.arrivalTime = new double[INITIAL_CAPACITY];
+        this.serviceStart = new double[INITIAL_CAPACITY];
+        this.serverType = new byte[INITIAL_CAPACITY];
+        this.greedy = new long[INITIAL_CAPACITY / Long.SIZE];
+        this.freeSlots = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds a customer who has just arrived, who is served at his/her arrival time
+     * unless given otherwise, by a human server.
+     * @param customerID    ID of the customer.
+     * @param arrivalTime   Arrival time of the customer.
+     * @param isGreedy      Whether the customer is greedy.
+     * @return              The slot of the customer.
+     */
+    public int add(int customerID, double arrivalTime, boolean isGreedy) {
+        int slot;
+        if (this.numFree > 0) {
+            slot = this.freeSlots[--this.numFree];
+        } else {
+            if (this.nextSlot == this.ids.length) {
+                this.grow();
+            }
+            slot = this.nextSlot++;
+        }
+        this.ids[slot] = customerID;
+        this.arrivalTime[slot] = arrivalTime;
+        this.serviceStart[slot] = arrivalTime;
+        this.serverType[slot] = 0;
+        if (isGreedy) {
+            this.greedy[slot >>> 6] |= 1L << slot;
+        } else {
+            this.greedy[slot >>> 6] &= ~(1L << slot);
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = this.ids.length * 2;
+        this.ids = Arrays.copyOf(this.ids, capacity);
+        this.arrivalTime = Arrays.copyOf(this.arrivalTime, capacity);
+        this.serviceStart = Arrays.copyOf(this.serviceStart, capacity);
+        this.serverType = Arrays.copyOf(this.serverType, capacity);
+        this.greedy = Arrays.copyOf(this.greedy, capacity / Long.SIZE);
+        this.freeSlots = Arrays.copyOf(this.freeSlots, capacity);
+    }
+
+    /**
+     * Frees the slot of a customer who has left the shop, for a later arrival.
+     * @param slot      The slot of the customer.
+     */
+    public void free(int slot) {
+        this.freeSlots[this.numFree++] = slot;
+    }
+
+    /**
+     * Getter methods, by slot.
+     */
+    public int getCustomerID(int slot) {
+        return this.ids[slot];
+    }
+
+    public double getArrivalTime(int slot) {
+        return this.arrivalTime[slot];
+    }
+
+    public double serviceStarts(int slot) {
+        return this.serviceStart[slot];
+    }
+
+    public int getServerType(int slot) {
+        return this.serverType[slot];
+    }
+
+    public boolean isGreedy(int slot) {
+        return (this.greedy[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Gives the number of slots, used or not, which may grow when a customer is added.
+     * @return      The number of slots.
+     */
+    public int capacity() {
+        return this.ids.length;
+    }
+
+    /**
+     * Gives the number of customers in the table.
+     * @return      The number of customers.
+     */
+    public int size() {
+        return this.nextSlot - this.numFree;
+    }
+
+    /**
+     * Sets the time a customer is served at, as {@link Customer#freeze} does.
+     * @param slot      The slot of the customer.
+     * @param time      The time that the customer MAY be served at.
+     */
+    public void freeze(int slot, double time) {
+        this.serviceStart[slot] = time;
+    }
+
+    /**
+     * Sets the type of server a customer is served by or waits for, as
+     * {@link Customer#updateType} does.
+     * @param slot      The slot of the customer.
+     * @param type      The type of server (0 representing human servers and
+     *                  1 representing self-checkout servers)
+     */
+    public void updateType(int slot, int type) {
+        this.serverType[slot] = (byte) type;
+    }
+
+    /**
+     * Creates the Customer held in a slot, for code that needs the object.
+     * @param slot      The slot of the customer.
+     * @return          A new Customer with the same fields.
+     */
+    public Customer toCustomer(int slot) {
+        return new Customer(this.ids[slot], this.arrivalTime[slot], this.serviceStart[slot],
+                this.serverType[slot], this.isGreedy(slot));
+    }
+
+}
@@ -0,0 +1,443 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Event loop which keeps no {@link Event} or {@link Customer} objects, and allocates
+ * nothing for each event once its tables have grown to the most customers in the shop
+ * at once.
+ *
+ * <p>Each customer in the shop has a slot in a {@link CustomerTable}, and the type,
+ * server and rest time of his/her one pending event are kept in primitive tables
+ * indexed by the same slot. The future event list is a {@link SlotHeap} of slots,
+ * and each event is executed by a switch on its {@link EventType}, which writes the
+ * next event into the slot in place. Servers are kept as in a {@link ServerTable},
+ * with queues of slots. A slot is freed when its customer leaves or is done, and
+ * reused by a later arrival.</p>
+ *
+ * <p>Events are passed to the sink as their fields, so a sink that overrides
+ * {@link EventSink#accept(EventType, double, int, double, boolean, int, int)}, such
+ * as {@link BufferedEventWriter} or {@link NullSink}, receives the same output as
+ * from {@link EventRunner#run()} without an Event being built.</p>
+ */
+public class DispatchEngine {
+
+    /**
+     * Starting number of places in each queue.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Fields that do not change over a simulation.
+     */
+    private final int humans;
+    private final int maxQueue;
+    private final double probRest;
+    private final RandomGenerator random;
+    private final ArrivalSource arrivals;
+
+    /**
+     * Mutable state of each server, indexed by server ID - 1, as in a ServerTable.
+     */
+    private final boolean[] available;
+    private final boolean[] resting;
+    private final double[] nextAvailableTime;
+
+    /**
+     * Index of the queue of each server, by server ID - 1, and the slots of the
+     * customers waiting in each queue, as ring buffers with a head and a length.
+     */
+    private final int[] queueIndex;
+    private final int[][] queues;
+    private final int[] queueHead;
+    private final int[] queueLength;
+
+    /**
+     * Index of the first server of each queue, and the index of the lengths of the
+     * queues, kept up to date as customers join and leave them.
+     */
+    private final int[] firstServer;
+    private final MutableQueueIndex shortest;
+
+    /**
+     * Indices of the servers that are available and not resting, and of the first
+     * server of every queue with space, so the first of either is found without a scan.
+     */
+    private final ServerBitSet idle;
+    private final ServerBitSet queueSpace;
+
+    /**
+     * Customers in the shop, and the pending event of each, by slot.
+     */
+    private final CustomerTable customers;
+    private EventType[] pendingType;
+    private int[] pendingServer;
+    private double[] restTime;
+
+    /**
+     * Future event list, holding the slot of each pending event.
+     */
+    private final SlotHeap heap;
+
+    /**
+     * Initialises an engine where every server is available and has an empty queue.
+     * @param humans    Number of human servers, which take IDs 1 to humans.
+     * @param pools     Pools of self-checkout counters, which take the IDs after
+     *                  the human servers.
+     * @param maxQueue  The maximum number of customers waiting in any queue.
+     * @param probRest  Probability to determine whether a human server rests,
+     *                  after his/her service.
+     * @param random    RandomGenerator used for service times and rests.
+     * @param arrivals  Source of the customers arriving at the shop.
+     */
+    public DispatchEngine(int humans, List<ServerPool> pools, int maxQueue, double probRest,
+                          RandomGenerator random, ArrivalSource arrivals) {
+        int size = humans + pools.stream().mapToInt(ServerPool::size).sum();
+        this.humans = humans;
+        this.maxQueue = maxQueue;
+        this.probRest = probRest;
+        this.random = random;
+        this.arrivals = arrivals;
+        this.available = new boolean[size];
+        this.resting = new boolean[size];
+        this.nextAvailableTime = new double[size];
+        Arrays.fill(this.available, true);
+        this.queueIndex = new int[size];
+        for (int i = 0; i < humans; i++) {
+            this.queueIndex[i] = i;
+        }
+        int numQueues = humans;
+        for (ServerPool pool : pools) {
+            Arrays.fill(this.queueIndex, pool.getFirstID() - 1,
+                    pool.getFirstID() - 1 + pool.size(), numQueues);
+            numQueues++;
+        }
+        this.queues = new int[numQueues][INITIAL_CAPACITY];
+        this.queueHead = new int[numQueues];
+        this.queueLength = new int[numQueues];
+        this.firstServer = new int[numQueues];
+        for (int i = size - 1; i >= 0; i--) {
+            this.firstServer[this.queueIndex[i]] = i;
+        }
+        this.shortest = new MutableQueueIndex(numQueues);
+        this.idle = new ServerBitSet(size);
+        this.queueSpace = new ServerBitSet(size);
+        for (int i = 0; i < size; i++) {
+            this.idle.set(i, true);
+        }
+        for (int q = 0; q < numQueues; q++) {
+            this.updateQueue(q, 0);
+        }
+        this.customers = new CustomerTable();
+        this.pendingType = new EventType[this.customers.capacity()];
+        this.pendingServer = new int[this.customers.capacity()];
+        this.restTime = new double[this.customers.capacity()];
+        this.heap = new SlotHeap();
+    }
+
+    /**
+     * Runs the event loop, sending each event to be printed and the final statistics
+     * to a sink, exactly as EventRunner does.
+     * @param sink      Receives the output of the simulation.
+     */
+    public void run(EventSink sink) {
+        this.run(sink, null);
+    }
+
+    /**
+     * Runs the event loop, counting each event in {@link EventMetrics} as EventRunner
+     * does, if any are given.
+     * @param sink      Receives the output of the simulation.
+     * @param metrics   Where to count the events, or null to count nothing.
+     */
+    public void run(EventSink sink, EventMetrics metrics) {
+        EventMetrics.Recorder recorder = metrics == null ? null : metrics.record();
+        if (this.arrivals.hasNext()) {
+            this.scheduleArrival();
+        }
+        //statistics to track results
+        int numCustomersServed = 0;
+        double totalWait = 0.0;
+        while (!this.heap.isEmpty()) {  //event runner
+            double time = this.heap.peekTime();
+            int s = this.heap.poll();
+            //fields of the event, before its slot is given the next event
+            EventType type = this.pendingType[s];
+            int id = this.customers.getCustomerID(s);
+            double arrival = this.customers.getArrivalTime(s);
+            boolean isGreedy = this.customers.isGreedy(s);
+            int serverKind = this.customers.getServerType(s);
+            int serverID = this.pendingServer[s];
+            if (type == EventType.ARRIVE && this.arrivals.hasNext()) {
+                //schedules the next arrival only when this customer arrives
+                this.scheduleArrival();
+            }
+            if (recorder != null) {
+                //the polled event is no longer in the heap, so add it back
+                recorder.before(this.heap.size() + 1);
+            }
+            EventType next;
+            switch (type) {
+                case ARRIVE:
+                    next = this.arrive(s);
+                    break;
+                case SERVE:
+                    next = this.serve(s, serverID);
+                    break;
+                case WAIT:
+                    next = this.waitFor(s, serverID);
+                    break;
+                case DONE:
+                    next = this.done(s, serverID);
+                    break;
+                case REST:
+                    next = this.rest(s, serverID);
+                    break;
+                case BACK:
+                    next = this.back(s, serverID);
+                    break;
+                default:
+                    this.customers.free(s);
+                    next = EventType.END;
+                    break;
+            }
+            if (recorder != null) {
+                recorder.after(type, id, serverID, time);
+            }
+            sink.transition(type, next, time, arrival, serverID);
+            if (!(type == EventType.SERVE && next != EventType.DONE)
+                    && type.getValue() <= EventType.DONE.getValue()) {
+                //prints out event, unless the server was taken and the customer waits again
+                sink.accept(type, time, id, arrival, isGreedy, serverKind, serverID);
+            }
+            if (type == EventType.SERVE && next == EventType.DONE) {
+                //update stats
+                totalWait += time - arrival;
+                numCustomersServed++;
+            }
+        }
+        //updates statistics
+        int numLeft = this.arrivals.numGenerated() - numCustomersServed;
+        double averageWait;
+        if (numCustomersServed == 0) {
+            averageWait = 0.0;
+        } else {
+            averageWait = totalWait / (double) numCustomersServed;
+        }
+        if (recorder != null) {
+            recorder.finish();
+        }
+        //prints statistics
+        sink.summary(averageWait, numCustomersServed, numLeft);
+        sink.flush();
+    }
+
+    /**
+     * Takes the next customer from the source, and schedules his/her arrival.
+     */
+    private void scheduleArrival() {
+        int id = this.arrivals.nextID();
+        double time = this.arrivals.nextArrivalTime();
+        int s = this.customers.add(id, time, this.arrivals.advance());
+        if (this.customers.capacity() > this.pendingType.length) {
+            int capacity = this.customers.capacity();
+            this.pendingType = Arrays.copyOf(this.pendingType, capacity);
+            this.pendingServer = Arrays.copyOf(this.pendingServer, capacity);
+            this.restTime = Arrays.copyOf(this.restTime, capacity);
+        }
+        this.schedule(s, EventType.ARRIVE, time, 0);
+    }
+
+    /**
+     * Gives the pending event of a slot, and adds it to the future event list.
+     */
+    private void schedule(int s, EventType type, double time, int serverID) {
+        this.pendingType[s] = type;
+        this.pendingServer[s] = serverID;
+        this.heap.add(time, this.customers.getCustomerID(s), s);
+    }
+
+    /**
+     * Mirrors {@link ArriveEvent}.
+     */
+    private EventType arrive(int s) {
+        int avail = this.idle.first();
+        double time = this.customers.getArrivalTime(s);
+        if (avail >= 0) {
+            int id = avail + 1;
+            if (this.isPooled(id)) {
+                this.customers.updateType(s, 1);
+            }
+            this.schedule(s, EventType.SERVE, time, id);
+            return EventType.SERVE;
+        }
+        int wait = this.customers.isGreedy(s) ? this.findShortestQueue()
+                : this.findQueueSpace();
+        if (wait >= 0) {
+            int id = wait + 1;
+            if (this.isPooled(id)) {
+                this.customers.updateType(s, 1);
+            }
+            this.schedule(s, EventType.WAIT, time, id);
+            return EventType.WAIT;
+        }
+        this.schedule(s, EventType.LEAVE, time, 0);
+        return EventType.LEAVE;
+    }
+
+    /**
+     * Mirrors {@link ServeEvent}.
+     */
+    private EventType serve(int s, int serverID) {
+        int i = serverID - 1;
+        if (this.resting[i] || !this.available[i]) {
+            this.enqueue(this.queueIndex[i], s);
+            return EventType.END;
+        }
+        double doneTime = this.random.genServiceTime() + this.customers.serviceStarts(s);
+        this.setState(i, false, false);
+        this.nextAvailableTime[i] = doneTime;
+        this.customers.freeze(s, doneTime);
+        this.schedule(s, EventType.DONE, doneTime, serverID);
+        return EventType.DONE;
+    }
+
+    /**
+     * Mirrors {@link WaitEvent}.
+     */
+    private EventType waitFor(int s, int serverID) {
+        int i = serverID - 1;
+        this.setState(i, false, this.resting[i]);
+        this.enqueue(this.queueIndex[i], s);
+        return EventType.END;
+    }
+
+    /**
+     * Mirrors {@link DoneEvent}.
+     */
+    private EventType done(int s, int serverID) {
+        int i = serverID - 1;
+        double doneTime = this.customers.serviceStarts(s);
+        this.nextAvailableTime[i] = doneTime;
+        if (!this.isPooled(serverID) && this.random.genRandomRest() < this.probRest) {
+            this.restTime[s] = this.random.genRestPeriod();
+            this.setState(i, false, true);
+            this.schedule(s, EventType.REST, doneTime, serverID);
+            return EventType.REST;
+        }
+        this.setState(i, true, false);
+        return this.serveNext(i, s);
+    }
+
+    /**
+     * Mirrors {@link RestEvent}.
+     */
+    private EventType rest(int s, int serverID) {
+        int i = serverID - 1;
+        this.setState(i, false, true);
+        this.nextAvailableTime[i] += this.restTime[s];
+        this.schedule(s, EventType.BACK, this.nextAvailableTime[i], serverID);
+        return EventType.BACK;
+    }
+
+    /**
+     * Mirrors {@link BackEvent}.
+     */
+    private EventType back(int s, int serverID) {
+        int i = serverID - 1;
+        this.setState(i, true, false);
+        return this.serveNext(i, s);
+    }
+
+    /**
+     * Mirrors {@link Event#serveNext}, where an available server serves the customer
+     * who has waited longest in its queue, if any. The slot of the customer whose
+     * event made the server available is freed either way.
+     * @param i     Index of the available server.
+     * @param s     Slot of the customer who was done, or who was served before a rest.
+     * @return      SERVE if a waiting customer is served, or END.
+     */
+    private EventType serveNext(int i, int s) {
+        this.customers.free(s);
+        int q = this.queueIndex[i];
+        if (this.queueLength[q] == 0) {
+            return EventType.END;
+        }
+        int next = this.dequeue(q);
+        this.customers.freeze(next, this.nextAvailableTime[i]);
+        this.schedule(next, EventType.SERVE, this.nextAvailableTime[i], i + 1);
+        return EventType.SERVE;
+    }
+
+    private boolean isPooled(int serverID) {
+        return serverID > this.humans;
+    }
+
+    /**
+     * Finds the first server with space in its queue, as {@link Customer#canWait(Shop)} does.
+     * @return      Index of the server, or -1 if every queue is full.
+     */
+    private int findQueueSpace() {
+        return this.queueSpace.first();
+    }
+
+    /**
+     * Finds the server with the shortest queue, as {@link Shop#findShortestQueue()} does.
+     * @return      Index of the first server with the shortest queue, or -1 if
+     *              every queue is full.
+     */
+    private int findShortestQueue() {
+        int q = this.shortest.findShortest(this.maxQueue);
+        return q < 0 ? -1 : this.firstServer[q];
+    }
+
+    private void enqueue(int q, int s) {
+        int[] queue = this.queues[q];
+        if (this.queueLength[q] == queue.length) {
+            //unrolls the ring into a larger array, starting from the head
+            int[] larger = new int[queue.length * 2];
+            int head = this.queueHead[q];
+            System.arraycopy(queue, head, larger, 0, queue.length - head);
+            System.arraycopy(queue, 0, larger, queue.length - head, head);
+            this.queues[q] = larger;
+            this.queueHead[q] = 0;
+            queue = larger;
+        }
+        queue[(this.queueHead[q] + this.queueLength[q]) % queue.length] = s;
+        this.queueLength[q]++;
+        this.updateQueue(q, this.queueLength[q]);
+    }
+
+    private int dequeue(int q) {
+        int[] queue = this.queues[q];
+        int s = queue[this.queueHead[q]];
+        this.queueHead[q] = (this.queueHead[q] + 1) % queue.length;
+        this.queueLength[q]--;
+        this.updateQueue(q, this.queueLength[q]);
+        return s;
+    }
+
+    /**
+     * Sets whether a server is available and whether it is resting.
+     * @param i             Index of the server.
+     * @param available     Whether the server is available.
+     * @param resting       Whether the server is resting.
+     */
+    private void setState(int i, boolean available, boolean resting) {
+        this.available[i] = available;
+        this.resting[i] = resting;
+        this.idle.set(i, available && !resting);
+    }
+
+    /**
+     * Records the new length of a queue, for finding queues without a scan.
+     * @param q         Index of the queue.
+     * @param length    The length of the queue.
+     */
+    private void updateQueue(int q, int length) {
+        this.shortest.update(q, length);
+        this.queueSpace.set(this.firstServer[q], length < this.maxQueue);
+    }
+
+}
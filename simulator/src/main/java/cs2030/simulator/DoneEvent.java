@@ -0,0 +1,61 @@
+package cs2030.simulator;
+
+/**
+ * Simulates a completion of service, and should only be called 
+ * from {@link ServeEvent}.
+ */
+public class DoneEvent extends Event {
+
+    /**
+     * Initialises a DONE event, indicating service is over for a customer.
+     * @param customer gives customer that was done being served
+     * @param serverID the actual server who just finished serving
+     *
+     */
+    DoneEvent(Customer customer, int serverID) {
+        super(customer, customer.serviceStarts(), EventType.DONE, serverID);
+    }
+
+    @Override
+    Pair<Shop, Event> execute(Shop x) {
+        Customer customer = this.getCustomer();
+        int serverID = this.getServerID();
+        Server s = x.get(serverID);
+        double probRest = s.probRest();
+        if (x.isPooled(serverID)) { //self checkout counter in a pool
+            Server b = s.of(serverID, true, false,
+                    customer.serviceStarts(), s.getCustomersInQueue(), s.getRand());
+            //serves the customer who has waited longest for the pool
+            return serveNext(x.replace(b), serverID, customer.serviceStarts(), customer);
+        }
+        if (probRest < x.getProbRest()) { //logic here to decide if should rest
+            //make v a resting server
+            double restTime = s.restTime();
+            Server v = s.of(serverID, false, true,
+                    customer.serviceStarts(), s.getCustomersInQueue(), s.getRand());
+            return Pair.of(x.replace(v), new RestEvent(customer, serverID, restTime));
+        }
+        //if server is human and not resting next, then serve the next waiting customer.
+        Server n = s.of(serverID, true, false, customer.serviceStarts(),
+                s.getCustomersInQueue(), s.getRand());
+        return serveNext(x.replace(n), serverID, customer.serviceStarts(), customer);
+    }
+
+    @Override
+    public String toString() {
+        Customer customer = this.getCustomer();
+        String type = "server ";
+        String greedy = "";
+        if (customer.getServerType() == 1) {
+            type = "self-check ";
+        }
+        if (customer.isGreedy()) {
+            greedy = "(greedy)";
+        }
+        return String.format("%.3f", this.eventStartTime()) + " " +
+                    customer.getCustomerID() + greedy +
+                    " done serving by " + type + this.getServerID();
+
+    }
+
+}
@@ -13,7 +13,12 @@ public class EndEvent extends Event {
      * @param customer  Customer for passing into superclass constructor.
      */
     protected EndEvent(Customer customer) {
-        super(customer, x -> Pair.of(x,null), 0.0, EventType.END);
+        super(customer, 0.0, EventType.END);
+    }
+
+    @Override
+    Pair<Shop, Event> execute(Shop shop) {
+        return Pair.of(shop, null);
     }
   
 }
@@ -0,0 +1,127 @@
+package cs2030.simulator;
+
+/**
+ * Abstract event class to serve as a template for its subclasses, which include ArriveEvent, 
+ * ServeEvent, WaitEvent, LeaveEvent, DoneEvent, RestEvent, BackEvent, and EndEvent.
+ *
+ * <p>Has methods to allow for ease of getting certain values such as customers and 
+ * servers, used in the various subclasses.
+ */
+public abstract class Event {
+
+    /**
+     * Immutable customer and List of servers, useful for the subclasses to keep track of 
+     * customer and state of servers.
+     */
+    private final Customer customer;
+    private final double eventTime;
+    private final EventType et;
+    private final int serverID;
+
+    /**
+     * Event class constructor used to keep track of customers and list of servers.
+     * 
+     * <p>Since this is abstract, Event constructor is only a template for subclasses.
+     * @param customer  Initialises the customer that is being focused on.
+     * @param eventTime Represents the start time of the event.
+     * @param et        Reflects state of the Event.
+     */
+    public Event(Customer customer, double eventTime, EventType et) {
+        this.customer = customer;
+        this.eventTime = eventTime;
+        this.et = et;
+        this.serverID = 0;
+    }
+
+    /**
+     * Event class constructor used to keep track of customers and list of servers.
+     *
+     * <p>Since this is abstract, Event constructor is only a template for subclasses.
+     * @param customer  Initialises the customer that is being focused on.
+     * @param eventTime Represents the start time of the event.
+     * @param et        Reflects state of the Event.
+     * @param serverID  Represents the ID of the server concerned with the event.
+     */
+    public Event(Customer customer, double eventTime, EventType et, int serverID) {
+        this.customer = customer;
+        this.eventTime = eventTime;
+        this.et = et;
+        this.serverID = serverID;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public Customer getCustomer() {
+        return this.customer;
+    }
+
+    public EventType getEventType() {
+        return this.et;
+    }
+
+    public int getServerID() {
+        return this.serverID;
+    }
+
+    public double eventStartTime() {
+        return this.eventTime;
+    }
+
+    /**
+     * Creates an event of the output from its fields, as an engine that keeps no
+     * Event objects would have executed it.
+     * @param type      Type of the event, which is ARRIVE, SERVE, WAIT, LEAVE or DONE.
+     * @param time      Start time of the event.
+     * @param c         Customer of the event, as he/she arrived.
+     * @param serverID  The ID of the server of the event, if any.
+     * @return          The event.
+     */
+    static Event of(EventType type, double time, Customer c, int serverID) {
+        switch (type) {
+            case ARRIVE:
+                return new ArriveEvent(c);
+            case SERVE:
+                return new ServeEvent(c.freeze(time), serverID);
+            case WAIT:
+                return new WaitEvent(c, serverID);
+            case LEAVE:
+                return new LeaveEvent(c);
+            case DONE:
+                return new DoneEvent(c.freeze(time), serverID);
+            default:
+                throw new IllegalArgumentException("not an event of the output: " + type);
+        }
+    }
+
+    /**
+     * The method which transitions one event to another state. Each subclass gives
+     * the transition of its own EventType, so no function is built for each event.
+     * @param shop  Given shop for which the events occur in.
+     * @return      The next event that happens give the state of the shop
+     *              and the customers.
+     */
+    abstract Pair<Shop, Event> execute(Shop shop);
+
+    /**
+     * Wakes a server that has just become available, so that it serves the customer
+     * who has waited longest in its queue, if any. Used by {@link DoneEvent} and
+     * {@link BackEvent}, so a waiting customer is only scheduled once, when the
+     * server is ready for him/her.
+     * @param shop      Shop where the server is available.
+     * @param serverID  The ID of the available server.
+     * @param time      Time the server became available.
+     * @param c         Customer to end with, if no one is waiting.
+     * @return          The updated shop, and either the serving of the next customer
+     *                  or the end of this one.
+     */
+    static Pair<Shop, Event> serveNext(Shop shop, int serverID, double time, Customer c) {
+        ServerPool pool = shop.getPool(serverID);
+        if (pool.getQueueLength() > 0) {
+            Customer next = pool.peek().freeze(time);
+            return Pair.of(shop.dispatch(serverID), new ServeEvent(next, serverID));
+        }
+        return Pair.of(shop, new EndEvent(c));
+    }
+
+}
@@ -0,0 +1,33 @@
+package cs2030.simulator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for the execution of one simulation event, in a run with
+ * {@link EventMetrics}. Disabled unless turned on, as there is one for every event.
+ */
+@Name("cs2030.EventExecution")
+@Label("Event Execution")
+@Category("CS2030 Simulator")
+@Description("Execution of one event against the state of the servers")
+@Enabled(false)
+class EventExecutionEvent extends Event {
+
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Customer ID")
+    int customerID;
+
+    @Label("Server ID")
+    int serverID;
+
+    @Label("Simulation Time")
+    double simulationTime;
+
+}
@@ -0,0 +1,143 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Future event list for {@link EventRunner}, kept as a 4-ary heap whose keys are held
+ * in primitive arrays, so that comparing two events does not need to reach into
+ * either {@link Event} or its {@link Customer}.
+ *
+ * <p>Each entry of the heap is the start time and customer ID of an event, with a
+ * handle to the slot holding the event itself. Events are ordered exactly as
+ * {@link EventComparator} orders them, by time and then by customer ID. The keys are
+ * kept in a {@link SlotHeap}.</p>
+ */
+public class EventHeap implements EventQueue {
+
+    /**
+     * Starting number of slots.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Keys of the events in heap order, with the handle of each.
+     */
+    private final SlotHeap heap;
+
+    /**
+     * Events in the heap by handle, and the handles that are free for reuse.
+     */
+    private Event[] events;
+    private int[] freeHandles;
+    private int numFree;
+    private int nextHandle;
+
+    /**
+     * Initialises an empty heap.
+     */
+    public EventHeap() {
+        this.heap = new SlotHeap();
+        this.events = new Event[INITIAL_CAPACITY];
+        this.freeHandles = new int[INITIAL_CAPACITY];
+        this.numFree = 0;
+        this.nextHandle = 0;
+    }
+
+    /**
+     * Getter methods.
+     */
+    @Override
+    public int size() {
+        return this.heap.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.heap.isEmpty();
+    }
+
+    /**
+     * Adds an event to the heap.
+     * @param e     The event to add.
+     */
+    @Override
+    public void add(Event e) {
+        int handle = this.allocate(e);
+        this.heap.add(e.eventStartTime(), e.getCustomer().getCustomerID(), handle);
+    }
+
+    /**
+     * Gives the first event without removing it.
+     * @return      The first event.
+     */
+    public Event peek() {
+        if (this.heap.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return this.events[this.heap.peekSlot()];
+    }
+
+    /**
+     * Removes the first event, which has the earliest time, and the smallest
+     * customer ID among events at that time.
+     * @return      The first event.
+     */
+    @Override
+    public Event poll() {
+        if (this.heap.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        int handle = this.heap.poll();
+        Event first = this.events[handle];
+        this.release(handle);
+        return first;
+    }
+
+    /**
+     * Lists the events in the heap from their slots, without polling them.
+     * @return      The events, in no particular order.
+     */
+    @Override
+    public List<Event> toList() {
+        List<Event> res = new ArrayList<>(this.size());
+        for (int i = 0; i < this.nextHandle; i++) {
+            if (this.events[i] != null) {
+                res.add(this.events[i]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Stores an event in a free slot.
+     * @param e     The event to store.
+     * @return      Handle of the slot.
+     */
+    private int allocate(Event e) {
+        int handle;
+        if (this.numFree > 0) {
+            handle = this.freeHandles[--this.numFree];
+        } else {
+            if (this.nextHandle == this.events.length) {
+                this.events = Arrays.copyOf(this.events, this.nextHandle * 2);
+                this.freeHandles = Arrays.copyOf(this.freeHandles, this.nextHandle * 2);
+            }
+            handle = this.nextHandle++;
+        }
+        this.events[handle] = e;
+        return handle;
+    }
+
+    /**
+     * Frees the slot of an event that has left the heap.
+     * @param handle    Handle of the slot.
+     */
+    private void release(int handle) {
+        this.events[handle] = null;
+        this.freeHandles[this.numFree++] = handle;
+    }
+
+}
@@ -0,0 +1,309 @@
+package cs2030.simulator;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of where the time of the event loop goes, kept for every run of an
+ * {@link EventRunner} given them by {@link EventRunner#withMetrics}.
+ *
+ * <p>Counts the events executed and the nanoseconds spent executing them, for each
+ * EventType, the most events held in the future event list at once, and the events
+ * executed per second of wall time. Each run counts into its own arrays, which are added to these
+ * counters every {@value #PUBLISH_INTERVAL} events and at the end of the run, so the
+ * same EventMetrics may be shared by runs on several threads, and read through JMX
+ * while they run. A runner without metrics runs the event loop untouched.</p>
+ *
+ * <p>Each run also records a {@link SimulationRunEvent} for Java Flight Recorder, and
+ * each event executed an {@link EventExecutionEvent}, which is disabled unless turned
+ * on in the recording settings. While it is disabled, none is created.</p>
+ *
+ * <p>The engines that execute {@link Event} objects are counted through a step given by
+ * {@link #instrument}, and {@link DispatchEngine}, which keeps no Event objects, calls
+ * the {@link Recorder} given by {@link #record} around each event itself.</p>
+ */
+public class EventMetrics implements EventMetricsMXBean {
+
+    /**
+     * Number of events a run counts before adding its counts to the totals.
+     */
+    static final int PUBLISH_INTERVAL = 1 << 16;
+
+    private static final EventType[] TYPES = EventType.values();
+
+    /**
+     * Flight Recorder type of {@link EventExecutionEvent}, looked up once, to check
+     * whether it is enabled before creating one.
+     */
+    private static final jdk.jfr.EventType EXECUTION =
+            jdk.jfr.EventType.getEventType(EventExecutionEvent.class);
+
+    /**
+     * Totals over all runs, guarded by this object.
+     */
+    private final long[] counts = new long[TYPES.length];
+    private final long[] nanos = new long[TYPES.length];
+    private int queueHighWaterMark;
+    private long runNanos;
+    private long runs;
+
+    /**
+     * Gives the step of a run, executing each event as the given step does and counting
+     * it. The run must call {@link Recorder#finish} once it ends.
+     * @param step      Executes an event and gives the next event.
+     * @param pq        The future event list of the run, whose size is sampled before
+     *                  each event, while it still holds that event.
+     * @return          The counting step.
+     */
+    Recorder instrument(UnaryOperator<Event> step, EventQueue pq) {
+        return new Recorder(step, pq);
+    }
+
+    /**
+     * Gives the recorder of a run whose engine calls {@link Recorder#before} and
+     * {@link Recorder#after} around each event itself. The run must call
+     * {@link Recorder#finish} once it ends.
+     * @return          The recorder.
+     */
+    Recorder record() {
+        return new Recorder(null, null);
+    }
+
+    private synchronized void publish(long[] counts, long[] nanos, int highWaterMark,
+                                      long runNanos, boolean finished) {
+        for (int i = 0; i < TYPES.length; i++) {
+            this.counts[i] += counts[i];
+            this.nanos[i] += nanos[i];
+        }
+        this.queueHighWaterMark = Math.max(this.queueHighWaterMark, highWaterMark);
+        this.runNanos += runNanos;
+        if (finished) {
+            this.runs++;
+        }
+    }
+
+    /**
+     * Gives the number of events of a type executed.
+     * @param type      The EventType.
+     * @return          The number of events.
+     */
+    public synchronized long getCount(EventType type) {
+        return this.counts[type.ordinal()];
+    }
+
+    /**
+     * Gives the nanoseconds spent executing events of a type.
+     * @param type      The EventType.
+     * @return          The total time, in nanoseconds.
+     */
+    public synchronized long getNanos(EventType type) {
+        return this.nanos[type.ordinal()];
+    }
+
+    @Override
+    public synchronized long getEventsProcessed() {
+        long total = 0;
+        for (long count : this.counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getEventCounts() {
+        return this.byType(this.counts);
+    }
+
+    @Override
+    public Map<String, Long> getNanosPerType() {
+        return this.byType(this.nanos);
+    }
+
+    private synchronized Map<String, Long> byType(long[] values) {
+        Map<String, Long> res = new LinkedHashMap<>();
+        for (EventType type : TYPES) {
+            res.put(type.name(), values[type.ordinal()]);
+        }
+        return res;
+    }
+
+    /**
+     * Getter methods.
+     */
+    @Override
+    public synchronized int getQueueHighWaterMark() {
+        return this.queueHighWaterMark;
+    }
+
+    @Override
+    public synchronized long getRuns() {
+        return this.runs;
+    }
+
+    @Override
+    public synchronized double getEventsPerSecond() {
+        return this.runNanos > 0 ? this.getEventsProcessed() * 1e9 / this.runNanos : 0.0;
+    }
+
+    @Override
+    public synchronized void reset() {
+        Arrays.fill(this.counts, 0);
+        Arrays.fill(this.nanos, 0);
+        this.queueHighWaterMark = 0;
+        this.runNanos = 0;
+        this.runs = 0;
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server, so they can be read
+     * through JMX, such as in JConsole.
+     * @param name      Name given to the MBean, such as "main".
+     * @return          The name the MBean was registered under.
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(
+                    "cs2030.simulator:type=EventMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("could not register metrics as " + name, e);
+        }
+    }
+
+    /**
+     * Describes the counters, with a line for each EventType executed.
+     * @return  String of the counters.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "events %d in %d runs, %.0f per second, queue high water %d",
+                this.getEventsProcessed(), this.runs, this.getEventsPerSecond(),
+                this.queueHighWaterMark));
+        for (EventType type : TYPES) {
+            long count = this.counts[type.ordinal()];
+            if (count > 0) {
+                sb.append(String.format("\n%s: %d events, %.1f ns per event", type, count,
+                        (double) this.nanos[type.ordinal()] / count));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Counts the events of one run, and adds the counts to the totals now and then.
+     * Used as the step of the run, or called before and after each event.
+     */
+    class Recorder implements UnaryOperator<Event> {
+
+        private final UnaryOperator<Event> step;
+        private final EventQueue pq;
+        private final long[] counts = new long[TYPES.length];
+        private final long[] nanos = new long[TYPES.length];
+        private int highWaterMark;
+        private long events;
+        private long lastPublished;
+        private final SimulationRunEvent runEvent = new SimulationRunEvent();
+        private final long totalStart;
+
+        /**
+         * When the current event started, and its Flight Recorder event, which is
+         * null while that is disabled.
+         */
+        private long start;
+        private EventExecutionEvent jfr;
+
+        Recorder(UnaryOperator<Event> step, EventQueue pq) {
+            this.step = step;
+            this.pq = pq;
+            this.runEvent.begin();
+            this.totalStart = System.nanoTime();
+            this.lastPublished = this.totalStart;
+        }
+
+        @Override
+        public Event apply(Event e) {
+            //the polled event is no longer in the queue, so add it back
+            this.before(this.pq.size() + 1);
+            Event next = this.step.apply(e);
+            this.after(e.getEventType(), e.getCustomer().getCustomerID(), e.getServerID(),
+                    e.eventStartTime());
+            return next;
+        }
+
+        /**
+         * Starts timing an event.
+         * @param queueSize     Number of events in the future event list, counting the
+         *                      event about to be executed.
+         */
+        void before(int queueSize) {
+            if (queueSize > this.highWaterMark) {
+                this.highWaterMark = queueSize;
+            }
+            if (EXECUTION.isEnabled()) {
+                this.jfr = new EventExecutionEvent();
+                this.jfr.begin();
+            } else {
+                this.jfr = null;
+            }
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * Counts the event timed since {@link #before}.
+         * @param type          Type of the event executed.
+         * @param customerID    ID of its customer.
+         * @param serverID      ID of its server, if any.
+         * @param time          Start time of the event.
+         */
+        void after(EventType type, int customerID, int serverID, double time) {
+            long elapsed = System.nanoTime() - this.start;
+            this.counts[type.ordinal()]++;
+            this.nanos[type.ordinal()] += elapsed;
+            if (this.jfr != null && this.jfr.shouldCommit()) {
+                this.jfr.eventType = type.name();
+                this.jfr.customerID = customerID;
+                this.jfr.serverID = serverID;
+                this.jfr.simulationTime = time;
+                this.jfr.commit();
+            }
+            if (++this.events % PUBLISH_INTERVAL == 0) {
+                this.publish(false);
+            }
+        }
+
+        private void publish(boolean finished) {
+            long now = System.nanoTime();
+            EventMetrics.this.publish(this.counts, this.nanos, this.highWaterMark,
+                    now - this.lastPublished, finished);
+            this.lastPublished = now;
+            Arrays.fill(this.counts, 0);
+            Arrays.fill(this.nanos, 0);
+        }
+
+        /**
+         * Adds the last counts of the run to the totals, and records the run for
+         * Java Flight Recorder.
+         */
+        void finish() {
+            this.publish(true);
+            if (this.runEvent.shouldCommit()) {
+                long wall = System.nanoTime() - this.totalStart;
+                this.runEvent.events = this.events;
+                this.runEvent.queueHighWaterMark = this.highWaterMark;
+                this.runEvent.eventsPerSecond = wall > 0 ? this.events * 1e9 / wall : 0.0;
+                this.runEvent.commit();
+            }
+        }
+
+    }
+
+}
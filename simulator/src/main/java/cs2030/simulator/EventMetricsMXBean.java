@@ -0,0 +1,52 @@
+package cs2030.simulator;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link EventMetrics}, through which JMX clients read the
+ * counters of the event loop.
+ */
+public interface EventMetricsMXBean {
+
+    /**
+     * Gives the number of events executed, of every type.
+     * @return  The number of events.
+     */
+    long getEventsProcessed();
+
+    /**
+     * Gives the number of events executed of each type.
+     * @return  Map from the name of each EventType to its number of events.
+     */
+    Map<String, Long> getEventCounts();
+
+    /**
+     * Gives the nanoseconds spent executing events of each type.
+     * @return  Map from the name of each EventType to its total time.
+     */
+    Map<String, Long> getNanosPerType();
+
+    /**
+     * Gives the most events held in the future event list at once, in any run.
+     * @return  The high-water mark.
+     */
+    int getQueueHighWaterMark();
+
+    /**
+     * Gives the number of runs finished.
+     * @return  The number of runs.
+     */
+    long getRuns();
+
+    /**
+     * Gives the events executed per second of wall time spent in runs.
+     * @return  The rate, or 0 if no time was counted.
+     */
+    double getEventsPerSecond();
+
+    /**
+     * Sets every counter back to zero.
+     */
+    void reset();
+
+}
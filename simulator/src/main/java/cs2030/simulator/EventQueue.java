@@ -0,0 +1,58 @@
+package cs2030.simulator;
+
+import java.util.List;
+
+/**
+ * Future event list used by {@link EventRunner}, which gives back events in the order
+ * of {@link EventComparator}: by start time, and then by customer ID.
+ *
+ * <p>As the simulation clock only moves forward, an event added to the queue never
+ * starts before the last event polled from it, which some implementations rely on.
+ * The implementations to choose from are listed in {@link EventQueueType}.</p>
+ */
+public interface EventQueue {
+
+    /**
+     * Adds an event to the queue.
+     * @param e     The event to add, which starts no earlier than the last event polled.
+     */
+    void add(Event e);
+
+    /**
+     * Removes the first event in the queue.
+     * @return      The event with the earliest start time, and the smallest customer ID
+     *              among events at that time.
+     */
+    Event poll();
+
+    /**
+     * Getter methods.
+     */
+    int size();
+
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Lists the events in the queue without polling them, such as for a
+     * {@link Checkpoint}, so that the queue is left exactly as it was.
+     * @return      The events, in no particular order.
+     */
+    List<Event> toList();
+
+    /**
+     * Checks whether one event comes before another, in the same way as
+     * {@link EventComparator}, without creating a comparator.
+     * @param e1    First event.
+     * @param e2    Second event.
+     * @return      True if e1 comes before e2.
+     */
+    static boolean before(Event e1, Event e2) {
+        double time1 = e1.eventStartTime();
+        double time2 = e2.eventStartTime();
+        return time1 < time2 || (time1 == time2
+                && e1.getCustomer().getCustomerID() < e2.getCustomer().getCustomerID());
+    }
+
+}
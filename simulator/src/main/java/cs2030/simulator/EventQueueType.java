@@ -0,0 +1,38 @@
+package cs2030.simulator;
+
+import java.util.function.Supplier;
+
+/**
+ * Enum class of the {@link EventQueue} implementations that {@link EventRunner}
+ * can keep its future events in.
+ */
+public enum EventQueueType {
+
+    /**
+     * The implementations, with how to create an empty queue of each.
+     */
+    PRIORITY(PriorityEventQueue::new),
+    HEAP(EventHeap::new),
+    CALENDAR(CalendarQueue::new),
+    LADDER(LadderQueue::new),
+    RADIX(RadixHeap::new);
+
+    private final Supplier<EventQueue> factory;
+
+    /**
+     * Initialises the format for all EventQueueType constants.
+     * @param factory   creates an empty queue of this type
+     */
+    EventQueueType(Supplier<EventQueue> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates an empty queue of this type.
+     * @return  a new EventQueue
+     */
+    public EventQueue create() {
+        return this.factory.get();
+    }
+
+}
@@ -0,0 +1,791 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Works like an F n B manager who runs the Priority Queue according to the input fields,
+ * only called from the Main class.
+ */
+public class EventRunner {
+
+    /**
+     * Immutable fields that represent the various inputs fed into Main, and run by EventRunner.
+     */
+    private final int numOfCustomers;
+    private final int numOfServers;
+    private final int seed;
+    private final double lambda;
+    private final double miu;
+    private final double rho;
+    private final int maxQueue;
+    private final double probRest;
+    private final double probGreedy;
+    private final List<Integer> selfCheckoutPools;
+    private final EventQueueType queueType;
+    private final EventMetrics metrics;
+    private final RandomMode randomMode;
+    private final CheckpointSchedule checkpoints;
+    private final SteadyState steadyState;
+    private final double horizon;
+
+    /**
+     * Number of customers of a run that generates customers until it is stopped, or
+     * until its time horizon. As customer IDs are ints, this is the most customers any
+     * run can have, so such a run still ends once this many have been generated, as a
+     * run of that many customers does. The numbers served and left, which are at most
+     * the number generated, then still fit the ints of {@link EventSink#summary}.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    /**
+     * Constructor that initialises the Event Runner.
+     * @param numOfCustomers  gives the number of customers that
+     *                        will be arriving
+     * @param numOfServers    contains the number of servers
+     * @param seed            Represents the base seed for RandomGenerator
+     *                        object
+     * @param lambda          Represents arrival rate of customers
+     * @param miu             Represents the serving rate of servers
+     * @param rho             Represents the resting rate of servers
+     * @param maxQueue        Contains the maximum queue length allowed in the Shop,
+     *                        for all servers
+     * @param probRest        Gives the probability that a server will rest after he/she
+     *                        is done serving a customer
+     * @param probGreedy      Gives the probability that an arriving customer is greedy
+     * @param selfCheckout    Represents number of self-checkout counters in a shop
+     */
+    public EventRunner(int numOfCustomers, int numOfServers, int seed, double lambda, double miu,
+                       double rho, int maxQueue, double probRest,
+                       double probGreedy, int selfCheckout) {
+        this(numOfCustomers, numOfServers, seed, lambda, miu, rho, maxQueue, probRest,
+                probGreedy, List.of(selfCheckout));
+    }
+
+    /**
+     * Constructor that initialises the Event Runner, for a shop with several pools of
+     * self-checkout counters, where each pool shares its own queue.
+     * @param numOfCustomers    gives the number of customers that
+     *                          will be arriving
+     * @param numOfServers      contains the number of human servers
+     * @param seed              Represents the base seed for RandomGenerator
+     *                          object
+     * @param lambda            Represents arrival rate of customers
+     * @param miu               Represents the serving rate of servers
+     * @param rho               Represents the resting rate of servers
+     * @param maxQueue          Contains the maximum queue length allowed in the Shop,
+     *                          for all servers and pools
+     * @param probRest          Gives the probability that a server will rest after he/she
+     *                          is done serving a customer
+     * @param probGreedy        Gives the probability that an arriving customer is greedy
+     * @param selfCheckoutPools Represents number of counters in each pool of self-checkout
+     *                          counters, in order of server ID
+     */
+    public EventRunner(int numOfCustomers, int numOfServers, int seed, double lambda, double miu,
+                       double rho, int maxQueue, double probRest,
+                       double probGreedy, List<Integer> selfCheckoutPools) {
+        this(numOfCustomers, numOfServers, seed, lambda, miu, rho, maxQueue, probRest,
+                probGreedy, selfCheckoutPools, EventQueueType.HEAP, null,
+                RandomMode.EXACT, null, null, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Constructor that initialises the Event Runner with every field, including the
+     * kind of queue that future events are kept in, the metrics counted, if any, the
+     * kind of random streams drawn from, when checkpoints are taken, if ever, the
+     * steady-state estimator which stops each run, if any, and the time after which no
+     * customer arrives.
+     */
+    private EventRunner(int numOfCustomers, int numOfServers, int seed, double lambda,
+                        double miu, double rho, int maxQueue, double probRest,
+                        double probGreedy, List<Integer> selfCheckoutPools,
+                        EventQueueType queueType, EventMetrics metrics,
+                        RandomMode randomMode, CheckpointSchedule checkpoints,
+                        SteadyState steadyState, double horizon) {
+        this.numOfCustomers = numOfCustomers;
+        this.numOfServers = numOfServers;
+        this.seed = seed;
+        this.lambda = lambda;
+        this.miu = miu;
+        this.rho = rho;
+        this.maxQueue = maxQueue;
+        this.probRest = probRest;
+        this.probGreedy = probGreedy;
+        this.selfCheckoutPools = List.copyOf(selfCheckoutPools);
+        this.queueType = queueType;
+        this.metrics = metrics;
+        this.randomMode = randomMode;
+        this.checkpoints = checkpoints;
+        this.steadyState = steadyState;
+        this.horizon = horizon;
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation, which keeps its future events
+     * in a different kind of {@link EventQueue}. The output does not change.
+     * @param queueType     The kind of queue to keep future events in.
+     * @return              A new EventRunner.
+     */
+    public EventRunner withEventQueue(EventQueueType queueType) {
+        return new EventRunner(this.numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, queueType, this.metrics, this.randomMode,
+                this.checkpoints, this.steadyState, this.horizon);
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation with a different base seed, such
+     * as for another replication. Each run creates its own RandomGenerator from the seed,
+     * so runners share no mutable state.
+     * @param seed          The base seed for the RandomGenerator.
+     * @return              A new EventRunner.
+     */
+    public EventRunner withSeed(int seed) {
+        return new EventRunner(this.numOfCustomers, this.numOfServers, seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, this.queueType, this.metrics, this.randomMode,
+                this.checkpoints, this.steadyState, this.horizon);
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation, which counts the events of each
+     * run in the given {@link EventMetrics}. Runners without metrics count nothing, and
+     * run exactly the same event loop as before. The output does not change.
+     * @param metrics       Where to count events, shared by runners copied from this one.
+     * @return              A new EventRunner.
+     */
+    public EventRunner withMetrics(EventMetrics metrics) {
+        return new EventRunner(this.numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, this.queueType, metrics, this.randomMode,
+                this.checkpoints, this.steadyState, this.horizon);
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation, which draws from a different kind
+     * of {@link RandomStream}. With {@link RandomMode#EXACT}, the default, the output
+     * is that of java.util.Random; with {@link RandomMode#FAST} it is reproducible for
+     * each seed but different.
+     * @param randomMode    The kind of random streams to draw from.
+     * @return              A new EventRunner.
+     */
+    public EventRunner withRandomMode(RandomMode randomMode) {
+        return new EventRunner(this.numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, this.queueType, this.metrics, randomMode,
+                this.checkpoints, this.steadyState, this.horizon);
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation, which saves a {@link Checkpoint}
+     * of each run of {@link #run} on a schedule, from which the run can be resumed with
+     * {@link #resume}. The other engines do not take checkpoints. The output does not
+     * change.
+     * @param checkpoints   When and where to write checkpoints.
+     * @return              A new EventRunner.
+     */
+    public EventRunner withCheckpoints(CheckpointSchedule checkpoints) {
+        return new EventRunner(this.numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, this.queueType, this.metrics, this.randomMode,
+                checkpoints, this.steadyState, this.horizon);
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation, which estimates the steady-state
+     * mean wait of each run in the given {@link SteadyState}, and stops generating
+     * customers once the estimate is precise enough. The number of customers becomes
+     * the most that are generated. Until the run stops, the output does not change.
+     * Steady-state runs take no checkpoints. As every copy of the runner shares the
+     * estimator, its runs must not overlap, and {@link ReplicationRunner} and
+     * {@link MultiShopRunner} do not take such a runner.
+     * @param steadyState   Estimator for the runs, reset as each one starts.
+     * @return              A new EventRunner.
+     */
+    public EventRunner withSteadyState(SteadyState steadyState) {
+        return new EventRunner(this.numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, this.queueType, this.metrics, this.randomMode,
+                this.checkpoints, steadyState, this.horizon);
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation with a different number of
+     * customers, such as {@link #UNBOUNDED} for a run that only ends at its time horizon,
+     * or once the largest customer ID is reached.
+     * @param numOfCustomers    The most customers that will be arriving.
+     * @return                  A new EventRunner.
+     */
+    public EventRunner withNumOfCustomers(int numOfCustomers) {
+        return new EventRunner(numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, this.queueType, this.metrics, this.randomMode,
+                this.checkpoints, this.steadyState, this.horizon);
+    }
+
+    /**
+     * Gives an Event Runner for the same simulation, in which no customer arrives after
+     * a time. Customers in the shop at that time are served or leave as usual, so the
+     * output ends as that of a run with the customers who arrived in time. The number
+     * of customers is still the most generated. Runs with a finite horizon take no
+     * checkpoints.
+     * @param horizon       Time after which no customer arrives, which is
+     *                      Double.POSITIVE_INFINITY unless given.
+     * @return              A new EventRunner.
+     * @throws IllegalArgumentException if the horizon is NaN.
+     */
+    public EventRunner withHorizon(double horizon) {
+        if (Double.isNaN(horizon)) {
+            throw new IllegalArgumentException("horizon is NaN");
+        }
+        return new EventRunner(this.numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools, this.queueType, this.metrics, this.randomMode,
+                this.checkpoints, this.steadyState, horizon);
+    }
+
+    /**
+     * Gives the parameters of the simulation of this runner.
+     * @return  The parameters, as given to Main.
+     */
+    public RunConfig toConfig() {
+        return new RunConfig(this.seed, this.numOfServers, this.selfCheckoutPools,
+                this.maxQueue, this.numOfCustomers, this.lambda, this.miu, this.rho,
+                this.probRest, this.probGreedy);
+    }
+
+    /**
+     * Getter method.
+     * @return  The base seed for the RandomGenerator.
+     */
+    public int getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Getter method.
+     * @return  The kind of random streams drawn from.
+     */
+    RandomMode getRandomMode() {
+        return this.randomMode;
+    }
+
+    /**
+     * Getter method.
+     * @return  Where the events of each run are counted, or null if they are not.
+     */
+    EventMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Getter method.
+     * @return  The time after which no customer arrives.
+     */
+    double getHorizon() {
+        return this.horizon;
+    }
+
+    /**
+     * Creates an instance of the RandomGenerator class according to inputs from Main,
+     * drawing from the kind of random streams chosen for this runner.
+     * @param seed              The base seed for the RandomGenerator class
+     * @param lambda            Represents arrival rate of customers
+     * @param miu               Represents the serving rate of servers
+     * @param rho               Represents the resting rate of servers
+     * @return                  RandomGenerator class used to generate the list of customers,
+     *                          servers, and to specify their associated timings.
+     */
+    public RandomGenerator genRandom(int seed, double lambda, double miu, double rho) {
+        return new RandomGenerator(seed, lambda, miu, rho, this.randomMode);
+    }
+
+    /**
+     * Generates a list of typical and greedy customers that arrive at the shop.
+     *
+     * <p>Each customer has a random arrival time.
+     * @param numOfCustomers    The number of customers entering a Shop
+     * @param random            The RandomGenerator used to generate arrival times
+     *                          and probability of a customer being greedy
+     * @param greedy            Probability to decide whether each customer is greedy
+     * @return                  Customer list that is used to initialise the priority queue.
+     */
+    public List<Customer> generateCustomersList(int numOfCustomers, RandomGenerator random,
+                                                double greedy) {
+        List<Double> arrivalTimes = Stream.iterate(0.0, x -> x + random.genInterArrivalTime())
+            .limit(numOfCustomers).collect(Collectors.toList());
+        return IntStream.rangeClosed(1, numOfCustomers)
+            .mapToObj(y -> new Customer(y, arrivalTimes.get(y - 1),
+                    (random.genCustomerType() < greedy))).collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a list of servers and adds into shop.
+     * @param num           Represents number of human servers
+     * @param self          Represents number of self-checkout counters
+     * @param maxQueue      Determines max length of a queue
+     * @param probRest      Determines the probability of a server resting
+     * @param random        RandomGenerator to feed into Server class to determine
+     *                      the randomised properties of a server
+     * @return              a new Shop based on given parameters
+     */
+    public Shop generateShop(int num, int self, int maxQueue,
+                             double probRest, RandomGenerator random) {
+        return generateShop(num, List.of(self), maxQueue, probRest, random);
+    }
+
+    /**
+     * Creates a list of servers and adds into shop, with the self-checkout counters
+     * split into pools that each share a queue.
+     * @param num           Represents number of human servers
+     * @param pools         Represents number of self-checkout counters in each pool
+     * @param maxQueue      Determines max length of a queue
+     * @param probRest      Determines the probability of a server resting
+     * @param random        RandomGenerator to feed into Server class to determine
+     *                      the randomised properties of a server
+     * @return              a new Shop based on given parameters
+     */
+    public Shop generateShop(int num, List<Integer> pools, int maxQueue,
+                             double probRest, RandomGenerator random) {
+        int self = pools.stream().mapToInt(x -> x).sum();
+        if (num == 0 && self == 0) {
+            return new Shop(0);
+        }
+        Stream<Server> humans = IntStream.rangeClosed(1,num).boxed()
+                .map(x -> new Server(x, true, false, 0, 0, () -> random));
+        Stream<Server> selfServers = IntStream.rangeClosed(num + 1, num + self).boxed()
+                .map(x -> new SelfCheckout(x, true, 0,0, () -> random));
+        List<Server> s = Stream.concat(humans, selfServers).collect(Collectors.toList());
+        return new Shop(s, num, generatePools(num, pools), maxQueue, probRest);
+    }
+
+    /**
+     * Creates the pools of self-checkout counters, which take the server IDs after
+     * the human servers, in order. Pools without counters are left out.
+     * @param num           Represents number of human servers
+     * @param pools         Represents number of self-checkout counters in each pool
+     * @return              List of pools
+     */
+    public List<ServerPool> generatePools(int num, List<Integer> pools) {
+        List<ServerPool> res = new ArrayList<>();
+        int firstID = num + 1;
+        for (int size : pools) {
+            if (size > 0) {
+                res.add(new ServerPool(firstID, size));
+                firstID += size;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Creates the statistics kept while this runner's simulation runs, which are
+     * filled in when given as the sink of a run, alone or in a {@link TeeSink}.
+     * @return              a new OnlineStats for the shop of this runner
+     */
+    public OnlineStats generateStats() {
+        return new OnlineStats(this.numOfServers,
+                generatePools(this.numOfServers, this.selfCheckoutPools));
+    }
+
+    /**
+     * Creates a source that generates the typical and greedy customers arriving
+     * at the shop one at a time, giving the same customers as
+     * {@link #generateCustomersList} without keeping them all in memory.
+     * @param numOfCustomers    The number of customers entering a Shop
+     * @param random            The RandomGenerator used to generate arrival times
+     *                          and probability of a customer being greedy
+     * @param greedy            Probability to decide whether each customer is greedy
+     * @return                  ArrivalSource used to schedule arrivals in the priority queue.
+     */
+    public ArrivalSource generateArrivals(int numOfCustomers, RandomGenerator random,
+                                         double greedy) {
+        return new ArrivalSource(numOfCustomers, random, greedy);
+    }
+
+    /**
+     * Sets the Priority Queue up with all customers that have just arrived,
+     * ordered by event start time.
+     * @param       customers  is the list of customers
+     * @return      a Priority Queue of Events at an initial state
+     */
+    public PriorityQueue<Event> initialise(List<Customer> customers) {
+        PriorityQueue<Event> queue = new PriorityQueue<>(new EventComparator());
+        for (Customer customer : customers) {
+            queue.add(new ArriveEvent(customer));
+        }
+        return queue;
+    }
+
+    /**
+     * Creates a table of servers whose state is updated in place, matching
+     * the Shop given by {@link #generateShop}.
+     * @param num           Represents number of human servers
+     * @param pools         Represents number of self-checkout counters in each pool
+     * @param maxQueue      Determines max length of a queue
+     * @param probRest      Determines the probability of a server resting
+     * @param random        RandomGenerator to determine service times and rests
+     * @return              a new ServerTable based on given parameters
+     */
+    public ServerTable generateServerTable(int num, List<Integer> pools, int maxQueue,
+                                           double probRest, RandomGenerator random) {
+        return new ServerTable(num, generatePools(num, pools), maxQueue, probRest, random);
+    }
+
+    /**
+     * Runs the Discrete Event Simulation, using
+     * a Priority Queue for events, and prints statistics.
+     *
+     * <p>Each execute method updates the Shop to ensure smooth
+     * execution of events.
+     */
+    public void run() {
+        run(new BufferedEventWriter(System.out));
+    }
+
+    /**
+     * Runs the Discrete Event Simulation, sending each event and the statistics
+     * to a given sink instead of printing them.
+     * @param sink      Receives the output of the simulation.
+     */
+    public void run(EventSink sink) {
+        RandomGenerator random = genRandom(this.seed, this.lambda, this.miu, this.rho);
+        ArrivalSource arrivals = this.arrivals(random);
+        Shop shop = generateShop(this.numOfServers, this.selfCheckoutPools, this.maxQueue,
+                this.probRest, random);
+        sink = this.observe(arrivals, sink);
+        EventQueue pq = this.queueType.create();
+        if (arrivals.hasNext()) {
+            pq.add(new ArriveEvent(arrivals.next()));
+        }
+        ShopStep step = new ShopStep(shop);
+        simulate(arrivals, pq, step, sink, null, this.checkpointer(random, step));
+    }
+
+    /**
+     * Carries on a simulation of {@link #run()} from a checkpoint, printing the output
+     * the simulation would have printed after it.
+     * @param checkpoint    Checkpoint of a run of this runner's simulation.
+     */
+    public void resume(Checkpoint checkpoint) {
+        resume(checkpoint, new BufferedEventWriter(System.out));
+    }
+
+    /**
+     * Carries on a simulation of {@link #run(EventSink)} from a checkpoint, sending each
+     * event after it and the statistics of the whole simulation to a sink. Together
+     * with the first {@link Checkpoint#getLinesPrinted} lines of the interrupted run,
+     * the output is exactly that of a run which was never interrupted. The runner may
+     * take further checkpoints, and keep its events in any kind of queue.
+     * @param checkpoint    Checkpoint of a run of this runner's simulation.
+     * @param sink          Receives the output of the simulation.
+     * @throws IllegalArgumentException if the checkpoint is of another simulation.
+     * @throws UnsupportedOperationException if this runner estimates the steady state,
+     *                      or has a finite horizon.
+     */
+    public void resume(Checkpoint checkpoint, EventSink sink) {
+        if (this.steadyState != null) {
+            throw new UnsupportedOperationException("steady-state runs cannot be resumed");
+        }
+        if (this.horizon != Double.POSITIVE_INFINITY) {
+            throw new UnsupportedOperationException("runs with a horizon cannot be resumed");
+        }
+        if (!checkpoint.getConfig().equals(this.toConfig())
+                || checkpoint.getRandomMode() != this.randomMode) {
+            throw new IllegalArgumentException("checkpoint of " + checkpoint.getConfig()
+                    + " " + checkpoint.getRandomMode() + " cannot resume " + this.toConfig()
+                    + " " + this.randomMode);
+        }
+        RandomGenerator random = checkpoint.restoreRandom();
+        ArrivalSource arrivals = checkpoint.restoreArrivals(random);
+        Shop shop = checkpoint.restoreShop(random);
+        EventQueue pq = this.queueType.create();
+        for (Event e : checkpoint.getEvents()) {
+            pq.add(e);
+        }
+        ShopStep step = new ShopStep(shop);
+        simulate(arrivals, pq, step, sink, checkpoint, this.checkpointer(random, step));
+    }
+
+    /**
+     * Creates what takes the checkpoints of a run, if this runner takes any.
+     * @param random    RandomGenerator of the run.
+     * @param step      Step of the run, which holds the latest Shop.
+     * @return          A new Checkpointer, or null if no checkpoints are taken.
+     */
+    private Checkpointer checkpointer(RandomGenerator random, ShopStep step) {
+        if (this.checkpoints == null) {
+            return null;
+        }
+        return new Checkpointer(this.checkpoints, this.toConfig(), this.randomMode, random,
+                step);
+    }
+
+    /**
+     * Creates the source of the customers of a run, closed at the horizon of this runner.
+     * @param random    RandomGenerator of the run.
+     * @return          A new ArrivalSource.
+     */
+    private ArrivalSource arrivals(RandomGenerator random) {
+        if (this.horizon != Double.POSITIVE_INFINITY && this.checkpoints != null) {
+            throw new UnsupportedOperationException("runs with a horizon take no checkpoints");
+        }
+        ArrivalSource arrivals = generateArrivals(this.numOfCustomers, random, this.probGreedy);
+        arrivals.closeAt(this.horizon);
+        return arrivals;
+    }
+
+    /**
+     * Starts the steady-state estimator of this runner on a run, if it has one.
+     * @param arrivals  Source of the customers of the run, which the estimator stops.
+     * @param sink      Receives the output of the run.
+     * @return          The sink, joined with the estimator if there is one.
+     */
+    private EventSink observe(ArrivalSource arrivals, EventSink sink) {
+        if (this.steadyState == null) {
+            return sink;
+        }
+        if (this.checkpoints != null) {
+            throw new UnsupportedOperationException("steady-state runs take no checkpoints");
+        }
+        this.steadyState.start(arrivals);
+        return new TeeSink(sink, this.steadyState);
+    }
+
+    /**
+     * Checks that this runner has no steady-state estimator, for the runners that run
+     * copies of it in parallel, which would all share the estimator.
+     * @throws UnsupportedOperationException if it has one.
+     */
+    void requireNoSteadyState() {
+        if (this.steadyState != null) {
+            throw new UnsupportedOperationException(
+                    "a steady-state estimator is used by one run at a time");
+        }
+    }
+
+    /**
+     * Checks that no checkpoints were asked for, for the engines that cannot take them.
+     */
+    private void requireNoCheckpoints() {
+        if (this.checkpoints != null) {
+            throw new UnsupportedOperationException("checkpoints are only taken by run()");
+        }
+    }
+
+    /**
+     * Runs the same simulation as {@link #run()}, but keeps the servers in a
+     * {@link ServerTable} which is updated in place, so that no Shop or Server
+     * is copied when a server changes state. Prints exactly the same output.
+     */
+    public void runInPlace() {
+        runInPlace(new BufferedEventWriter(System.out));
+    }
+
+    /**
+     * Runs the same simulation as {@link #run(EventSink)}, with the servers kept
+     * in a {@link ServerTable}.
+     * @param sink      Receives the output of the simulation.
+     */
+    public void runInPlace(EventSink sink) {
+        requireNoCheckpoints();
+        RandomGenerator random = genRandom(this.seed, this.lambda, this.miu, this.rho);
+        ArrivalSource arrivals = this.arrivals(random);
+        ServerTable table = generateServerTable(this.numOfServers, this.selfCheckoutPools,
+                this.maxQueue, this.probRest, random);
+        sink = this.observe(arrivals, sink);
+        EventQueue pq = this.queueType.create();
+        if (arrivals.hasNext()) {
+            pq.add(new ArriveEvent(arrivals.next()));
+        }
+        simulate(arrivals, pq, table::execute, sink, null, null);
+    }
+
+    /**
+     * Runs the same simulation as {@link #run()}, with a {@link DispatchEngine}, which
+     * keeps customers and events in primitive tables instead of objects. Prints exactly
+     * the same output.
+     */
+    public void runDispatch() {
+        runDispatch(new BufferedEventWriter(System.out));
+    }
+
+    /**
+     * Runs the same simulation as {@link #run(EventSink)}, with a {@link DispatchEngine}.
+     * The event loop allocates nothing for each event when the sink takes events as
+     * their fields, and no Flight Recorder event is enabled.
+     * @param sink      Receives the output of the simulation.
+     */
+    public void runDispatch(EventSink sink) {
+        requireNoCheckpoints();
+        RandomGenerator random = genRandom(this.seed, this.lambda, this.miu, this.rho);
+        ArrivalSource arrivals = this.arrivals(random);
+        new DispatchEngine(this.numOfServers, generatePools(this.numOfServers,
+                this.selfCheckoutPools), this.maxQueue, this.probRest, random, arrivals)
+                .run(this.observe(arrivals, sink), this.metrics);
+    }
+
+    /**
+     * Runs the same simulation as {@link #run()} on several threads, with a
+     * {@link TimeWarpEngine}. Prints exactly the same output.
+     * @param parallelism   Number of threads to run on.
+     */
+    public void runTimeWarp(int parallelism) {
+        runTimeWarp(new BufferedEventWriter(System.out), parallelism);
+    }
+
+    /**
+     * Runs the same simulation as {@link #run(EventSink)} on several threads, with a
+     * {@link TimeWarpEngine}, where groups of servers execute their events speculatively
+     * and roll back to saved Shops. The sink receives exactly the same output, as the
+     * events are committed, and is called from one thread at a time. The kind of
+     * EventQueue of this runner is not used.
+     * @param sink          Receives the output of the simulation.
+     * @param parallelism   Number of threads to run on.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     * @throws UnsupportedOperationException if this runner takes checkpoints, counts
+     *                      metrics or estimates the steady state.
+     */
+    public void runTimeWarp(EventSink sink, int parallelism) {
+        requireNoCheckpoints();
+        if (this.metrics != null) {
+            throw new UnsupportedOperationException("metrics are not counted by runTimeWarp()");
+        }
+        if (this.steadyState != null) {
+            //the estimator would stop arrivals that are generated ahead of the output
+            throw new UnsupportedOperationException(
+                    "the steady state is not estimated by runTimeWarp()");
+        }
+        this.timeWarp(parallelism).run(sink);
+    }
+
+    /**
+     * Creates the engine of a run of {@link #runTimeWarp(EventSink, int)}.
+     * @param parallelism   Number of threads to run on.
+     * @return              A new TimeWarpEngine.
+     */
+    TimeWarpEngine timeWarp(int parallelism) {
+        RandomGenerator random = genRandom(this.seed, this.lambda, this.miu, this.rho);
+        ArrivalSource arrivals = this.arrivals(random);
+        return new TimeWarpEngine(this.numOfServers, generatePools(this.numOfServers,
+                this.selfCheckoutPools), r -> generateShop(this.numOfServers,
+                this.selfCheckoutPools, this.maxQueue, this.probRest, r), random, arrivals,
+                parallelism);
+    }
+
+    /**
+     * Runs the event loop, sending each event to be printed and the final statistics
+     * to a sink.
+     *
+     * <p>Only the first arrival is scheduled at the start, and each arrival schedules
+     * the next one, so the Priority Queue only holds events of customers in the shop.
+     * Events are kept in the {@link EventQueue} chosen for this runner, an
+     * {@link EventHeap} unless given otherwise, which orders them as EventComparator
+     * does. With {@link EventMetrics}, each step is counted and timed, and the
+     * loop is otherwise the same. With a {@link Checkpointer}, a checkpoint is taken
+     * between events whenever one is due.</p>
+     * @param arrivals      Source of the customers arriving at the shop.
+     * @param pq            Future event list, holding the first arrival or the pending
+     *                      events of a checkpoint.
+     * @param step          Executes an event against the state of the servers,
+     *                      and gives the next event.
+     * @param sink          Receives the output of the simulation.
+     * @param from          Checkpoint the simulation resumes from, or null.
+     * @param checkpointer  Takes checkpoints, or null.
+     */
+    private void simulate(ArrivalSource arrivals, EventQueue pq, UnaryOperator<Event> step,
+                          EventSink sink, Checkpoint from, Checkpointer checkpointer) {
+        EventMetrics.Recorder recorder = null;
+        if (this.metrics != null) {
+            recorder = this.metrics.instrument(step, pq);
+            step = recorder;
+        }
+        //statistics to track results
+        int numCustomersServed = from == null ? 0 : from.getNumServed();
+        double totalWait = from == null ? 0.0 : from.getTotalWait();
+        long numEvents = from == null ? 0 : from.getEventsExecuted();
+        long numPrinted = from == null ? 0 : from.getLinesPrinted();
+        while (!pq.isEmpty()) {  //event runner
+            Event e = pq.poll();
+            //current EventType
+            int currentState = e.getEventType().getValue();
+            if (currentState == 1 && arrivals.hasNext()) {
+                //schedules the next arrival only when this customer arrives
+                pq.add(new ArriveEvent(arrivals.next()));
+            }
+            Event next = step.apply(e);
+            sink.transition(e, next);
+            int nextState = next.getEventType().getValue();
+            if (!(currentState == 2 && nextState != 5) && (currentState <= 5)) {
+                //prints out event, unless the server was taken and the customer waits again
+                sink.accept(e);
+                numPrinted++;
+            }
+            if (currentState == 2 && nextState == 5) {
+                //update stats
+                double timeWaited = e.eventStartTime()  
+                    - e.getCustomer().getArrivalTime();
+                totalWait += timeWaited;
+                numCustomersServed++;
+            }
+            if (nextState > 1 && nextState <= 7) {
+                //update the Priority Queue
+                pq.add(next);
+            }
+            numEvents++;
+            if (checkpointer != null && checkpointer.isDue(numEvents)) {
+                checkpointer.take(numEvents, numPrinted, numCustomersServed, totalWait,
+                        arrivals, pq, sink);
+            }
+        }
+        if (checkpointer != null) {
+            checkpointer.finish();
+        }
+        //updates statistics
+        int numLeft = arrivals.numGenerated() - numCustomersServed;
+        double averageWait;
+        if (numCustomersServed == 0) {
+            averageWait = 0.0;
+        } else {
+            averageWait = totalWait / (double) numCustomersServed;
+        }
+        if (recorder != null) {
+            recorder.finish();
+        }
+        //prints statistics
+        sink.summary(averageWait, numCustomersServed, numLeft);
+        sink.flush();
+    }
+
+    /**
+     * Executes events against an immutable {@link Shop}, keeping the latest Shop.
+     */
+    private static class ShopStep implements UnaryOperator<Event>, Supplier<Shop> {
+
+        private Shop shop;
+
+        ShopStep(Shop shop) {
+            this.shop = shop;
+        }
+
+        @Override
+        public Event apply(Event e) {
+            Pair<Shop, Event> result = e.execute(this.shop);
+            this.shop = result.first();
+            return result.second();
+        }
+
+        @Override
+        public Shop get() {
+            return this.shop;
+        }
+
+    }
+
+}
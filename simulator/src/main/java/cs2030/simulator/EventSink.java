@@ -0,0 +1,79 @@
+package cs2030.simulator;
+
+/**
+ * Destination for the output of a simulation run by {@link EventRunner}, which
+ * receives every printed {@link Event} in order, followed by the final statistics.
+ *
+ * <p>Implementations include {@link BufferedEventWriter}, which writes the usual text
+ * output, {@link NullSink}, which only keeps the statistics, {@link CallbackSink},
+ * which passes each event on to code in the same process, {@link OnlineStats},
+ * which keeps further statistics as the simulation runs, and {@link PeriodicSummary},
+ * which prints the statistics so far at intervals. {@link TeeSink} sends the
+ * output to two sinks at once.</p>
+ */
+public interface EventSink {
+
+    /**
+     * Receives an event that is part of the output of the simulation.
+     * @param e     The event, which is an ARRIVE, SERVE, WAIT, LEAVE or DONE event.
+     */
+    void accept(Event e);
+
+    /**
+     * Receives an event that is part of the output of the simulation as its fields,
+     * from an engine that keeps no Event objects, such as {@link DispatchEngine}.
+     * Unless overridden, builds the event and passes it to {@link #accept(Event)}.
+     * @param type          Type of the event, which is ARRIVE, SERVE, WAIT, LEAVE or DONE.
+     * @param time          Start time of the event.
+     * @param customerID    ID of the customer.
+     * @param arrivalTime   Arrival time of the customer.
+     * @param greedy        Whether the customer is greedy.
+     * @param serverType    1 if the customer is served by a self-checkout counter.
+     * @param serverID      ID of the server of the event, if any.
+     */
+    default void accept(EventType type, double time, int customerID, double arrivalTime,
+                        boolean greedy, int serverType, int serverID) {
+        this.accept(Event.of(type, time, new Customer(customerID, arrivalTime,
+                arrivalTime, serverType, greedy), serverID));
+    }
+
+    /**
+     * Receives every event executed, whether printed or not, with the event it gives,
+     * before the event is passed to {@link #accept}. Unless overridden, passes on the
+     * fields of both events to the other transition method.
+     * @param e         The event executed.
+     * @param next      The event given by executing it, which may be an END event.
+     */
+    default void transition(Event e, Event next) {
+        this.transition(e.getEventType(), next.getEventType(), e.eventStartTime(),
+                e.getCustomer().getArrivalTime(), e.getServerID());
+    }
+
+    /**
+     * Receives the fields of every event executed, whether printed or not, with the
+     * type of the event it gives. Does nothing unless overridden.
+     * @param type          Type of the event executed.
+     * @param nextType      Type of the event given by executing it.
+     * @param time          Start time of the event executed.
+     * @param arrivalTime   Arrival time of its customer.
+     * @param serverID      ID of the server of the event, if any.
+     */
+    default void transition(EventType type, EventType nextType, double time,
+                            double arrivalTime, int serverID) {
+    }
+
+    /**
+     * Receives the statistics at the end of the simulation.
+     * @param averageWait   Average time waited by customers who were served.
+     * @param numServed     Number of customers served.
+     * @param numLeft       Number of customers who left without being served.
+     */
+    void summary(double averageWait, int numServed, int numLeft);
+
+    /**
+     * Writes out anything held back by the sink. Called by EventRunner after the summary.
+     */
+    default void flush() {
+    }
+
+}
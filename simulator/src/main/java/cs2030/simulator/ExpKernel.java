@@ -0,0 +1,74 @@
+package cs2030.simulator;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Turns a block of uniform random numbers into exponential variates, for the
+ * {@link VariateBuffer} of a {@link RandomGenerator}.
+ *
+ * <p>The {@link #SCALAR} kernel computes each variate with {@link Math#log}, exactly as
+ * RandomGenerator always did, and is used unless the system property
+ * {@value #PROPERTY} names another kernel. Other kernels are found with
+ * {@link ServiceLoader}, such as the "vector" kernel of the vector module, built with
+ * the Maven profile of the same name, which need not give the same last bit.</p>
+ */
+public interface ExpKernel {
+
+    /**
+     * System property naming the kernel used by new RandomGenerators.
+     */
+    String PROPERTY = "cs2030.simulator.expKernel";
+
+    /**
+     * Kernel which computes each variate on its own with Math.log.
+     */
+    ExpKernel SCALAR = new ScalarExpKernel();
+
+    /**
+     * Gives the name the kernel is chosen by.
+     * @return  The name of the kernel.
+     */
+    String name();
+
+    /**
+     * Replaces each of the first length uniform numbers u in values by -log(u) / rate.
+     * @param values    Uniform random numbers in [0, 1), replaced by the variates.
+     * @param length    Number of values to replace.
+     * @param rate      Rate of the exponential distribution.
+     */
+    void exponential(double[] values, int length, double rate);
+
+    /**
+     * Finds the kernel with a name.
+     * @param name  Name of the kernel, "scalar" or that of a kernel on the class path.
+     * @return      The kernel.
+     * @throws IllegalArgumentException if there is no kernel with the name, or it
+     *                                  cannot be loaded.
+     */
+    static ExpKernel forName(String name) {
+        if (SCALAR.name().equals(name)) {
+            return SCALAR;
+        }
+        try {
+            for (ExpKernel kernel : ServiceLoader.load(ExpKernel.class)) {
+                if (kernel.name().equals(name)) {
+                    return kernel;
+                }
+            }
+        } catch (ServiceConfigurationError | LinkageError e) {
+            throw new IllegalArgumentException("could not load exponential kernel " + name
+                    + " (the vector kernel needs --add-modules jdk.incubator.vector)", e);
+        }
+        throw new IllegalArgumentException("no exponential kernel named " + name);
+    }
+
+    /**
+     * Gives the kernel named by the system property {@value #PROPERTY}.
+     * @return  The kernel, or {@link #SCALAR} if the property is not set.
+     */
+    static ExpKernel fromProperty() {
+        return forName(System.getProperty(PROPERTY, SCALAR.name()));
+    }
+
+}
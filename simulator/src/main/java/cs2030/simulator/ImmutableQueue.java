@@ -0,0 +1,136 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generic immutable first-in-first-out queue, kept as a front list and a reversed
+ * back list, so that adding to the back and removing from the front take
+ * amortised O(1) time, and the length is known in O(1) time.
+ *
+ * <p>Used by {@link ServerPool} to hold the customers waiting for its counters.</p>
+ * @param <T>   Type of item in the queue.
+ */
+public class ImmutableQueue<T> {
+
+    /**
+     * Shared empty queue.
+     */
+    private static final ImmutableQueue<Object> EMPTY = new ImmutableQueue<>(null, null, 0);
+
+    /**
+     * Immutable fields representing the front list, the reversed back list and the
+     * length of the queue. The front list is only empty when the queue is empty.
+     */
+    private final Node<T> front;
+    private final Node<T> back;
+    private final int size;
+
+    /**
+     * Initialises the queue. Private as queues should be built from {@link #empty()}.
+     * @param front     Front list, in order.
+     * @param back      Back list, in reverse order.
+     * @param size      Number of items in the queue.
+     */
+    private ImmutableQueue(Node<T> front, Node<T> back, int size) {
+        this.front = front;
+        this.back = back;
+        this.size = size;
+    }
+
+    /**
+     * Gives an empty queue.
+     * @param <T>   Type of item in the queue.
+     * @return      The empty queue.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ImmutableQueue<T> empty() {
+        return (ImmutableQueue<T>) EMPTY;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Gives the item at the front of the queue.
+     * @return      The item at the front, or null if the queue is empty.
+     */
+    public T peek() {
+        return this.front == null ? null : this.front.item;
+    }
+
+    /**
+     * Lists the items in the queue.
+     * @return      The items, from front to back.
+     */
+    public List<T> toList() {
+        List<T> res = new ArrayList<>(this.size);
+        for (Node<T> n = this.front; n != null; n = n.next) {
+            res.add(n.item);
+        }
+        int back = res.size();
+        for (Node<T> n = this.back; n != null; n = n.next) {
+            res.add(n.item);
+        }
+        //the back list is held in reverse order
+        Collections.reverse(res.subList(back, res.size()));
+        return res;
+    }
+
+    /**
+     * Adds an item to the back of the queue.
+     * @param item  Item to add.
+     * @return      An updated queue.
+     */
+    public ImmutableQueue<T> add(T item) {
+        if (this.front == null) {
+            return new ImmutableQueue<>(new Node<>(item, null), null, 1);
+        }
+        return new ImmutableQueue<>(this.front, new Node<>(item, this.back), this.size + 1);
+    }
+
+    /**
+     * Removes the item at the front of the queue.
+     * @return      An updated queue, or this queue if it is empty.
+     */
+    public ImmutableQueue<T> poll() {
+        if (this.front == null) {
+            return this;
+        }
+        if (this.front.next != null) {
+            return new ImmutableQueue<>(this.front.next, this.back, this.size - 1);
+        }
+        //front list is used up, so the back list is reversed to become the front
+        Node<T> reversed = null;
+        for (Node<T> n = this.back; n != null; n = n.next) {
+            reversed = new Node<>(n.item, reversed);
+        }
+        return new ImmutableQueue<>(reversed, null, this.size - 1);
+    }
+
+    /**
+     * Node of a singly linked list.
+     * @param <T>   Type of item held.
+     */
+    private static class Node<T> {
+
+        private final T item;
+        private final Node<T> next;
+
+        Node(T item, Node<T> next) {
+            this.item = item;
+            this.next = next;
+        }
+
+    }
+
+}
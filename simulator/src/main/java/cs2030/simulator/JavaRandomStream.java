@@ -0,0 +1,55 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link RandomStream} which gives exactly the numbers of {@link java.util.Random} for
+ * the same seed, from the same 48-bit linear congruential generator, but kept in a
+ * plain long instead of an AtomicLong, so that no draw needs a compare-and-set.
+ */
+public class JavaRandomStream implements RandomStream {
+
+    /**
+     * Constants of the generator, as in java.util.Random.
+     */
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * State of the generator.
+     */
+    private long seed;
+
+    /**
+     * Initialises the stream, as new java.util.Random(seed) does.
+     * @param seed  The seed.
+     */
+    public JavaRandomStream(long seed) {
+        this.seed = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    private int next(int bits) {
+        this.seed = (this.seed * MULTIPLIER + ADDEND) & MASK;
+        return (int) (this.seed >>> (48 - bits));
+    }
+
+    @Override
+    public double nextDouble() {
+        return (((long) this.next(26) << 27) + this.next(27)) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public void save(DataOutput out) throws IOException {
+        out.writeLong(this.seed);
+    }
+
+    @Override
+    public void restore(DataInput in) throws IOException {
+        this.seed = in.readLong();
+    }
+
+}
@@ -0,0 +1,258 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link EventQueue} kept as a ladder queue, which holds far-off events unsorted, and
+ * only sorts events once they are close to being polled.
+ *
+ * <p>Events are kept in three tiers. Top is an unsorted list of events at or after
+ * topStart. When every other tier is empty, Top is spread over the buckets of a rung.
+ * Each rung covers one bucket of the rung above with finer buckets. A bucket of the
+ * lowest rung is taken when it is reached: if it holds few events, they are sorted into
+ * Bottom, and otherwise they are spread over a new rung below. Bottom is sorted as
+ * {@link EventComparator} sorts events, and events are polled from it.</p>
+ *
+ * <p>A bucket index only ever grows with time, so an event at or after the next bucket
+ * of a rung to be taken is added to that rung, while an earlier event goes further down.</p>
+ */
+public class LadderQueue implements EventQueue {
+
+    /**
+     * Most events in a bucket that are sorted straight into Bottom, and most rungs.
+     */
+    private static final int THRESHOLD = 50;
+    private static final int MAX_RUNGS = 8;
+
+    /**
+     * Unsorted events at or after topStart, with the range of their times.
+     */
+    private final List<Event> top;
+    private double topStart;
+    private double topMin;
+    private double topMax;
+
+    /**
+     * Rungs, from the coarsest to the finest.
+     */
+    private final List<Rung> rungs;
+
+    /**
+     * Events sorted in reverse order, so that the first event is at the end.
+     */
+    private Event[] bottom;
+    private int bottomSize;
+
+    private int size;
+
+    /**
+     * Initialises an empty ladder, where every event starts in Top.
+     */
+    public LadderQueue() {
+        this.top = new ArrayList<>();
+        this.topStart = Double.NEGATIVE_INFINITY;
+        this.resetTop();
+        this.rungs = new ArrayList<>();
+        this.bottom = new Event[THRESHOLD];
+        this.bottomSize = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private void resetTop() {
+        this.top.clear();
+        this.topMin = Double.POSITIVE_INFINITY;
+        this.topMax = Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public void add(Event e) {
+        this.size++;
+        double time = e.eventStartTime();
+        if (time >= this.topStart) {
+            this.top.add(e);
+            this.topMin = Math.min(this.topMin, time);
+            this.topMax = Math.max(this.topMax, time);
+            return;
+        }
+        for (Rung rung : this.rungs) {
+            int i = rung.indexOf(time);
+            if (i >= rung.current) {
+                rung.add(i, e);
+                return;
+            }
+        }
+        this.addToBottom(e);
+    }
+
+    @Override
+    public Event poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        while (this.bottomSize == 0) {
+            this.refill();
+        }
+        this.size--;
+        Event first = this.bottom[--this.bottomSize];
+        this.bottom[this.bottomSize] = null;
+        return first;
+    }
+
+    /**
+     * Lists the events of Top, of every rung and of Bottom, without polling them.
+     * @return      The events, in no particular order.
+     */
+    @Override
+    public List<Event> toList() {
+        List<Event> res = new ArrayList<>(this.size);
+        res.addAll(this.top);
+        for (Rung rung : this.rungs) {
+            for (int i = 0; i < rung.buckets.length; i++) {
+                for (int j = 0; j < rung.counts[i]; j++) {
+                    res.add(rung.buckets[i][j]);
+                }
+            }
+        }
+        for (int i = 0; i < this.bottomSize; i++) {
+            res.add(this.bottom[i]);
+        }
+        return res;
+    }
+
+    /**
+     * Moves the next events down the ladder, towards Bottom.
+     */
+    private void refill() {
+        if (this.rungs.isEmpty()) {
+            Event[] events = this.top.toArray(new Event[0]);
+            double min = this.topMin;
+            double max = this.topMax;
+            this.topStart = Math.nextUp(max);
+            this.resetTop();
+            this.spread(events, events.length, min, max);
+            return;
+        }
+        Rung lowest = this.rungs.get(this.rungs.size() - 1);
+        int i = lowest.nextBucket();
+        if (i < 0) {
+            this.rungs.remove(this.rungs.size() - 1);
+            return;
+        }
+        lowest.current = i + 1;
+        Event[] events = lowest.buckets[i];
+        int count = lowest.counts[i];
+        lowest.buckets[i] = null;
+        lowest.counts[i] = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int j = 0; j < count; j++) {
+            min = Math.min(min, events[j].eventStartTime());
+            max = Math.max(max, events[j].eventStartTime());
+        }
+        this.spread(events, count, min, max);
+    }
+
+    /**
+     * Sorts a group of events into Bottom if there are few of them, or spreads them
+     * over a new rung otherwise.
+     */
+    private void spread(Event[] events, int count, double min, double max) {
+        double width = (max - min) / count;
+        if (count <= THRESHOLD || this.rungs.size() >= MAX_RUNGS || !(width > 0)) {
+            Event[] sorted = Arrays.copyOf(events, count);
+            Arrays.sort(sorted, new EventComparator().reversed());
+            this.bottom = sorted;
+            this.bottomSize = count;
+            return;
+        }
+        Rung rung = new Rung(min, width, count);
+        for (int j = 0; j < count; j++) {
+            rung.add(rung.indexOf(events[j].eventStartTime()), events[j]);
+        }
+        this.rungs.add(rung);
+    }
+
+    /**
+     * Inserts an event into Bottom, keeping it sorted.
+     * @param e     The event, which comes before every event in the rungs.
+     */
+    private void addToBottom(Event e) {
+        if (this.bottomSize == this.bottom.length) {
+            this.bottom = Arrays.copyOf(this.bottom, this.bottomSize * 2 + 1);
+        }
+        //bottom is in reverse order, so find the first event that comes before e
+        int low = 0;
+        int high = this.bottomSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (EventQueue.before(this.bottom[mid], e)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        System.arraycopy(this.bottom, low, this.bottom, low + 1, this.bottomSize - low);
+        this.bottom[low] = e;
+        this.bottomSize++;
+    }
+
+    /**
+     * A rung of buckets of equal width, starting from a given time.
+     */
+    private static class Rung {
+
+        private final double start;
+        private final double width;
+        private final Event[][] buckets;
+        private final int[] counts;
+        private int current;
+
+        Rung(double start, double width, int numBuckets) {
+            this.start = start;
+            this.width = width;
+            this.buckets = new Event[numBuckets][];
+            this.counts = new int[numBuckets];
+            this.current = 0;
+        }
+
+        /**
+         * Gives the bucket of a time, which never decreases as the time increases.
+         */
+        int indexOf(double time) {
+            long i = (long) ((time - this.start) / this.width);
+            return (int) Math.max(0, Math.min(this.buckets.length - 1, i));
+        }
+
+        void add(int i, Event e) {
+            if (this.buckets[i] == null) {
+                this.buckets[i] = new Event[4];
+            } else if (this.counts[i] == this.buckets[i].length) {
+                this.buckets[i] = Arrays.copyOf(this.buckets[i], this.counts[i] * 2);
+            }
+            this.buckets[i][this.counts[i]++] = e;
+        }
+
+        /**
+         * Finds the next bucket that holds any events.
+         * @return      Index of the bucket, or -1 if the rung is used up.
+         */
+        int nextBucket() {
+            for (int i = this.current; i < this.buckets.length; i++) {
+                if (this.counts[i] > 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+    }
+
+}
@@ -6,31 +6,28 @@ package cs2030.simulator;
  */
 public class LeaveEvent extends Event {
 
-    /** 
-     * Immutable fields here, used for toString.
-     */
-    private final Customer customer;
-    private final double eventStartTime;
-
     /**
      * Initialises a customer leaving the establishment.
      * @param customer gives the customer that left
      */
     public LeaveEvent(Customer customer) {
-        super(customer, x -> Pair.of(x, new EndEvent(customer)),
-                customer.getArrivalTime(), EventType.LEAVE);
-        this.customer = customer;
-        this.eventStartTime = customer.getArrivalTime();
+        super(customer, customer.getArrivalTime(), EventType.LEAVE);
     }
-    
+
+    @Override
+    Pair<Shop, Event> execute(Shop shop) {
+        return Pair.of(shop, new EndEvent(this.getCustomer()));
+    }
+
     @Override 
     public String toString() {
+        Customer customer = this.getCustomer();
         String greedy = "";
         if (customer.isGreedy()) {
             greedy = "(greedy)";
         }
-        return String.format("%.3f", this.eventStartTime) + " " + 
-                this.customer.getCustomerID() + greedy + " leaves";
+        return String.format("%.3f", this.eventStartTime()) + " " + 
+                customer.getCustomerID() + greedy + " leaves";
     }
 
 }
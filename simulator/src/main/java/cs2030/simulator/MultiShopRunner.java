@@ -0,0 +1,129 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a simulation of several shops of the same layout, which share one stream of
+ * arriving customers, split between them by a {@link RoutingPolicy}, and merges the
+ * statistics of every shop.
+ *
+ * <p>Shops do not interact once a customer is routed, so each shop runs as a
+ * simulation of its own, with a {@link DispatchEngine}, its own future event list and
+ * its own {@link RandomGenerator}, and shops are spread over the threads of a
+ * ForkJoinPool. The number of customers routed to each shop is counted first, in order
+ * of arrival, and each shop then generates the arrival times of its own customers, as
+ * described by the policy, so no customer is passed between threads. Customers of each
+ * shop are numbered from 1, so customer IDs are only unique within a shop: customer 1
+ * of one shop is not customer 1 of another, nor the first customer of the shared
+ * stream.</p>
+ *
+ * <p>Shop i draws from the streams of base seed seed + 6i, so a single shop gives
+ * the same statistics as {@link EventRunner#runInPlace} with the same seed. The
+ * statistics are merged in order of shop, so they do not depend on the number of
+ * threads. With {@link EventMetrics}, each shop is counted as a run.</p>
+ *
+ * <p>Under a time horizon, given by {@link EventRunner#withHorizon}, no customer arrives
+ * at any shop after it. As the arrivals of each shop are generated by the shop alone,
+ * every shop then stops at the horizon on its own, and with {@link EventRunner#UNBOUNDED}
+ * customers no count is needed.</p>
+ */
+public class MultiShopRunner {
+
+    /**
+     * Immutable fields describing the shops and how to run them.
+     */
+    private final EventRunner runner;
+    private final int numOfShops;
+    private final RoutingPolicy routing;
+    private final int parallelism;
+
+    /**
+     * Initialises the runner.
+     * @param runner        The simulation whose customers are split between the shops,
+     *                      which gives the layout of every shop.
+     * @param numOfShops    Number of shops.
+     * @param routing       How customers are routed to shops.
+     * @param parallelism   Number of threads to run shops on.
+     * @throws IllegalArgumentException if the policy cannot route to that many shops.
+     * @throws UnsupportedOperationException if the runner has a steady-state estimator,
+     *                      which shops would share.
+     */
+    public MultiShopRunner(EventRunner runner, int numOfShops, RoutingPolicy routing,
+                           int parallelism) {
+        routing.check(numOfShops);
+        runner.requireNoSteadyState();
+        this.runner = runner;
+        this.numOfShops = numOfShops;
+        this.routing = routing;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Counts the customers routed to each shop, drawing from a stream of its own for
+     * policies which route at random. With {@link EventRunner#UNBOUNDED} customers,
+     * as for a run until a time horizon, every shop has that many too.
+     * @return      Number of customers of each shop.
+     */
+    public int[] split() {
+        int n = this.runner.toConfig().getNumOfCustomers();
+        if (n == EventRunner.UNBOUNDED) {
+            int[] counts = new int[this.numOfShops];
+            Arrays.fill(counts, EventRunner.UNBOUNDED);
+            return counts;
+        }
+        RandomStream stream = this.runner.getRandomMode().streams(this.runner.getSeed() - 1,
+                1)[0];
+        int[] counts = new int[this.numOfShops];
+        for (int id = 1; id <= n; id++) {
+            counts[this.routing.route(id, this.numOfShops, stream)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Runs every shop and merges their statistics.
+     * @return      The statistics of each shop and of all of them.
+     */
+    public MultiShopSummary run() {
+        int[] counts = this.split();
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            List<Pair<NullSink, OnlineStats>> shops = pool.submit(() -> IntStream
+                    .range(0, this.numOfShops).parallel()
+                    .mapToObj(i -> this.runShop(i, counts[i]))
+                    .collect(Collectors.toList())).join();
+            return MultiShopSummary.of(this.routing, shops);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs one shop.
+     * @param shop      Index of the shop.
+     * @param count     Number of customers routed to the shop.
+     * @return          The summary and statistics of the shop.
+     */
+    private Pair<NullSink, OnlineStats> runShop(int shop, int count) {
+        RunConfig config = this.runner.toConfig();
+        RandomGenerator random = this.runner.genRandom(
+                config.getSeed() + RandomGenerator.NUM_STREAMS * shop,
+                config.getLambda() * this.routing.rateShare(shop, this.numOfShops),
+                config.getMiu(), config.getRho());
+        ArrivalSource arrivals = ArrivalSource.split(count, random, config.getProbGreedy(),
+                this.routing.phases(this.numOfShops), this.routing.firstPhases(shop));
+        arrivals.closeAt(this.runner.getHorizon());
+        NullSink summary = new NullSink();
+        OnlineStats stats = this.runner.generateStats();
+        new DispatchEngine(config.getNumOfServers(), this.runner.generatePools(
+                config.getNumOfServers(), config.getSelfCheckoutPools()),
+                config.getMaxQueue(), config.getProbRest(), random, arrivals)
+                .run(new TeeSink(summary, stats), this.runner.getMetrics());
+        return Pair.of(summary, stats);
+    }
+
+}
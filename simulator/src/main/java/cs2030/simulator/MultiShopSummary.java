@@ -0,0 +1,112 @@
+package cs2030.simulator;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Statistics of the shops run by a {@link MultiShopRunner}, each on its own and merged
+ * across every shop.
+ */
+public class MultiShopSummary {
+
+    /**
+     * Immutable fields holding the policy, the summary and statistics of each shop, and
+     * the merged statistics.
+     */
+    private final RoutingPolicy routing;
+    private final List<NullSink> shops;
+    private final List<OnlineStats> stats;
+    private final SampleStats wait;
+    private final int numServed;
+    private final int numLeft;
+
+    private MultiShopSummary(RoutingPolicy routing, List<NullSink> shops,
+                             List<OnlineStats> stats, SampleStats wait, int numServed,
+                             int numLeft) {
+        this.routing = routing;
+        this.shops = shops;
+        this.stats = stats;
+        this.wait = wait;
+        this.numServed = numServed;
+        this.numLeft = numLeft;
+    }
+
+    /**
+     * Merges the statistics of shops, in the order given.
+     * @param routing   How customers were routed to the shops.
+     * @param results   The summary and statistics of each shop, in order of shop.
+     * @return          A new MultiShopSummary.
+     */
+    public static MultiShopSummary of(RoutingPolicy routing,
+                                      List<Pair<NullSink, OnlineStats>> results) {
+        SampleStats wait = new SampleStats();
+        int numServed = 0;
+        int numLeft = 0;
+        for (Pair<NullSink, OnlineStats> result : results) {
+            wait.merge(result.second().getWait());
+            numServed += result.first().getNumServed();
+            numLeft += result.first().getNumLeft();
+        }
+        return new MultiShopSummary(routing,
+                results.stream().map(Pair::first).collect(Collectors.toList()),
+                results.stream().map(Pair::second).collect(Collectors.toList()),
+                wait, numServed, numLeft);
+    }
+
+    /**
+     * Getter methods, where shops are indexed from 0.
+     */
+    public int getNumOfShops() {
+        return this.shops.size();
+    }
+
+    public NullSink getShop(int shop) {
+        return this.shops.get(shop);
+    }
+
+    public OnlineStats getShopStats(int shop) {
+        return this.stats.get(shop);
+    }
+
+    public SampleStats getWait() {
+        return this.wait;
+    }
+
+    public int getNumServed() {
+        return this.numServed;
+    }
+
+    public int getNumLeft() {
+        return this.numLeft;
+    }
+
+    /**
+     * Gives the time waited by customers served at any shop, on average.
+     * @return      The average wait, or 0 if no customer was served.
+     */
+    public double getAverageWait() {
+        return this.numServed == 0 ? 0.0 : this.wait.getMean();
+    }
+
+    /**
+     * Describes the statistics, with a line for each shop, numbered from 1, in the form
+     * of the last line of the usual output, then the same for all shops, and the time
+     * waited across all shops.
+     * @return  String of the statistics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < this.shops.size(); i++) {
+            sb.append("shop ").append(i + 1).append(": ").append(this.shops.get(i))
+                    .append("\n");
+        }
+        sb.append(this.shops.size() == 1 ? "1 shop, " : "all " + this.shops.size()
+                + " shops, ").append(this.routing)
+                .append(": [").append(String.format("%.3f", this.getAverageWait())).append(" ")
+                .append(this.numServed).append(" ").append(this.numLeft).append("]\n");
+        sb.append("wait: ").append(this.wait);
+        return sb.toString();
+    }
+
+}
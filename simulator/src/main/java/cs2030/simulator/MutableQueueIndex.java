@@ -0,0 +1,79 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Index over the lengths of the queues of a {@link ServerTable} or
+ * {@link DispatchEngine}, updated in place, which gives the shortest queue at once,
+ * for greedy customers.
+ *
+ * <p>Kept as a segment tree in two arrays, where each node holds the shortest queue
+ * under it and its length, so a change of length updates one path in O(log q) time
+ * and allocates nothing. Between queues of the same length, the one with the lower
+ * index is taken. As the queues of these engines are indexed in the order of their
+ * first server, that is the queue of the first server with the shortest queue.</p>
+ */
+class MutableQueueIndex {
+
+    /**
+     * Number of leaves, a power of two, and for each node the length of the shortest
+     * queue under it and the index of that queue. Leaf i is node leaves + i, and node n
+     * has children 2n and 2n + 1.
+     */
+    private final int leaves;
+    private final int[] min;
+    private final int[] queue;
+
+    /**
+     * Initialises the index with every queue empty.
+     * @param numQueues     Number of queues.
+     */
+    MutableQueueIndex(int numQueues) {
+        int n = 1;
+        while (n < numQueues) {
+            n <<= 1;
+        }
+        this.leaves = n;
+        this.min = new int[2 * n];
+        this.queue = new int[2 * n];
+        //leaves past the last queue are never the shortest
+        Arrays.fill(this.min, n + numQueues, 2 * n, Integer.MAX_VALUE);
+        for (int i = 0; i < n; i++) {
+            this.queue[n + i] = i;
+        }
+        for (int node = n - 1; node >= 1; node--) {
+            this.pull(node);
+        }
+    }
+
+    /**
+     * Sets the length of a queue.
+     * @param q         Index of the queue.
+     * @param length    The new length of the queue.
+     */
+    void update(int q, int length) {
+        int node = this.leaves + q;
+        this.min[node] = length;
+        for (node >>>= 1; node >= 1; node >>>= 1) {
+            this.pull(node);
+        }
+    }
+
+    private void pull(int node) {
+        int left = 2 * node;
+        int right = left + 1;
+        int best = this.min[right] < this.min[left] ? right : left;
+        this.min[node] = this.min[best];
+        this.queue[node] = this.queue[best];
+    }
+
+    /**
+     * Gives the shortest queue, if it is shorter than a limit.
+     * @param maxQueue  The limit, such as the maximum length of a queue.
+     * @return          Index of the queue, or -1 if every queue is as long as the limit.
+     */
+    int findShortest(int maxQueue) {
+        return this.min[1] < maxQueue ? this.queue[1] : -1;
+    }
+
+}
@@ -0,0 +1,57 @@
+package cs2030.simulator;
+
+/**
+ * {@link EventSink} which discards every event, and only keeps the final statistics,
+ * for runs where the output of each event is not needed.
+ */
+public class NullSink implements EventSink {
+
+    /**
+     * Statistics received at the end of the simulation.
+     */
+    private double averageWait;
+    private int numServed;
+    private int numLeft;
+
+    @Override
+    public void accept(Event e) {
+    }
+
+    @Override
+    public void accept(EventType type, double time, int customerID, double arrivalTime,
+                       boolean greedy, int serverType, int serverID) {
+    }
+
+    @Override
+    public void summary(double averageWait, int numServed, int numLeft) {
+        this.averageWait = averageWait;
+        this.numServed = numServed;
+        this.numLeft = numLeft;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public double getAverageWait() {
+        return this.averageWait;
+    }
+
+    public int getNumServed() {
+        return this.numServed;
+    }
+
+    public int getNumLeft() {
+        return this.numLeft;
+    }
+
+    /**
+     * Formats the statistics in the same way as the last line of the usual output.
+     * @return  String of the average wait, number served and number left.
+     */
+    @Override
+    public String toString() {
+        return "[" + String.format("%.3f", this.averageWait) + " " + this.numServed
+                + " " + this.numLeft + "]";
+    }
+
+}
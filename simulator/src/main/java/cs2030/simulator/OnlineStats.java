@@ -0,0 +1,234 @@
+package cs2030.simulator;
+
+import java.util.List;
+
+/**
+ * {@link EventSink} which keeps statistics of a simulation as it runs, in memory that
+ * grows with the number of servers but not with the number of customers.
+ *
+ * <p>It keeps the mean and variance of the time waited by customers who were served,
+ * estimates of the 50th, 90th and 99th percentiles of that time, and for each server
+ * the fraction of time spent serving and resting, and the time-average length of the
+ * queue it serves from. Self-checkout counters of a pool share the queue of the pool.
+ * The state of the servers is followed from every event executed, through
+ * {@link EventSink#transition}, so no events need to be kept.</p>
+ */
+public class OnlineStats implements EventSink {
+
+    /**
+     * Immutable fields holding the layout of the shop.
+     */
+    private final int humans;
+    private final List<ServerPool> pools;
+    private final int[] queueIndex;
+
+    /**
+     * Statistics of the time waited by customers who were served.
+     */
+    private final SampleStats wait = new SampleStats();
+    private final P2Quantile p50 = new P2Quantile(0.5);
+    private final P2Quantile p90 = new P2Quantile(0.9);
+    private final P2Quantile p99 = new P2Quantile(0.99);
+
+    /**
+     * Time spent serving and resting by each server, indexed by server ID, and when the
+     * current service or rest started.
+     */
+    private final double[] busyTime;
+    private final double[] busySince;
+    private final double[] restTime;
+    private final double[] restSince;
+
+    /**
+     * Length of each queue, the integral of its length over time, and when its length
+     * last changed. Humans have queues 0 to humans - 1, and pools the queues after them.
+     */
+    private final int[] queueLength;
+    private final double[] queueArea;
+    private final double[] queueSince;
+
+    /**
+     * Time of the latest event.
+     */
+    private double now;
+
+    /**
+     * Initialises the statistics for a shop.
+     * @param humans    Number of human servers.
+     * @param pools     Pools of self-checkout counters, as from
+     *                  {@link EventRunner#generatePools}.
+     */
+    public OnlineStats(int humans, List<ServerPool> pools) {
+        this.humans = humans;
+        this.pools = List.copyOf(pools);
+        int numServers = humans + pools.stream().mapToInt(ServerPool::size).sum();
+        this.queueIndex = new int[numServers + 1];
+        for (int i = 1; i <= humans; i++) {
+            this.queueIndex[i] = i - 1;
+        }
+        for (int p = 0; p < pools.size(); p++) {
+            ServerPool pool = pools.get(p);
+            for (int i = pool.getFirstID(); i < pool.getFirstID() + pool.size(); i++) {
+                this.queueIndex[i] = humans + p;
+            }
+        }
+        this.busyTime = new double[numServers + 1];
+        this.busySince = new double[numServers + 1];
+        this.restTime = new double[numServers + 1];
+        this.restSince = new double[numServers + 1];
+        int numQueues = humans + pools.size();
+        this.queueLength = new int[numQueues];
+        this.queueArea = new double[numQueues];
+        this.queueSince = new double[numQueues];
+    }
+
+    @Override
+    public void accept(Event e) {
+    }
+
+    /**
+     * Follows the state of the servers and queues through an event.
+     */
+    @Override
+    public void transition(EventType type, EventType nextType, double time,
+                           double arrivalTime, int serverID) {
+        this.now = time;
+        switch (type) {
+            case SERVE:
+                if (nextType == EventType.DONE) {
+                    double waited = time - arrivalTime;
+                    this.wait.add(waited);
+                    this.p50.add(waited);
+                    this.p90.add(waited);
+                    this.p99.add(waited);
+                    this.busySince[serverID] = time;
+                } else {
+                    //the server was taken, so the customer joins its queue again
+                    this.changeQueue(serverID, 1, time);
+                }
+                break;
+            case WAIT:
+                this.changeQueue(serverID, 1, time);
+                break;
+            case DONE:
+                this.busyTime[serverID] += time - this.busySince[serverID];
+                if (nextType == EventType.SERVE) {
+                    this.changeQueue(serverID, -1, time);
+                }
+                break;
+            case REST:
+                this.restSince[serverID] = time;
+                break;
+            case BACK:
+                this.restTime[serverID] += time - this.restSince[serverID];
+                if (nextType == EventType.SERVE) {
+                    this.changeQueue(serverID, -1, time);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void changeQueue(int serverID, int change, double time) {
+        int q = this.queueIndex[serverID];
+        this.queueArea[q] += this.queueLength[q] * (time - this.queueSince[q]);
+        this.queueSince[q] = time;
+        this.queueLength[q] += change;
+    }
+
+    /**
+     * Closes the time-average queue lengths at the time of the last event.
+     */
+    @Override
+    public void summary(double averageWait, int numServed, int numLeft) {
+        for (int q = 0; q < this.queueLength.length; q++) {
+            this.queueArea[q] += this.queueLength[q] * (this.now - this.queueSince[q]);
+            this.queueSince[q] = this.now;
+        }
+    }
+
+    /**
+     * Getter methods.
+     */
+    public SampleStats getWait() {
+        return this.wait;
+    }
+
+    public P2Quantile getWaitP50() {
+        return this.p50;
+    }
+
+    public P2Quantile getWaitP90() {
+        return this.p90;
+    }
+
+    public P2Quantile getWaitP99() {
+        return this.p99;
+    }
+
+    public double getElapsedTime() {
+        return this.now;
+    }
+
+    /**
+     * Gives the fraction of time a server spent serving customers.
+     * @param serverID  Identifier of the server.
+     * @return          The fraction, or 0 if no time has passed.
+     */
+    public double getUtilisation(int serverID) {
+        return this.fractionOf(this.busyTime[serverID]);
+    }
+
+    /**
+     * Gives the fraction of time a server spent resting.
+     * @param serverID  Identifier of the server.
+     * @return          The fraction, or 0 if no time has passed.
+     */
+    public double getRestFraction(int serverID) {
+        return this.fractionOf(this.restTime[serverID]);
+    }
+
+    /**
+     * Gives the time-average length of the queue a server serves from, which is the
+     * queue of its pool for a self-checkout counter.
+     * @param serverID  Identifier of the server.
+     * @return          The average length, or 0 if no time has passed.
+     */
+    public double getMeanQueueLength(int serverID) {
+        return this.fractionOf(this.queueArea[this.queueIndex[serverID]]);
+    }
+
+    private double fractionOf(double time) {
+        return this.now > 0 ? time / this.now : 0.0;
+    }
+
+    /**
+     * Describes the statistics, with a line for the waiting times, a line for each
+     * human server and self-checkout counter, and a line for each pool.
+     * @return  String of the statistics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "wait: mean %.3f var %.3f p50 %.3f p90 %.3f p99 %.3f", this.wait.getMean(),
+                this.wait.getVariance(), this.p50.getEstimate(), this.p90.getEstimate(),
+                this.p99.getEstimate()));
+        for (int i = 1; i <= this.humans; i++) {
+            sb.append(String.format("\nserver %d: utilisation %.3f rest %.3f queue %.3f", i,
+                    this.getUtilisation(i), this.getRestFraction(i),
+                    this.getMeanQueueLength(i)));
+        }
+        for (ServerPool pool : this.pools) {
+            int last = pool.getFirstID() + pool.size() - 1;
+            for (int i = pool.getFirstID(); i <= last; i++) {
+                sb.append(String.format("\nself-check %d: utilisation %.3f", i,
+                        this.getUtilisation(i)));
+            }
+            sb.append(String.format("\npool %d to %d: queue %.3f", pool.getFirstID(), last,
+                    this.getMeanQueueLength(pool.getFirstID())));
+        }
+        return sb.toString();
+    }
+
+}
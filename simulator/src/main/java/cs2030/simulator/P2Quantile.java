@@ -0,0 +1,134 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Estimates a quantile of a stream of values in constant memory, by the P-squared algorithm
+ * of Jain and Chlamtac, which keeps five markers whose heights follow the minimum,
+ * the quantile, the maximum and the quantiles half way between them.
+ *
+ * <p>The estimate is exact for up to five values, and the markers are moved by
+ * piecewise-parabolic interpolation after that.</p>
+ */
+public class P2Quantile {
+
+    /**
+     * Immutable field holding the quantile estimated, between 0 and 1.
+     */
+    private final double p;
+
+    /**
+     * Heights, positions, desired positions and increments of desired positions
+     * of the five markers, and the number of values added.
+     */
+    private final double[] heights = new double[5];
+    private final int[] positions = {1, 2, 3, 4, 5};
+    private final double[] desired;
+    private final double[] increments;
+    private long count;
+
+    /**
+     * Initialises the estimator.
+     * @param p     The quantile to estimate, such as 0.9 for the 90th percentile.
+     */
+    public P2Quantile(double p) {
+        if (!(p > 0.0 && p < 1.0)) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1: " + p);
+        }
+        this.p = p;
+        this.desired = new double[] {1, 1 + 2 * p, 1 + 4 * p, 3 + 2 * p, 5};
+        this.increments = new double[] {0, p / 2, p, (1 + p) / 2, 1};
+    }
+
+    /**
+     * Adds a value to the stream.
+     * @param x     The value.
+     */
+    public void add(double x) {
+        if (this.count < 5) {
+            this.heights[(int) this.count] = x;
+            this.count++;
+            if (this.count == 5) {
+                Arrays.sort(this.heights);
+            }
+            return;
+        }
+        this.count++;
+        int k;
+        if (x < this.heights[0]) {
+            this.heights[0] = x;
+            k = 0;
+        } else if (x >= this.heights[4]) {
+            this.heights[4] = x;
+            k = 3;
+        } else {
+            k = 0;
+            while (x >= this.heights[k + 1]) {
+                k++;
+            }
+        }
+        for (int i = k + 1; i < 5; i++) {
+            this.positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            this.desired[i] += this.increments[i];
+        }
+        for (int i = 1; i < 4; i++) {
+            double d = this.desired[i] - this.positions[i];
+            if ((d >= 1 && this.positions[i + 1] - this.positions[i] > 1)
+                    || (d <= -1 && this.positions[i - 1] - this.positions[i] < -1)) {
+                int s = d > 0 ? 1 : -1;
+                double h = this.parabolic(i, s);
+                if (this.heights[i - 1] < h && h < this.heights[i + 1]) {
+                    this.heights[i] = h;
+                } else {
+                    this.heights[i] = this.linear(i, s);
+                }
+                this.positions[i] += s;
+            }
+        }
+    }
+
+    private double parabolic(int i, int s) {
+        double[] q = this.heights;
+        int[] n = this.positions;
+        return q[i] + (double) s / (n[i + 1] - n[i - 1])
+                * ((n[i] - n[i - 1] + s) * (q[i + 1] - q[i]) / (n[i + 1] - n[i])
+                + (n[i + 1] - n[i] - s) * (q[i] - q[i - 1]) / (n[i] - n[i - 1]));
+    }
+
+    private double linear(int i, int s) {
+        return this.heights[i] + s * (this.heights[i + s] - this.heights[i])
+                / (this.positions[i + s] - this.positions[i]);
+    }
+
+    /**
+     * Getter methods.
+     */
+    public double getQuantile() {
+        return this.p;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gives the estimate of the quantile, which for five values or fewer is the value
+     * of nearest rank.
+     * @return      The estimate, or 0 if no value was added.
+     */
+    public double getEstimate() {
+        if (this.count == 0) {
+            return 0.0;
+        }
+        if (this.count <= 5) {
+            double[] sorted = Arrays.copyOf(this.heights, (int) this.count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(this.p * this.count);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+        return this.heights[2];
+    }
+
+}
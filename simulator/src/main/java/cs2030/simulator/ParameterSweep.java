@@ -0,0 +1,85 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a list of simulations in one JVM, on a work-stealing ForkJoinPool, and streams
+ * one CSV row of results per simulation as each one finishes.
+ *
+ * <p>Rows are written in the order simulations finish, and start with the index of the
+ * simulation in the list, so they can be sorted back into order. Each simulation runs
+ * with the servers updated in place, and writes to its own {@link NullSink}, so the
+ * results are those of Main with the same arguments.</p>
+ */
+public class ParameterSweep {
+
+    /**
+     * Header of the CSV file written by {@link #run(Writer)}.
+     */
+    public static final String CSV_HEADER = "index," + RunConfig.CSV_HEADER
+            + ",average_wait,served,left,millis";
+
+    /**
+     * Immutable fields holding the simulations to run and the number of threads.
+     */
+    private final List<RunConfig> configs;
+    private final int parallelism;
+
+    /**
+     * Initialises the sweep.
+     * @param configs       Simulations to run, such as from {@link SweepGrid#configs()}.
+     * @param parallelism   Number of threads to run simulations on.
+     */
+    public ParameterSweep(List<RunConfig> configs, int parallelism) {
+        this.configs = List.copyOf(configs);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs every simulation, writing the header and then a row for each simulation
+     * as soon as it finishes. The writer is flushed after every row.
+     * @param out       Where to write the results.
+     */
+    public void run(Writer out) {
+        write(out, CSV_HEADER + "\n");
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, this.configs.size()).parallel()
+                    .forEach(i -> write(out, this.runOne(i)))).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs one simulation.
+     * @param index     Index of the simulation in the list.
+     * @return          The row of results, ending with a new line.
+     */
+    private String runOne(int index) {
+        RunConfig config = this.configs.get(index);
+        NullSink sink = new NullSink();
+        long start = System.nanoTime();
+        config.toRunner().runInPlace(sink);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return index + "," + config.toCsv() + "," + String.format("%.3f", sink.getAverageWait())
+                + "," + sink.getNumServed() + "," + sink.getNumLeft() + "," + millis + "\n";
+    }
+
+    private static void write(Writer out, String row) {
+        synchronized (out) {
+            try {
+                out.write(row);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package cs2030.simulator;
+
+import java.io.PrintStream;
+
+/**
+ * {@link EventSink} which prints the statistics of a simulation so far at regular
+ * intervals of simulated time, for runs that are long or never end, where the final
+ * statistics come late or not at all.
+ *
+ * <p>Each line gives the time, the statistics of every customer so far in the same
+ * form as the last line of the usual output, and the number of customers still in the
+ * shop, such as "time 100.000: [0.512 95 3] 4 in shop". The line for a time counts
+ * the events before it, and is printed once the first event at or after it is
+ * executed. Only counts are kept, so memory does not grow however long the run.</p>
+ */
+public class PeriodicSummary implements EventSink {
+
+    /**
+     * Immutable fields holding the simulated time between lines, and where to print them.
+     */
+    private final double period;
+    private final PrintStream out;
+
+    /**
+     * Number of lines printed, and the counts of customers so far.
+     */
+    private long numReports;
+    private long numArrived;
+    private long numServed;
+    private long numLeft;
+    private long numDone;
+    private double totalWait;
+
+    /**
+     * Initialises the summary.
+     * @param period    Simulated time between lines, the first of which is at that time.
+     * @param out       Where to print the lines.
+     * @throws IllegalArgumentException if the period is not positive and finite.
+     */
+    public PeriodicSummary(double period, PrintStream out) {
+        if (!(period > 0) || Double.isInfinite(period)) {
+            throw new IllegalArgumentException("period " + period);
+        }
+        this.period = period;
+        this.out = out;
+    }
+
+    @Override
+    public void accept(Event e) {
+    }
+
+    @Override
+    public void accept(EventType type, double time, int customerID, double arrivalTime,
+                       boolean greedy, int serverType, int serverID) {
+    }
+
+    /**
+     * Prints the lines for the times before this event, and counts the customer of the
+     * event if it arrives, is served or leaves.
+     */
+    @Override
+    public void transition(EventType type, EventType nextType, double time,
+                           double arrivalTime, int serverID) {
+        while (time >= this.period * (this.numReports + 1)) {
+            this.numReports++;
+            this.out.println(this.line(this.period * this.numReports));
+        }
+        if (type == EventType.ARRIVE) {
+            this.numArrived++;
+        } else if (type == EventType.SERVE && nextType == EventType.DONE) {
+            this.totalWait += time - arrivalTime;
+            this.numServed++;
+        } else if (type == EventType.LEAVE) {
+            this.numLeft++;
+        } else if (type == EventType.DONE) {
+            this.numDone++;
+        }
+    }
+
+    @Override
+    public void summary(double averageWait, int numServed, int numLeft) {
+    }
+
+    /**
+     * Formats the statistics so far.
+     * @param time      Time of the line.
+     * @return          String of the time, statistics and customers in the shop.
+     */
+    private String line(double time) {
+        double averageWait = this.numServed == 0 ? 0.0 : this.totalWait / this.numServed;
+        return String.format("time %.3f: [%.3f %d %d] %d in shop", time, averageWait,
+                this.numServed, this.numLeft, this.numArrived - this.numDone - this.numLeft);
+    }
+
+}
@@ -0,0 +1,35 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * {@link EventQueue} backed by a java.util.PriorityQueue ordered by {@link EventComparator},
+ * as EventRunner originally kept its events.
+ */
+public class PriorityEventQueue implements EventQueue {
+
+    private final PriorityQueue<Event> queue = new PriorityQueue<>(new EventComparator());
+
+    @Override
+    public void add(Event e) {
+        this.queue.add(e);
+    }
+
+    @Override
+    public Event poll() {
+        return this.queue.remove();
+    }
+
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+
+    @Override
+    public List<Event> toList() {
+        return new ArrayList<>(this.queue);
+    }
+
+}
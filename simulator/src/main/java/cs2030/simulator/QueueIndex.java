@@ -0,0 +1,135 @@
+package cs2030.simulator;
+
+/**
+ * Immutable index over the lengths of the queues of a {@link Shop}, which gives the
+ * shortest queue at once, for greedy customers.
+ *
+ * <p>Queues are kept in a binary tree where each node holds the shortest queue under
+ * it, so changing the length of a queue only copies the nodes on the path down to
+ * it, as in a {@link ServerStore}. Between queues of the same length, the one whose
+ * first server comes first in the shop is taken, so the server found is the first one
+ * with the shortest queue, as when every server is scanned in order.</p>
+ */
+class QueueIndex {
+
+    /**
+     * Immutable fields holding the tree, the number of queues and the position of the
+     * first server of each queue, or -1 for a queue with no servers, which is never
+     * taken.
+     */
+    private final Node root;
+    private final int size;
+    private final int[] firstPosition;
+
+    private QueueIndex(Node root, int size, int[] firstPosition) {
+        this.root = root;
+        this.size = size;
+        this.firstPosition = firstPosition;
+    }
+
+    /**
+     * Builds the index of a list of queues.
+     * @param lengths           Length of each queue.
+     * @param firstPosition     Position of the first server of each queue, or -1 if
+     *                          no server takes customers from it.
+     * @return                  A new QueueIndex.
+     */
+    static QueueIndex of(int[] lengths, int[] firstPosition) {
+        int[] positions = firstPosition.clone();
+        Node root = lengths.length == 0 ? null : build(lengths, positions, 0, lengths.length);
+        return new QueueIndex(root, lengths.length, positions);
+    }
+
+    private static Node build(int[] lengths, int[] positions, int from, int to) {
+        if (to - from == 1) {
+            return leaf(from, lengths[from], positions);
+        }
+        int mid = (from + to) >>> 1;
+        return Node.of(build(lengths, positions, from, mid),
+                build(lengths, positions, mid, to), positions);
+    }
+
+    private static Node leaf(int queue, int length, int[] positions) {
+        return new Node(positions[queue] < 0 ? Integer.MAX_VALUE : length, queue, null, null);
+    }
+
+    /**
+     * Changes the length of a queue, copying only the nodes on its path.
+     * @param queue     Index of the queue.
+     * @param length    The new length of the queue.
+     * @return          An updated index.
+     */
+    QueueIndex update(int queue, int length) {
+        return new QueueIndex(this.update(this.root, 0, this.size, queue, length),
+                this.size, this.firstPosition);
+    }
+
+    private Node update(Node node, int from, int to, int queue, int length) {
+        if (to - from == 1) {
+            return leaf(queue, length, this.firstPosition);
+        }
+        int mid = (from + to) >>> 1;
+        if (queue < mid) {
+            return Node.of(this.update(node.left, from, mid, queue, length), node.right,
+                    this.firstPosition);
+        }
+        return Node.of(node.left, this.update(node.right, mid, to, queue, length),
+                this.firstPosition);
+    }
+
+    /**
+     * Gives the position of the first server of a queue.
+     * @param queue     Index of the queue.
+     * @return          The position, or -1 if no server takes customers from it.
+     */
+    int firstPosition(int queue) {
+        return this.firstPosition[queue];
+    }
+
+    /**
+     * Gives the position of the first server with the shortest queue, if that queue
+     * is shorter than a limit.
+     * @param maxQueue  The limit, such as the maximum length of a queue.
+     * @return          The position of the server, or -1 if every queue is as long as
+     *                  the limit.
+     */
+    int findShortest(int maxQueue) {
+        if (this.root == null || this.root.min >= maxQueue) {
+            return -1;
+        }
+        return this.firstPosition[this.root.queue];
+    }
+
+    /**
+     * Node of the tree, holding the shortest queue under it and its length.
+     */
+    private static class Node {
+
+        private final int min;
+        private final int queue;
+        private final Node left;
+        private final Node right;
+
+        Node(int min, int queue, Node left, Node right) {
+            this.min = min;
+            this.queue = queue;
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * Joins two nodes, taking the shorter queue of the two, or the one whose first
+         * server comes first if they are as long.
+         */
+        static Node of(Node left, Node right, int[] positions) {
+            Node best = left;
+            if (right.min < left.min || (right.min == left.min
+                    && positions[right.queue] < positions[left.queue])) {
+                best = right;
+            }
+            return new Node(best.min, best.queue, left, right);
+        }
+
+    }
+
+}
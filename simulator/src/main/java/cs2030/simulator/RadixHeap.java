@@ -0,0 +1,148 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link EventQueue} kept as a monotone radix heap, which relies on no event being
+ * added before the last event polled.
+ *
+ * <p>The bits of a non-negative double, read as a long, grow with the double, so
+ * start times are used as 64-bit keys. Bucket 0 holds events at the same time as the
+ * last event polled, and bucket b holds events whose key first differs from that time
+ * at bit b - 1, counting from the lowest bit. Each event only moves down the buckets,
+ * so is moved at most 64 times. Events at the same time are polled in order of customer
+ * ID, as {@link EventComparator} orders them.</p>
+ */
+public class RadixHeap implements EventQueue {
+
+    /**
+     * Number of buckets, one for each bit of a key and one for equal keys.
+     */
+    private static final int BUCKETS = 65;
+
+    /**
+     * Events in each bucket, the number in each bucket, and the key of the last event polled.
+     */
+    private final Event[][] buckets;
+    private final int[] counts;
+    private long last;
+    private int size;
+
+    /**
+     * Initialises an empty heap, where the last time polled is 0.
+     */
+    public RadixHeap() {
+        this.buckets = new Event[BUCKETS][];
+        this.counts = new int[BUCKETS];
+        this.last = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gives the key of a time, where adding 0.0 turns -0.0 into 0.0.
+     */
+    private static long keyOf(double time) {
+        return Double.doubleToLongBits(time + 0.0);
+    }
+
+    private int bucketOf(long key) {
+        return key == this.last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ this.last);
+    }
+
+    @Override
+    public void add(Event e) {
+        long key = keyOf(e.eventStartTime());
+        if (Long.compareUnsigned(key, this.last) < 0) {
+            throw new IllegalArgumentException("event at " + e.eventStartTime()
+                    + " is before the last event polled");
+        }
+        this.put(this.bucketOf(key), e);
+        this.size++;
+    }
+
+    private void put(int b, Event e) {
+        if (this.buckets[b] == null) {
+            this.buckets[b] = new Event[16];
+        } else if (this.counts[b] == this.buckets[b].length) {
+            this.buckets[b] = Arrays.copyOf(this.buckets[b], this.counts[b] * 2);
+        }
+        this.buckets[b][this.counts[b]++] = e;
+    }
+
+    @Override
+    public Event poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        if (this.counts[0] == 0) {
+            this.redistribute();
+        }
+        //every event in bucket 0 is at the same time, so take the smallest customer ID
+        Event[] equal = this.buckets[0];
+        int n = this.counts[0];
+        int first = 0;
+        for (int i = 1; i < n; i++) {
+            if (equal[i].getCustomer().getCustomerID()
+                    < equal[first].getCustomer().getCustomerID()) {
+                first = i;
+            }
+        }
+        Event e = equal[first];
+        equal[first] = equal[n - 1];
+        equal[n - 1] = null;
+        this.counts[0] = n - 1;
+        this.size--;
+        return e;
+    }
+
+    /**
+     * Lists the events of every bucket, without polling them, as adding a polled event
+     * back would put it before the last key.
+     * @return      The events, in no particular order.
+     */
+    @Override
+    public List<Event> toList() {
+        List<Event> res = new ArrayList<>(this.size);
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int i = 0; i < this.counts[b]; i++) {
+                res.add(this.buckets[b][i]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Moves the events of the first non-empty bucket down, after making the smallest
+     * key among them the last key, so that bucket 0 is no longer empty.
+     */
+    private void redistribute() {
+        int b = 1;
+        while (this.counts[b] == 0) {
+            b++;
+        }
+        Event[] events = this.buckets[b];
+        int n = this.counts[b];
+        long min = keyOf(events[0].eventStartTime());
+        for (int i = 1; i < n; i++) {
+            long key = keyOf(events[i].eventStartTime());
+            if (Long.compareUnsigned(key, min) < 0) {
+                min = key;
+            }
+        }
+        this.last = min;
+        this.counts[b] = 0;
+        for (int i = 0; i < n; i++) {
+            this.put(this.bucketOf(keyOf(events[i].eventStartTime())), events[i]);
+            events[i] = null;
+        }
+    }
+
+}
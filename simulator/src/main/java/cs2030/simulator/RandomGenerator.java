@@ -0,0 +1,124 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class RandomGenerator {
+    /**
+     * Number of streams drawn from, which take the base seed + 0 to 5 in
+     * {@link RandomMode#EXACT}.
+     */
+    static final int NUM_STREAMS = 6;
+
+    /**
+     * Kernel named by the system property {@value ExpKernel#PROPERTY}, looked up once.
+     */
+    private static final ExpKernel KERNEL = ExpKernel.fromProperty();
+
+    private final VariateBuffer rngArrival;
+    private final VariateBuffer rngService;
+    private final VariateBuffer rngRest;
+    private final VariateBuffer rngRestPeriod;
+    private final RandomStream rngTimeoutPeriod;
+    private final VariateBuffer rngCustomerType;
+    private final ExpKernel kernel;
+
+    RandomGenerator(int var1, double var2, double var4, double var6) {
+        this(var1, var2, var4, var6, RandomMode.EXACT);
+    }
+
+    RandomGenerator(int var1, double var2, double var4, double var6, RandomMode mode) {
+        this(var1, var2, var4, var6, mode, KERNEL);
+    }
+
+    /**
+     * Each stream is drawn ahead into a {@link VariateBuffer}, in the order it is drawn
+     * from one by one, so the same times come out; with {@link ExpKernel#SCALAR} they
+     * are the same to the last bit.
+     */
+    RandomGenerator(int var1, double var2, double var4, double var6, RandomMode mode,
+                    ExpKernel kernel) {
+        RandomStream[] streams = mode.streams(var1, NUM_STREAMS);
+        this.rngArrival = VariateBuffer.exponential(streams[0], var2, kernel);
+        this.rngService = VariateBuffer.exponential(streams[1], var4, kernel);
+        this.rngRest = VariateBuffer.uniform(streams[2]);
+        this.rngRestPeriod = VariateBuffer.exponential(streams[3], var6, kernel);
+        this.rngCustomerType = VariateBuffer.uniform(streams[4]);
+        this.rngTimeoutPeriod = streams[5];
+        this.kernel = kernel;
+    }
+
+    /**
+     * Initialises a generator that draws from the same streams as another, for a
+     * subclass that decides itself which variate of a stream each draw gets.
+     * @param random    Generator whose streams are drawn from.
+     */
+    RandomGenerator(RandomGenerator random) {
+        this.rngArrival = random.rngArrival;
+        this.rngService = random.rngService;
+        this.rngRest = random.rngRest;
+        this.rngRestPeriod = random.rngRestPeriod;
+        this.rngCustomerType = random.rngCustomerType;
+        this.rngTimeoutPeriod = random.rngTimeoutPeriod;
+        this.kernel = random.kernel;
+    }
+
+    /**
+     * Getter method.
+     * @return  The kernel computing the exponential variates.
+     */
+    ExpKernel getKernel() {
+        return this.kernel;
+    }
+
+    /**
+     * Writes the position of every stream, with the variates drawn ahead and not yet
+     * used, for a {@link Checkpoint}.
+     * @param out       Where to write the state.
+     * @throws IOException if the state cannot be written.
+     */
+    void save(DataOutput out) throws IOException {
+        this.rngArrival.save(out);
+        this.rngService.save(out);
+        this.rngRest.save(out);
+        this.rngRestPeriod.save(out);
+        this.rngCustomerType.save(out);
+        this.rngTimeoutPeriod.save(out);
+    }
+
+    /**
+     * Sets every stream to the position written by {@link #save}, so this generator
+     * goes on to draw exactly what the saved one would have.
+     * @param in        Where to read the state.
+     * @throws IOException if the state cannot be read.
+     */
+    void restore(DataInput in) throws IOException {
+        this.rngArrival.restore(in);
+        this.rngService.restore(in);
+        this.rngRest.restore(in);
+        this.rngRestPeriod.restore(in);
+        this.rngCustomerType.restore(in);
+        this.rngTimeoutPeriod.restore(in);
+    }
+
+    double genInterArrivalTime() {
+        return this.rngArrival.next();
+    }
+
+    double genServiceTime() {
+        return this.rngService.next();
+    }
+
+    double genRandomRest() {
+        return this.rngRest.next();
+    }
+
+    double genRestPeriod() {
+        return this.rngRestPeriod.next();
+    }
+
+    double genCustomerType() {
+        return this.rngCustomerType.next();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package cs2030.simulator;
+
+/**
+ * Kinds of {@link RandomStream} that a {@link RandomGenerator} can draw from.
+ *
+ * <p>EXACT gives exactly the numbers of java.util.Random, seeded as the streams of
+ * RandomGenerator always were, so the output of every simulation stays the same.
+ * FAST splits every stream from one {@link SplittableStream} seeded with the base seed,
+ * as from a java.util.SplittableRandom, so runs are reproducible for a seed but differ
+ * from those of EXACT.</p>
+ */
+public enum RandomMode {
+
+    EXACT {
+        @Override
+        RandomStream[] streams(int seed, int count) {
+            RandomStream[] streams = new RandomStream[count];
+            for (int i = 0; i < count; i++) {
+                //the i-th stream is seeded with the base seed + i, added as ints
+                streams[i] = new JavaRandomStream((long) (seed + i));
+            }
+            return streams;
+        }
+    },
+    FAST {
+        @Override
+        RandomStream[] streams(int seed, int count) {
+            SplittableStream root = new SplittableStream(seed);
+            RandomStream[] streams = new RandomStream[count];
+            for (int i = 0; i < count; i++) {
+                streams[i] = root.split();
+            }
+            return streams;
+        }
+    };
+
+    /**
+     * Creates independent streams, in a fixed order for each seed.
+     * @param seed      Base seed of the streams.
+     * @param count     Number of streams.
+     * @return          The streams.
+     */
+    abstract RandomStream[] streams(int seed, int count);
+
+}
@@ -0,0 +1,43 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * One independent stream of uniform random numbers, such as the arrival or service
+ * stream of a {@link RandomGenerator}. Streams are used by one simulation at a time,
+ * so they need no synchronisation.
+ */
+public interface RandomStream {
+
+    /**
+     * Draws the next number of the stream.
+     * @return  A number uniformly distributed in [0, 1).
+     */
+    double nextDouble();
+
+    /**
+     * Writes the state of the stream, for a {@link Checkpoint}.
+     * @param out       Where to write the state.
+     * @throws IOException if the state cannot be written.
+     * @throws UnsupportedOperationException if the stream cannot save its state.
+     */
+    default void save(DataOutput out) throws IOException {
+        throw new UnsupportedOperationException(this.getClass().getName()
+                + " cannot be checkpointed");
+    }
+
+    /**
+     * Sets the state of the stream to one written by {@link #save}, so it goes on to
+     * draw the numbers it would have drawn then.
+     * @param in        Where to read the state.
+     * @throws IOException if the state cannot be read.
+     * @throws UnsupportedOperationException if the stream cannot restore its state.
+     */
+    default void restore(DataInput in) throws IOException {
+        throw new UnsupportedOperationException(this.getClass().getName()
+                + " cannot be checkpointed");
+    }
+
+}
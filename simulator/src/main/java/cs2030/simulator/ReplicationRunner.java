@@ -0,0 +1,76 @@
+package cs2030.simulator;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs independent replications of a simulation, one for each of a range of seeds,
+ * in parallel on a ForkJoinPool, and sums up their statistics.
+ *
+ * <p>Each replication runs its own {@link EventRunner}, which creates its own
+ * {@link RandomGenerator} and servers, and writes to its own {@link NullSink}, so
+ * replications share no mutable state. The statistics of each replication are exactly
+ * those of a sequential run with the same seed, and are summed up in order of seed,
+ * so the summary does not depend on the number of threads.</p>
+ */
+public class ReplicationRunner {
+
+    /**
+     * Immutable fields describing the replications to run.
+     */
+    private final EventRunner runner;
+    private final int firstSeed;
+    private final int replications;
+    private final int parallelism;
+
+    /**
+     * Initialises the runner.
+     * @param runner        The simulation to replicate, whose seed is replaced.
+     * @param firstSeed     Seed of the first replication, where replication i has
+     *                      seed firstSeed + i.
+     * @param replications  Number of replications.
+     * @param parallelism   Number of threads to run replications on.
+     * @throws UnsupportedOperationException if the runner has a steady-state estimator,
+     *                      which replications would share.
+     */
+    public ReplicationRunner(EventRunner runner, int firstSeed, int replications,
+                             int parallelism) {
+        runner.requireNoSteadyState();
+        this.runner = runner;
+        this.firstSeed = firstSeed;
+        this.replications = replications;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs every replication, with the servers updated in place.
+     * @return      Statistics of each replication, in order of seed.
+     */
+    public List<NullSink> runAll() {
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            return pool.submit(() -> IntStream.range(0, this.replications).parallel()
+                    .mapToObj(i -> this.replicate(this.firstSeed + i))
+                    .collect(Collectors.toList())).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs every replication and sums up their statistics.
+     * @return      The summary of the replications.
+     */
+    public ReplicationSummary run() {
+        return ReplicationSummary.of(this.firstSeed, this.runAll());
+    }
+
+    private NullSink replicate(int seed) {
+        NullSink sink = new NullSink();
+        this.runner.withSeed(seed).runInPlace(sink);
+        return sink;
+    }
+
+}
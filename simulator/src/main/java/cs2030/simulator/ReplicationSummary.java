@@ -0,0 +1,76 @@
+package cs2030.simulator;
+
+import java.util.List;
+
+/**
+ * Summary of the replications run by a {@link ReplicationRunner}, with the mean,
+ * variance and 95% confidence interval of each statistic across replications.
+ */
+public class ReplicationSummary {
+
+    /**
+     * Immutable fields holding the seeds and statistics of the replications.
+     */
+    private final int firstSeed;
+    private final int replications;
+    private final SampleStats averageWait;
+    private final SampleStats numServed;
+    private final SampleStats numLeft;
+
+    private ReplicationSummary(int firstSeed, int replications, SampleStats averageWait,
+                               SampleStats numServed, SampleStats numLeft) {
+        this.firstSeed = firstSeed;
+        this.replications = replications;
+        this.averageWait = averageWait;
+        this.numServed = numServed;
+        this.numLeft = numLeft;
+    }
+
+    /**
+     * Sums up the statistics of replications, in the order given.
+     * @param firstSeed     Seed of the first replication.
+     * @param results       Statistics of each replication, in order of seed.
+     * @return              A new ReplicationSummary.
+     */
+    public static ReplicationSummary of(int firstSeed, List<NullSink> results) {
+        SampleStats averageWait = new SampleStats();
+        SampleStats numServed = new SampleStats();
+        SampleStats numLeft = new SampleStats();
+        for (NullSink result : results) {
+            averageWait.add(result.getAverageWait());
+            numServed.add(result.getNumServed());
+            numLeft.add(result.getNumLeft());
+        }
+        return new ReplicationSummary(firstSeed, results.size(), averageWait, numServed,
+                numLeft);
+    }
+
+    /**
+     * Getter methods.
+     */
+    public int getReplications() {
+        return this.replications;
+    }
+
+    public SampleStats getAverageWait() {
+        return this.averageWait;
+    }
+
+    public SampleStats getNumServed() {
+        return this.numServed;
+    }
+
+    public SampleStats getNumLeft() {
+        return this.numLeft;
+    }
+
+    @Override
+    public String toString() {
+        return "replications " + this.replications + ", seeds " + this.firstSeed + " to "
+                + (this.firstSeed + this.replications - 1)
+                + "\naverage wait: " + this.averageWait
+                + "\nnumber served: " + this.numServed
+                + "\nnumber left: " + this.numLeft;
+    }
+
+}
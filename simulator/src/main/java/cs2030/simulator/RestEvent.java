@@ -0,0 +1,43 @@
+package cs2030.simulator;
+
+/**
+ * This event represents a server resting, after {@link DoneEvent}.
+ */
+public class RestEvent extends Event {
+
+    /**
+     * Immutable field here, the duration of rest added to the server when executed.
+     */
+    private final double restTime;
+
+    /**
+     * Constructor that initialises the rest event of a server.
+     * @param c         Customer's ID used in selecting priority in EventRunner.
+     * @param serverID  Identifier of resting server.
+     * @param restTime  The duration of rest.
+     */
+    public RestEvent(Customer c, int serverID, double restTime) {
+        super(c, c.serviceStarts(), EventType.REST, serverID);
+        this.restTime = restTime;
+    }
+
+    @Override
+    Pair<Shop, Event> execute(Shop x) {
+        //add the generated rest time to the server, then go to the server_back event
+        Server s = x.get(this.getServerID());
+        Server v = s.of(s.getServerIdentifier(), false, true,
+                s.getNextAvailTime() + this.restTime,
+                s.getCustomersInQueue(), s.getRand());
+        return Pair.of(x.replace(v),
+                new BackEvent(this.getCustomer(), this.getServerID(), v.getNextAvailTime()));
+    }
+
+    /**
+     * Getter method.
+     * @return  The duration of rest.
+     */
+    public double getRestTime() {
+        return this.restTime;
+    }
+
+}
@@ -0,0 +1,223 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * How a {@link MultiShopRunner} routes each customer of one stream of arrivals to one
+ * of several shops.
+ *
+ * <p>Whatever the policy, which shop a customer goes to does not depend on when the
+ * customer arrives, so the customers of each shop arrive as a stream of their own,
+ * which can be generated by the shop alone. Under {@link #weighted} and {@link #hashed}
+ * routing, a shop given a share p of the customers sees arrivals at rate p times
+ * lambda. Under {@link #roundRobin} routing over k shops, each shop gets every k-th
+ * customer, so k inter-arrival times pass between two of its customers.</p>
+ */
+public abstract class RoutingPolicy {
+
+    private RoutingPolicy() {
+    }
+
+    /**
+     * Routes customers to shops at random, in proportion to given weights, one weight
+     * for each shop.
+     * @param weights   Weight of each shop, none negative and not all 0.
+     * @return          The policy.
+     * @throws IllegalArgumentException if the weights are not as above.
+     */
+    public static RoutingPolicy weighted(double... weights) {
+        double total = Arrays.stream(weights).sum();
+        if (Arrays.stream(weights).anyMatch(x -> !(x >= 0)) || !(total > 0)) {
+            throw new IllegalArgumentException("bad weights " + Arrays.toString(weights));
+        }
+        return new Weighted(weights.clone(), total);
+    }
+
+    /**
+     * Routes customers to shops in turn, so customer i goes to shop (i - 1) % k.
+     * @return          The policy.
+     */
+    public static RoutingPolicy roundRobin() {
+        return new RoundRobin();
+    }
+
+    /**
+     * Routes each customer to a shop by a hash of his/her ID, so the same customer
+     * always goes to the same shop, for any seed.
+     * @return          The policy.
+     */
+    public static RoutingPolicy hashed() {
+        return new Hashed();
+    }
+
+    /**
+     * Finds a policy by name, which is "round-robin", "hashed", or "weighted:" followed
+     * by the weights, separated by commas, such as "weighted:2,1,1".
+     * @param name      Name of the policy.
+     * @return          The policy.
+     * @throws IllegalArgumentException if there is no such policy.
+     */
+    public static RoutingPolicy forName(String name) {
+        if (name.equals("round-robin")) {
+            return roundRobin();
+        } else if (name.equals("hashed")) {
+            return hashed();
+        } else if (name.startsWith("weighted:")) {
+            return weighted(Arrays.stream(name.substring("weighted:".length()).split(","))
+                    .mapToDouble(Double::parseDouble).toArray());
+        }
+        throw new IllegalArgumentException("no routing policy " + name);
+    }
+
+    /**
+     * Checks that the policy can route to a number of shops.
+     * @param numOfShops    Number of shops.
+     * @throws IllegalArgumentException if it cannot.
+     */
+    void check(int numOfShops) {
+        if (numOfShops < 1) {
+            throw new IllegalArgumentException("no shops to route to");
+        }
+    }
+
+    /**
+     * Gives the shop a customer goes to.
+     * @param customerID    ID of the customer, from 1 in order of arrival.
+     * @param numOfShops    Number of shops.
+     * @param stream        Stream to draw from, for policies which route at random.
+     * @return              Index of the shop, from 0.
+     */
+    abstract int route(int customerID, int numOfShops, RandomStream stream);
+
+    /**
+     * Gives the fraction of the arrival rate that each inter-arrival time at a shop is
+     * drawn with.
+     * @param shop          Index of the shop.
+     * @param numOfShops    Number of shops.
+     * @return              The fraction.
+     */
+    double rateShare(int shop, int numOfShops) {
+        return 1.0 / numOfShops;
+    }
+
+    /**
+     * Gives the number of inter-arrival times between two customers of a shop.
+     * @param numOfShops    Number of shops.
+     * @return              The number of inter-arrival times.
+     */
+    int phases(int numOfShops) {
+        return 1;
+    }
+
+    /**
+     * Gives the number of inter-arrival times before the first customer of a shop.
+     * @param shop          Index of the shop.
+     * @return              The number of inter-arrival times.
+     */
+    int firstPhases(int shop) {
+        return 0;
+    }
+
+    /**
+     * Routing in proportion to weights.
+     */
+    private static class Weighted extends RoutingPolicy {
+
+        private final double[] weights;
+        private final double total;
+
+        Weighted(double[] weights, double total) {
+            this.weights = weights;
+            this.total = total;
+        }
+
+        @Override
+        void check(int numOfShops) {
+            if (numOfShops != this.weights.length) {
+                throw new IllegalArgumentException(this.weights.length + " weights for "
+                        + numOfShops + " shops");
+            }
+        }
+
+        @Override
+        int route(int customerID, int numOfShops, RandomStream stream) {
+            double u = stream.nextDouble() * this.total;
+            int last = numOfShops - 1;
+            for (int i = 0; i < last; i++) {
+                u -= this.weights[i];
+                if (u < 0) {
+                    return i;
+                }
+            }
+            return last;
+        }
+
+        @Override
+        double rateShare(int shop, int numOfShops) {
+            return this.weights[shop] / this.total;
+        }
+
+        @Override
+        public String toString() {
+            return "weighted" + Arrays.toString(this.weights);
+        }
+
+    }
+
+    /**
+     * Routing in turn.
+     */
+    private static class RoundRobin extends RoutingPolicy {
+
+        @Override
+        int route(int customerID, int numOfShops, RandomStream stream) {
+            return (customerID - 1) % numOfShops;
+        }
+
+        @Override
+        double rateShare(int shop, int numOfShops) {
+            return 1.0;
+        }
+
+        @Override
+        int phases(int numOfShops) {
+            return numOfShops;
+        }
+
+        @Override
+        int firstPhases(int shop) {
+            return shop;
+        }
+
+        @Override
+        public String toString() {
+            return "round-robin";
+        }
+
+    }
+
+    /**
+     * Routing by a hash of the customer ID.
+     */
+    private static class Hashed extends RoutingPolicy {
+
+        @Override
+        int route(int customerID, int numOfShops, RandomStream stream) {
+            //the finaliser of MurmurHash3, which spreads consecutive IDs over all bits
+            int h = customerID;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return Integer.remainderUnsigned(h, numOfShops);
+        }
+
+        @Override
+        public String toString() {
+            return "hashed";
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+package cs2030.simulator;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The parameters of one simulation, as given to Main, which can create the
+ * {@link EventRunner} for them, and describe them as a row of a CSV file.
+ */
+public class RunConfig {
+
+    /**
+     * Header of the CSV columns written by {@link #toCsv()}.
+     */
+    public static final String CSV_HEADER = "seed,servers,self_checkout,max_queue,customers,"
+            + "lambda,miu,rho,prob_rest,prob_greedy";
+
+    /**
+     * Immutable fields holding the parameters, named as in EventRunner.
+     */
+    private final int seed;
+    private final int numOfServers;
+    private final List<Integer> selfCheckoutPools;
+    private final int maxQueue;
+    private final int numOfCustomers;
+    private final double lambda;
+    private final double miu;
+    private final double rho;
+    private final double probRest;
+    private final double probGreedy;
+
+    /**
+     * Initialises the parameters of a simulation.
+     * @param seed              Base seed for the RandomGenerator
+     * @param numOfServers      Number of human servers
+     * @param selfCheckoutPools Number of counters in each pool of self-checkout counters
+     * @param maxQueue          Maximum queue length for all servers and pools
+     * @param numOfCustomers    Number of customers that will be arriving
+     * @param lambda            Arrival rate of customers
+     * @param miu               Serving rate of servers
+     * @param rho               Resting rate of servers
+     * @param probRest          Probability that a server rests after serving
+     * @param probGreedy        Probability that an arriving customer is greedy
+     */
+    public RunConfig(int seed, int numOfServers, List<Integer> selfCheckoutPools, int maxQueue,
+                     int numOfCustomers, double lambda, double miu, double rho,
+                     double probRest, double probGreedy) {
+        this.seed = seed;
+        this.numOfServers = numOfServers;
+        this.selfCheckoutPools = List.copyOf(selfCheckoutPools);
+        this.maxQueue = maxQueue;
+        this.numOfCustomers = numOfCustomers;
+        this.lambda = lambda;
+        this.miu = miu;
+        this.rho = rho;
+        this.probRest = probRest;
+        this.probGreedy = probGreedy;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public int getSeed() {
+        return this.seed;
+    }
+
+    public int getNumOfServers() {
+        return this.numOfServers;
+    }
+
+    public List<Integer> getSelfCheckoutPools() {
+        return this.selfCheckoutPools;
+    }
+
+    public int getMaxQueue() {
+        return this.maxQueue;
+    }
+
+    public int getNumOfCustomers() {
+        return this.numOfCustomers;
+    }
+
+    public double getLambda() {
+        return this.lambda;
+    }
+
+    public double getMiu() {
+        return this.miu;
+    }
+
+    public double getRho() {
+        return this.rho;
+    }
+
+    public double getProbRest() {
+        return this.probRest;
+    }
+
+    public double getProbGreedy() {
+        return this.probGreedy;
+    }
+
+    /**
+     * Creates the EventRunner for these parameters.
+     * @return  a new EventRunner
+     */
+    public EventRunner toRunner() {
+        return new EventRunner(this.numOfCustomers, this.numOfServers, this.seed, this.lambda,
+                this.miu, this.rho, this.maxQueue, this.probRest, this.probGreedy,
+                this.selfCheckoutPools);
+    }
+
+    /**
+     * Describes the parameters as CSV columns, in the order of {@link #CSV_HEADER}.
+     * Pools of self-checkout counters are separated by ";".
+     * @return  The parameters, separated by commas.
+     */
+    public String toCsv() {
+        return this.seed + "," + this.numOfServers + ","
+                + this.selfCheckoutPools.stream().map(String::valueOf)
+                        .collect(Collectors.joining(";"))
+                + "," + this.maxQueue + "," + this.numOfCustomers + "," + this.lambda + ","
+                + this.miu + "," + this.rho + "," + this.probRest + "," + this.probGreedy;
+    }
+
+    /**
+     * Checks whether two configs hold the same parameters.
+     * @param obj   The other object.
+     * @return      True if obj is a RunConfig with the same parameters.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RunConfig)) {
+            return false;
+        }
+        RunConfig other = (RunConfig) obj;
+        return this.seed == other.seed && this.numOfServers == other.numOfServers
+                && this.selfCheckoutPools.equals(other.selfCheckoutPools)
+                && this.maxQueue == other.maxQueue
+                && this.numOfCustomers == other.numOfCustomers
+                && Double.compare(this.lambda, other.lambda) == 0
+                && Double.compare(this.miu, other.miu) == 0
+                && Double.compare(this.rho, other.rho) == 0
+                && Double.compare(this.probRest, other.probRest) == 0
+                && Double.compare(this.probGreedy, other.probGreedy) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.seed, this.numOfServers, this.selfCheckoutPools,
+                this.maxQueue, this.numOfCustomers, this.lambda, this.miu, this.rho,
+                this.probRest, this.probGreedy);
+    }
+
+    @Override
+    public String toString() {
+        return this.toCsv();
+    }
+
+}
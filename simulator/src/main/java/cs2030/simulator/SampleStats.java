@@ -0,0 +1,113 @@
+package cs2030.simulator;
+
+/**
+ * Accumulates the mean and variance of a sample in one pass, by Welford's method,
+ * and gives a 95% confidence interval for the mean, from Student's t-distribution.
+ *
+ * <p>Values are added one at a time, so the same values added in the same order always
+ * give exactly the same results.</p>
+ */
+public class SampleStats {
+
+    /**
+     * Two-sided 95% quantiles of the t-distribution for 1 to 30 degrees of freedom.
+     */
+    private static final double[] T_975 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    /**
+     * 97.5% quantile of the standard normal distribution.
+     */
+    private static final double Z_975 = 1.959964;
+
+    /**
+     * Running count, mean and sum of squared differences from the mean.
+     */
+    private long count;
+    private double mean;
+    private double m2;
+
+    /**
+     * Adds a value to the sample.
+     * @param x     The value.
+     */
+    public void add(double x) {
+        this.count++;
+        double delta = x - this.mean;
+        this.mean += delta / this.count;
+        this.m2 += delta * (x - this.mean);
+    }
+
+    /**
+     * Adds every value of another sample to this one, by the pairwise update of Chan
+     * et al., without needing the values themselves. The other sample is unchanged.
+     * @param other     The other sample.
+     */
+    public void merge(SampleStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = this.count + other.count;
+        double delta = other.mean - this.mean;
+        this.m2 += other.m2 + delta * delta * ((double) this.count * other.count / total);
+        this.mean += delta * other.count / total;
+        this.count = total;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Gives the sample variance, which divides by count - 1.
+     * @return      The variance, or 0 for fewer than 2 values.
+     */
+    public double getVariance() {
+        return this.count > 1 ? this.m2 / (this.count - 1) : 0.0;
+    }
+
+    /**
+     * Gives the half-width of the 95% confidence interval for the mean.
+     * @return      The half-width, or 0 for fewer than 2 values.
+     */
+    public double getHalfWidth() {
+        if (this.count < 2) {
+            return 0.0;
+        }
+        return tQuantile(this.count - 1) * Math.sqrt(this.getVariance() / this.count);
+    }
+
+    /**
+     * Gives the 97.5% quantile of the t-distribution, from a table for up to 30 degrees
+     * of freedom, and from the Cornish-Fisher expansion about the normal beyond that.
+     * @param df    Degrees of freedom.
+     * @return      The quantile.
+     */
+    static double tQuantile(long df) {
+        if (df <= T_975.length) {
+            return T_975[(int) df - 1];
+        }
+        double z = Z_975;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4.0 * df) + (5 * z5 + 16 * z3 + 3 * z) / (96.0 * df * df);
+    }
+
+    @Override
+    public String toString() {
+        double halfWidth = this.getHalfWidth();
+        return String.format("mean %.3f var %.3f 95%% CI [%.3f, %.3f]", this.mean,
+                this.getVariance(), this.mean - halfWidth, this.mean + halfWidth);
+    }
+
+}
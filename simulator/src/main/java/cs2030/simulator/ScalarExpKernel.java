@@ -0,0 +1,21 @@
+package cs2030.simulator;
+
+/**
+ * {@link ExpKernel} computing -Math.log(u) / rate one value at a time, which gives the
+ * same variates as drawing them one by one.
+ */
+class ScalarExpKernel implements ExpKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void exponential(double[] values, int length, double rate) {
+        for (int i = 0; i < length; i++) {
+            values[i] = -Math.log(values[i]) / rate;
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package cs2030.simulator;
+
+/**
+ * An event where a customer gets served.
+ */
+public class ServeEvent extends Event {
+
+    /**
+     * Initialises the Service Event. Executing this Event should make the server busy
+     * until the customer is done.
+     * @param customer         Customer to serve
+     * @param serverID         the identity of the serving server
+     *                         which comes from either ARRIVE or
+     *                         WAIT events
+     */
+    public ServeEvent(Customer customer, int serverID) { 
+        super(customer, customer.serviceStarts(), EventType.SERVE, serverID);
+    }
+
+    @Override
+    Pair<Shop, Event> execute(Shop x) {
+        Customer customer = this.getCustomer();
+        int serverID = this.getServerID();
+        Server s  = x.get(serverID);
+        /* have a check to see if server can serve, if can serve then go to serve,
+        else the server was taken at the same time, so wait in its queue until
+        it is available again
+         */
+        if (s.isResting() || !s.isAvailable()) {
+            return Pair.of(x.enqueue(serverID, customer), new EndEvent(customer));
+        } else {
+            //the customer has already left the queue of the server, if he/she waited
+            double timeStart = customer.serviceStarts();
+            double serveTime = s.getRand().get().genServiceTime();
+            double doneTime = serveTime + timeStart;
+            Customer c = customer.freeze(doneTime);
+            Server n = s.of(serverID, false, false, doneTime,
+                    s.getCustomersInQueue(), s.getRand());
+            return Pair.of(x.replace(n), new DoneEvent(c, serverID));
+        }
+    }
+
+    @Override
+    public String toString() {
+        Customer customer = this.getCustomer();
+        String type = "server ";
+        String greedy = "";
+        if (customer.getServerType() == 1) {
+            type = "self-check ";
+        }
+        if (customer.isGreedy()) {
+            greedy = "(greedy)";
+        }
+        return String.format("%.3f", super.eventStartTime()) + " " +
+                    customer.getCustomerID() + greedy + " served by " + type
+                    + this.getServerID();
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Set of server positions, one bit each in an array of longs, which gives the lowest
+ * position in the set in O(k/64) time for k servers.
+ *
+ * <p>The mutable engines change a set in place with {@link #set}, while a
+ * {@link Shop} uses {@link #with}, which copies the words and leaves the set
+ * unchanged.</p>
+ */
+class ServerBitSet {
+
+    /**
+     * Words of the set, where position i is bit i % 64 of word i / 64.
+     */
+    private final long[] words;
+
+    /**
+     * Initialises an empty set.
+     * @param size      Number of positions the set can hold.
+     */
+    ServerBitSet(int size) {
+        this.words = new long[(size + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    private ServerBitSet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Checks whether a position is in the set.
+     * @param i     The position.
+     * @return      True if the position is in the set.
+     */
+    boolean get(int i) {
+        return (this.words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Adds a position to, or removes it from, the set in place.
+     * @param i         The position.
+     * @param value     Whether the position is in the set.
+     */
+    void set(int i, boolean value) {
+        if (value) {
+            this.words[i >>> 6] |= 1L << i;
+        } else {
+            this.words[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * Gives a set with a position added or removed, leaving this set unchanged.
+     * @param i         The position.
+     * @param value     Whether the position is in the set.
+     * @return          This set if it is unchanged, or else an updated copy.
+     */
+    ServerBitSet with(int i, boolean value) {
+        if (this.get(i) == value) {
+            return this;
+        }
+        ServerBitSet copy = new ServerBitSet(Arrays.copyOf(this.words, this.words.length));
+        copy.set(i, value);
+        return copy;
+    }
+
+    /**
+     * Gives the lowest position in the set.
+     * @return      The position, or -1 if the set is empty.
+     */
+    int first() {
+        for (int w = 0; w < this.words.length; w++) {
+            if (this.words[w] != 0) {
+                return w * Long.SIZE + Long.numberOfTrailingZeros(this.words[w]);
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,105 @@
+package cs2030.simulator;
+
+import java.util.List;
+
+/**
+ * A pool of counters in a {@link Shop} which share one queue of waiting customers,
+ * such as a bank of {@link SelfCheckout} counters or a set of express lanes.
+ *
+ * <p>Counters in a pool have consecutive server IDs. A customer waiting for a pool
+ * is served by whichever counter in the pool is done first.</p>
+ */
+public class ServerPool {
+
+    /**
+     * Immutable fields describing the counters in the pool and its shared queue.
+     */
+    private final int firstID;
+    private final int size;
+    private final ImmutableQueue<Customer> waiting;
+
+    /**
+     * Initialises a pool with an empty queue.
+     * @param firstID   Server ID of the first counter in the pool.
+     * @param size      Number of counters in the pool.
+     */
+    public ServerPool(int firstID, int size) {
+        this(firstID, size, ImmutableQueue.empty());
+    }
+
+    /**
+     * Initialises a pool.
+     * @param firstID   Server ID of the first counter in the pool.
+     * @param size      Number of counters in the pool.
+     * @param waiting   Customers waiting for the pool, in order of arrival.
+     */
+    private ServerPool(int firstID, int size, ImmutableQueue<Customer> waiting) {
+        this.firstID = firstID;
+        this.size = size;
+        this.waiting = waiting;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public int getFirstID() {
+        return this.firstID;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int getQueueLength() {
+        return this.waiting.size();
+    }
+
+    /**
+     * Gives the customer who has waited longest for the pool.
+     * @return      The customer at the front of the queue, or null if no one is waiting.
+     */
+    public Customer peek() {
+        return this.waiting.peek();
+    }
+
+    /**
+     * Lists the customers waiting for the pool.
+     * @return      The customers, from the one who has waited longest.
+     */
+    public List<Customer> getWaiting() {
+        return this.waiting.toList();
+    }
+
+    /**
+     * Checks whether a server is one of the counters in this pool.
+     * @param serverID  ID of the server.
+     * @return          True if the server is in this pool.
+     */
+    public boolean contains(int serverID) {
+        return serverID >= this.firstID && serverID < this.firstID + this.size;
+    }
+
+    /**
+     * Adds a customer to the back of the shared queue.
+     * @param c     The waiting customer.
+     * @return      An updated pool.
+     */
+    public ServerPool enqueue(Customer c) {
+        return new ServerPool(this.firstID, this.size, this.waiting.add(c));
+    }
+
+    /**
+     * Removes the customer at the front of the shared queue, who is about to be served.
+     * @return      An updated pool.
+     */
+    public ServerPool dispatch() {
+        return new ServerPool(this.firstID, this.size, this.waiting.poll());
+    }
+
+    @Override
+    public String toString() {
+        return "pool of " + this.size + " from " + this.firstID + " with "
+                + this.waiting.size() + " waiting";
+    }
+
+}
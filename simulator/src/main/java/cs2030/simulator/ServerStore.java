@@ -0,0 +1,141 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, position-indexed store that backs a {@link Shop}, holding either its
+ * {@link Server}s or the {@link ServerPool} queues they serve.
+ *
+ * <p>Items are kept in a 32-way tree, so reading or replacing the item at a
+ * position only touches the path down to it, instead of scanning or copying the
+ * whole list of items.</p>
+ * @param <T>   Type of item stored.
+ */
+class ServerStore<T> {
+
+    /**
+     * Width of each node in the tree, and the masks used to index into it.
+     */
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * Immutable fields representing the tree of items.
+     */
+    private final Object[] root;
+    private final int size;
+    private final int shift;
+
+    /**
+     * Initialises the store. Private as stores should be built with {@link #of(List)}.
+     * @param root      Root node of the tree.
+     * @param size      Number of items in the store.
+     * @param shift     Number of bits to shift by at the root node.
+     */
+    private ServerStore(Object[] root, int size, int shift) {
+        this.root = root;
+        this.size = size;
+        this.shift = shift;
+    }
+
+    /**
+     * Builds a store holding the given items, in the same order.
+     * @param items     List of items to store.
+     * @param <T>       Type of item stored.
+     * @return          A new ServerStore.
+     */
+    static <T> ServerStore<T> of(List<T> items) {
+        int size = items.size();
+        int shift = 0;
+        while ((WIDTH << shift) < size) {
+            shift += BITS;
+        }
+        return new ServerStore<>(build(items, 0, shift), size, shift);
+    }
+
+    /**
+     * Recursively builds the node covering items starting from a given position.
+     * @param items     List of items to store.
+     * @param from      Position of the first item covered by this node.
+     * @param shift     Number of bits to shift by at this node.
+     * @return          The built node.
+     */
+    private static Object[] build(List<?> items, int from, int shift) {
+        Object[] node = new Object[WIDTH];
+        int span = 1 << shift;
+        for (int i = 0; i < WIDTH && from + i * span < items.size(); i++) {
+            if (shift == 0) {
+                node[i] = items.get(from + i);
+            } else {
+                node[i] = build(items, from + i * span, shift - BITS);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Getter methods.
+     */
+    int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int position) {
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(position >>> level) & MASK];
+        }
+        return (T) node[position & MASK];
+    }
+
+    /**
+     * Replaces the item at a given position, copying only the nodes on its path.
+     * @param position  Position of the item to replace.
+     * @param item      The new item.
+     * @return          An updated store.
+     */
+    ServerStore<T> set(int position, T item) {
+        return new ServerStore<>(set(this.root, this.shift, position, item),
+                this.size, this.shift);
+    }
+
+    private static Object[] set(Object[] node, int level, int position, Object item) {
+        Object[] copy = node.clone();
+        int i = (position >>> level) & MASK;
+        if (level == 0) {
+            copy[i] = item;
+        } else {
+            copy[i] = set((Object[]) node[i], level - BITS, position, item);
+        }
+        return copy;
+    }
+
+    /**
+     * Finds the first item, by position, that passes a given Predicate.
+     * @param pred      Condition for which to look for an item.
+     * @return          An Optional representing the item found, or
+     *                  empty if no such item exists.
+     */
+    Optional<T> find(Predicate<T> pred) {
+        return IntStream.range(0, this.size).mapToObj(this::get).filter(pred).findFirst();
+    }
+
+    /**
+     * Lists all items in the store.
+     * @return          A new List of items, in order of position.
+     */
+    List<T> toList() {
+        List<T> list = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+}
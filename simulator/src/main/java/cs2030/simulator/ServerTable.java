@@ -0,0 +1,319 @@
+package cs2030.simulator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mutable counterpart of {@link Shop}, which keeps the state of every {@link Server}
+ * in primitive arrays indexed by server ID - 1, and updates it in place.
+ *
+ * <p>Executing an {@link Event} against the table gives the same next event as
+ * executing it against a Shop, but without copying servers or shops on every
+ * change of state. As in a Shop, each human server has a queue of its own, while
+ * counters in a {@link ServerPool} share one queue of waiting customers.</p>
+ */
+public class ServerTable {
+
+    /**
+     * Fields that do not change over a simulation.
+     */
+    private final int humans;
+    private final int maxQueue;
+    private final double probRest;
+    private final RandomGenerator random;
+
+    /**
+     * Mutable state of each server, indexed by server ID - 1.
+     */
+    private final boolean[] available;
+    private final boolean[] resting;
+    private final double[] nextAvailableTime;
+
+    /**
+     * Index of the queue of each server, by server ID - 1, and the customers waiting
+     * in each queue. The queue of each human server is at the same index as the
+     * server, followed by the queue shared by each pool.
+     */
+    private final int[] queueIndex;
+    private final List<ArrayDeque<Customer>> queues;
+
+    /**
+     * Index of the first server of each queue, and the index of the lengths of the
+     * queues, kept up to date as customers join and leave them.
+     */
+    private final int[] firstServer;
+    private final MutableQueueIndex shortest;
+
+    /**
+     * Indices of the servers that are available and not resting, and of the first
+     * server of every queue with space, so the first of either is found without a scan.
+     */
+    private final ServerBitSet idle;
+    private final ServerBitSet queueSpace;
+
+    /**
+     * Initialises a table where every server is available and has an empty queue.
+     * @param humans    Number of human servers, which take IDs 1 to humans.
+     * @param pools     Pools of self-checkout counters, which take the IDs after
+     *                  the human servers.
+     * @param maxQueue  The maximum number of customers waiting in any queue.
+     * @param probRest  Probability to determine whether a human server rests,
+     *                  after his/her service.
+     * @param random    RandomGenerator used for service times and rests.
+     */
+    public ServerTable(int humans, List<ServerPool> pools, int maxQueue, double probRest,
+                       RandomGenerator random) {
+        int size = humans + pools.stream().mapToInt(ServerPool::size).sum();
+        this.humans = humans;
+        this.maxQueue = maxQueue;
+        this.probRest = probRest;
+        this.random = random;
+        this.available = new boolean[size];
+        this.resting = new boolean[size];
+        this.nextAvailableTime = new double[size];
+        Arrays.fill(this.available, true);
+        this.queueIndex = new int[size];
+        this.queues = new ArrayList<>();
+        for (int i = 0; i < humans; i++) {
+            this.queueIndex[i] = i;
+            this.queues.add(new ArrayDeque<>());
+        }
+        for (ServerPool pool : pools) {
+            Arrays.fill(this.queueIndex, pool.getFirstID() - 1,
+                    pool.getFirstID() - 1 + pool.size(), this.queues.size());
+            this.queues.add(new ArrayDeque<>());
+        }
+        this.firstServer = new int[this.queues.size()];
+        for (int i = size - 1; i >= 0; i--) {
+            this.firstServer[this.queueIndex[i]] = i;
+        }
+        this.shortest = new MutableQueueIndex(this.queues.size());
+        this.idle = new ServerBitSet(size);
+        this.queueSpace = new ServerBitSet(size);
+        for (int i = 0; i < size; i++) {
+            this.idle.set(i, true);
+        }
+        for (int q = 0; q < this.queues.size(); q++) {
+            this.updateQueue(q, 0);
+        }
+    }
+
+    /**
+     * Getter methods.
+     */
+    public int size() {
+        return this.available.length;
+    }
+
+    public int numOfHumans() {
+        return this.humans;
+    }
+
+    public boolean isAvailable(int serverID) {
+        return this.available[serverID - 1];
+    }
+
+    public boolean isResting(int serverID) {
+        return this.resting[serverID - 1];
+    }
+
+    public double getNextAvailTime(int serverID) {
+        return this.nextAvailableTime[serverID - 1];
+    }
+
+    public int getCustomersInQueue(int serverID) {
+        return this.queueLength(serverID - 1);
+    }
+
+    public boolean isPooled(int serverID) {
+        return serverID > this.humans;
+    }
+
+    /**
+     * Gives the number of customers waiting for a server, which is the length of
+     * the shared queue for counters in a pool.
+     * @param i     Index of the server.
+     * @return      Number of customers waiting.
+     */
+    private int queueLength(int i) {
+        return this.queues.get(this.queueIndex[i]).size();
+    }
+
+    /**
+     * Executes an event against the table, updating the servers in place.
+     * @param e     The event to execute.
+     * @return      The next event, exactly as {@link Event#execute(Shop)} would give.
+     */
+    public Event execute(Event e) {
+        Customer c = e.getCustomer();
+        switch (e.getEventType()) {
+            case ARRIVE:
+                return arrive(c);
+            case SERVE:
+                return serve(c, e.getServerID());
+            case WAIT:
+                return waitFor(c, e.getServerID());
+            case DONE:
+                return done(c, e.getServerID());
+            case REST:
+                return rest(c, e.getServerID(), ((RestEvent) e).getRestTime());
+            case BACK:
+                return back(c, e.getServerID());
+            default:
+                return new EndEvent(c);
+        }
+    }
+
+    /**
+     * Mirrors {@link ArriveEvent}.
+     */
+    private Event arrive(Customer c) {
+        int avail = this.idle.first();
+        if (avail >= 0) {
+            int id = avail + 1;
+            if (this.isPooled(id)) {
+                return new ServeEvent(c.updateType(1), id);
+            }
+            return new ServeEvent(c, id);
+        }
+        int wait = c.isGreedy() ? findShortestQueue() : findQueueSpace();
+        if (wait >= 0) {
+            int id = wait + 1;
+            if (this.isPooled(id)) {
+                return new WaitEvent(c.updateType(1), id);
+            }
+            return new WaitEvent(c, id);
+        }
+        return new LeaveEvent(c);
+    }
+
+    /**
+     * Mirrors {@link ServeEvent}.
+     */
+    private Event serve(Customer c, int serverID) {
+        int i = serverID - 1;
+        if (this.resting[i] || !this.available[i]) {
+            this.enqueue(i, c);
+            return new EndEvent(c);
+        }
+        double doneTime = this.random.genServiceTime() + c.serviceStarts();
+        this.setState(i, false, false);
+        this.nextAvailableTime[i] = doneTime;
+        return new DoneEvent(c.freeze(doneTime), serverID);
+    }
+
+    /**
+     * Mirrors {@link WaitEvent}.
+     */
+    private Event waitFor(Customer c, int serverID) {
+        int i = serverID - 1;
+        this.setState(i, false, this.resting[i]);
+        this.enqueue(i, c);
+        return new EndEvent(c.freeze(this.nextAvailableTime[i]));
+    }
+
+    /**
+     * Mirrors {@link DoneEvent}.
+     */
+    private Event done(Customer c, int serverID) {
+        int i = serverID - 1;
+        this.nextAvailableTime[i] = c.serviceStarts();
+        if (!this.isPooled(serverID) && this.random.genRandomRest() < this.probRest) {
+            double restTime = this.random.genRestPeriod();
+            this.setState(i, false, true);
+            return new RestEvent(c, serverID, restTime);
+        }
+        this.setState(i, true, false);
+        return serveNext(i, c);
+    }
+
+    /**
+     * Mirrors {@link RestEvent}.
+     */
+    private Event rest(Customer c, int serverID, double restTime) {
+        int i = serverID - 1;
+        this.setState(i, false, true);
+        this.nextAvailableTime[i] += restTime;
+        return new BackEvent(c, serverID, this.nextAvailableTime[i]);
+    }
+
+    /**
+     * Mirrors {@link BackEvent}.
+     */
+    private Event back(Customer c, int serverID) {
+        int i = serverID - 1;
+        this.setState(i, true, false);
+        return serveNext(i, c);
+    }
+
+    /**
+     * Mirrors {@link Event#serveNext}, where an available server serves the customer
+     * who has waited longest in its queue, if any.
+     * @param i     Index of the available server.
+     * @param c     Customer to end with, if no one is waiting.
+     * @return      The serving of the next customer, or the end of this one.
+     */
+    private Event serveNext(int i, Customer c) {
+        int q = this.queueIndex[i];
+        Customer next = this.queues.get(q).poll();
+        if (next != null) {
+            this.updateQueue(q, this.queues.get(q).size());
+            return new ServeEvent(next.freeze(this.nextAvailableTime[i]), i + 1);
+        }
+        return new EndEvent(c);
+    }
+
+    /**
+     * Adds a customer to the back of the queue of a server.
+     * @param i     Index of the server.
+     * @param c     The waiting customer.
+     */
+    private void enqueue(int i, Customer c) {
+        int q = this.queueIndex[i];
+        this.queues.get(q).add(c);
+        this.updateQueue(q, this.queues.get(q).size());
+    }
+
+    /**
+     * Sets whether a server is available and whether it is resting.
+     * @param i             Index of the server.
+     * @param available     Whether the server is available.
+     * @param resting       Whether the server is resting.
+     */
+    private void setState(int i, boolean available, boolean resting) {
+        this.available[i] = available;
+        this.resting[i] = resting;
+        this.idle.set(i, available && !resting);
+    }
+
+    /**
+     * Records the new length of a queue, for finding queues without a scan.
+     * @param q         Index of the queue.
+     * @param length    The length of the queue.
+     */
+    private void updateQueue(int q, int length) {
+        this.shortest.update(q, length);
+        this.queueSpace.set(this.firstServer[q], length < this.maxQueue);
+    }
+
+    /**
+     * Finds the first server with space in its queue, as {@link Customer#canWait(Shop)} does.
+     * @return      Index of the server, or -1 if every queue is full.
+     */
+    private int findQueueSpace() {
+        return this.queueSpace.first();
+    }
+
+    /**
+     * Finds the server with the shortest queue, as {@link Shop#findShortestQueue()} does.
+     * @return      Index of the first server with the shortest queue, or -1 if
+     *              every queue is full.
+     */
+    private int findShortestQueue() {
+        int q = this.shortest.findShortest(this.maxQueue);
+        return q < 0 ? -1 : this.firstServer[q];
+    }
+
+}
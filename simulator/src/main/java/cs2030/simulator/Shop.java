@@ -0,0 +1,407 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This class represents a Shop(like an F n B restaurant)
+ * that has human and self-checkout {@link Server} types.
+ *
+ * <p>Every server takes waiting customers from a {@link ServerPool}. Each human server
+ * has a pool of its own, while self-checkout counters are grouped into pools where the
+ * counters of each pool share one queue of waiting customers.</p>
+ */
+public class Shop {
+
+    /**
+     * Immutable parameters that store the properties of the shop.
+     * These properties are useful in determining the servers in the
+     * shop. limits of queues, probability to compare with randomly
+     * generated probability after each service, for resting between
+     * services, and number of human servers.
+     *
+     * <p>Servers are held in a {@link ServerStore}, and when their IDs run from 1 in
+     * order, a server is found directly at position ID - 1. Pools are held in another
+     * ServerStore, with the pool of each human server at the same position as the
+     * server, followed by the self-checkout pools. poolIndex gives the position of the
+     * pool of the server at each position. queueIndex keeps the length of the queue of
+     * every pool, for finding the shortest queue without a scan. idle holds the
+     * position of every server that is available and not resting, and queueSpace the
+     * position of the first server of every pool with space in its queue, so the first
+     * of either is found without a scan.</p>
+     */
+    private final ServerStore<Server> servers;
+    private final boolean indexedById;
+    private final ServerStore<ServerPool> pools;
+    private final int[] poolIndex;
+    private final QueueIndex queueIndex;
+    private final ServerBitSet idle;
+    private final ServerBitSet queueSpace;
+    private final int maxQueue;
+    private final double probRest;
+    private final int humans;
+
+    /**
+     * Constructor to initialise a shop.
+     * @param n     integer that represents number of human servers to generate.
+     */
+    public Shop(int n) {
+        //this constructor is for lower levels
+        this(IntStream.rangeClosed(1,n).boxed()
+                .map(x -> new Server(x,true,false,0, 0, () -> null))
+                .collect(Collectors.toList()), n, List.of(), 1, 0.0);
+    }
+
+    /**
+     * Constructor to initialise a shop.
+     * @param s     List of servers to initialise a shop with.
+     */
+    public Shop(List<Server> s) {
+        this(s, s.size(), List.of(), 1, 0.0);
+    }
+
+    /**
+     * Constructor to initialise a shop, where all self-checkout counters
+     * share one queue.
+     * @param s         List of servers to initialise a shop with.
+     * @param humans    Number of human servers in the shop.
+     *                  Can be used to infer number of self-checkout
+     *                  counters with this.
+     * @param maxQueue  The maximum number of customers waiting in any queue.
+     * @param probRest  Probability to determine whether a human server rests,
+     *                  after his/her service.
+     */
+    public Shop(List<Server> s, int humans, int maxQueue, double probRest) {
+        this(s, humans, s.size() > humans
+                ? List.of(new ServerPool(humans + 1, s.size() - humans)) : List.of(),
+                maxQueue, probRest);
+    }
+
+    /**
+     * Constructor to initialise a shop with pools of counters.
+     * @param s         List of servers to initialise a shop with.
+     * @param humans    Number of human servers in the shop.
+     * @param pools     Pools of self-checkout counters which share a queue,
+     *                  covering the servers after the human servers.
+     * @param maxQueue  The maximum number of customers waiting in any queue.
+     * @param probRest  Probability to determine whether a human server rests,
+     *                  after his/her service.
+     */
+    public Shop(List<Server> s, int humans, List<ServerPool> pools,
+                int maxQueue, double probRest) {
+        List<ServerPool> all = new ArrayList<>();
+        this.poolIndex = indexPools(s, humans, pools, all);
+        this.servers = ServerStore.of(s);
+        this.indexedById = isIndexedById(s);
+        this.pools = ServerStore.of(all);
+        this.queueIndex = indexQueues(this.poolIndex, all);
+        this.idle = new ServerBitSet(s.size());
+        this.queueSpace = new ServerBitSet(s.size());
+        for (int i = 0; i < s.size(); i++) {
+            this.idle.set(i, s.get(i).isAvailable() && !s.get(i).isResting());
+        }
+        for (int i = 0; i < all.size(); i++) {
+            int first = this.queueIndex.firstPosition(i);
+            if (first >= 0) {
+                this.queueSpace.set(first, all.get(i).getQueueLength() < maxQueue);
+            }
+        }
+        this.humans = humans;
+        this.maxQueue = maxQueue;
+        this.probRest = probRest;
+    }
+
+    /**
+     * Constructor used when updating a shop, which keeps the existing stores.
+     * @param servers       Store of servers in the shop.
+     * @param indexedById   Whether server IDs run from 1 in order of position.
+     * @param pools         Store of pools that servers take customers from.
+     * @param poolIndex     Position of the pool of the server at each position.
+     * @param queueIndex    Index of the length of the queue of each pool.
+     * @param idle          Positions of the servers that are available and not resting.
+     * @param queueSpace    Positions of the first servers of pools with queue space.
+     * @param humans        Number of human servers in the shop.
+     * @param maxQueue      The maximum number of customers waiting in any queue.
+     * @param probRest      Probability to determine whether a human server rests,
+     *                      after his/her service.
+     */
+    private Shop(ServerStore<Server> servers, boolean indexedById, ServerStore<ServerPool> pools,
+                 int[] poolIndex, QueueIndex queueIndex, ServerBitSet idle,
+                 ServerBitSet queueSpace, int humans, int maxQueue, double probRest) {
+        this.servers = servers;
+        this.indexedById = indexedById;
+        this.pools = pools;
+        this.poolIndex = poolIndex;
+        this.queueIndex = queueIndex;
+        this.idle = idle;
+        this.queueSpace = queueSpace;
+        this.humans = humans;
+        this.maxQueue = maxQueue;
+        this.probRest = probRest;
+    }
+
+    /**
+     * Checks whether server IDs run from 1 in order, so a server can be found by its ID.
+     * @param s     List of servers in the shop.
+     * @return      True if the server at every position i has ID i + 1.
+     */
+    private static boolean isIndexedById(List<Server> s) {
+        return IntStream.range(0, s.size()).allMatch(i -> s.get(i).getServerIdentifier() == i + 1);
+    }
+
+    /**
+     * Lists the pools of the shop, and maps the server at each position to the
+     * position of its pool. Each human server gets a pool of its own at the same
+     * position as the server, followed by the given pools. A self-checkout counter
+     * left out of the given pools gets a pool of its own, after those.
+     * @param s         List of servers in the shop.
+     * @param humans    Number of human servers in the shop.
+     * @param pools     Pools of self-checkout counters.
+     * @param all       List to add every pool of the shop to, in order of position.
+     * @return          Array holding the pool position of each server.
+     */
+    private static int[] indexPools(List<Server> s, int humans, List<ServerPool> pools,
+                                    List<ServerPool> all) {
+        int[] index = new int[s.size()];
+        for (int i = 0; i < humans; i++) {
+            all.add(new ServerPool(s.get(i).getServerIdentifier(), 1));
+            index[i] = i;
+        }
+        all.addAll(pools);
+        for (int i = humans; i < s.size(); i++) {
+            int id = s.get(i).getServerIdentifier();
+            index[i] = -1;
+            for (int j = 0; j < pools.size(); j++) {
+                if (pools.get(j).contains(id)) {
+                    index[i] = humans + j;
+                }
+            }
+            if (index[i] < 0) {
+                index[i] = all.size();
+                all.add(new ServerPool(id, 1));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds the index of the queue lengths of the pools, where each pool is placed by
+     * the position of its first server.
+     * @param poolIndex     Position of the pool of the server at each position.
+     * @param pools         Every pool of the shop, in order of position.
+     * @return              Index of the length of the queue of each pool.
+     */
+    private static QueueIndex indexQueues(int[] poolIndex, List<ServerPool> pools) {
+        int[] lengths = new int[pools.size()];
+        int[] firstPosition = new int[pools.size()];
+        Arrays.fill(firstPosition, -1);
+        for (int i = poolIndex.length - 1; i >= 0; i--) {
+            firstPosition[poolIndex[i]] = i;
+        }
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = pools.get(i).getQueueLength();
+        }
+        return QueueIndex.of(lengths, firstPosition);
+    }
+
+    /**
+     * Getter methods.
+     */
+    public int getMaxQueue() {
+        return this.maxQueue;
+    }
+
+    public double getProbRest() {
+        return this.probRest;
+    }
+
+    public List<Server> getServers() {
+        return this.servers.toList();
+    }
+
+    public int numOfHumans() {  //represents number of human servers
+        return this.humans;
+    }
+
+    /**
+     * Gives the pools of self-checkout counters, which leaves out the pool of
+     * each human server.
+     * @return      List of self-checkout pools, in order of server ID.
+     */
+    public List<ServerPool> getPools() {
+        return this.pools.toList().subList(Math.min(this.humans, this.pools.size()),
+                this.pools.size());
+    }
+
+    /**
+     * Used for finding the first server that passes a given Predicate.
+     * @param pred      Condition for which to look for a server.
+     * @return          An Optional representing the server found, or
+     *                  empty if no such server exists.
+     */
+    public Optional<Server> find(Predicate<Server> pred) {
+        return this.servers.find(pred);
+    }
+
+    /**
+     * Gets a server directly by its ID, without scanning the other servers.
+     * @param serverID  The ID of the server to get.
+     * @return          The server with the given ID.
+     */
+    public Server get(int serverID) {
+        if (this.indexedById) {
+            return this.servers.get(serverID - 1);
+        }
+        return this.find(x -> x.getServerIdentifier() == serverID).get();
+    }
+
+    /**
+     * Gives the position of a server in the store, based on server ID.
+     * @param serverID  The ID of the server.
+     * @return          Position of the server, or -1 if no such server exists.
+     */
+    private int positionOf(int serverID) {
+        if (this.indexedById) {
+            return serverID >= 1 && serverID <= this.servers.size() ? serverID - 1 : -1;
+        }
+        return IntStream.range(0, this.servers.size())
+                .filter(i -> this.servers.get(i).getServerIdentifier() == serverID)
+                .findFirst().orElse(-1);
+    }
+
+    /**
+     * Checks whether a server is a self-checkout counter in one of the pools of this shop.
+     * @param serverID  The ID of the server.
+     * @return          True if the server shares a queue with the rest of its pool.
+     */
+    public boolean isPooled(int serverID) {
+        return this.positionOf(serverID) >= this.humans;
+    }
+
+    /**
+     * Gets the pool that a server takes waiting customers from. For a human server,
+     * this is the server's own queue.
+     * @param serverID  The ID of the server.
+     * @return          The pool of the server.
+     */
+    public ServerPool getPool(int serverID) {
+        return this.pools.get(this.poolIndex[this.positionOf(serverID)]);
+    }
+
+    /**
+     * Gives the number of customers waiting for a server. For counters in a pool,
+     * this is the length of the queue shared by the pool.
+     * @param s     The server.
+     * @return      Number of customers waiting.
+     */
+    public int queueLength(Server s) {
+        return this.getPool(s.getServerIdentifier()).getQueueLength();
+    }
+
+    /**
+     * Finds the first server that is available and not resting, which is the
+     * server an arriving customer is served by.
+     * @return          Server found, or empty if every server is busy or resting.
+     */
+    public Optional<Server> findAvailable() {
+        int position = this.idle.first();
+        return position < 0 ? Optional.empty() : Optional.of(this.servers.get(position));
+    }
+
+    /**
+     * Finds the first server with space in its queue, which is the server a
+     * customer who is not greedy waits for.
+     * @return          Server found, or empty if every queue is full.
+     */
+    public Optional<Server> findQueueSpace() {
+        int position = this.queueSpace.first();
+        return position < 0 ? Optional.empty() : Optional.of(this.servers.get(position));
+    }
+
+    /**
+     * Used to find the queue with shortest length. This is primarily for
+     * greedy customers. Of the servers with the shortest queue, the first is taken.
+     * @return          Server with the shortest queue.
+     */
+    public Optional<Server> findShortestQueue() {
+        int position = this.queueIndex.findShortest(this.maxQueue);
+        return position < 0 ? Optional.empty() : Optional.of(this.servers.get(position));
+    }
+
+    /**
+     * Replaces a current {@link Server} with an updated server, based on server ID.
+     * @param s     The new server to replace the old server with.
+     * @return      An updated shop with updated servers.
+     */
+    public Shop replace(Server s) {
+        int position = this.positionOf(s.getServerIdentifier());
+        if (position < 0) {
+            return this;
+        } else {
+            return new Shop(this.servers.set(position, s), this.indexedById, this.pools,
+                    this.poolIndex, this.queueIndex,
+                    this.idle.with(position, s.isAvailable() && !s.isResting()),
+                    this.queueSpace, this.humans, this.maxQueue, this.probRest);
+        }
+    }
+
+    /**
+     * Adds a customer to the back of the queue of a server, which is shared
+     * by the whole pool for self-checkout counters.
+     * @param serverID  The ID of the server, or of a counter in the pool.
+     * @param c         The waiting customer.
+     * @return          An updated shop with the customer in the queue.
+     */
+    public Shop enqueue(int serverID, Customer c) {
+        int i = this.poolIndex[this.positionOf(serverID)];
+        return this.updatePool(i, this.pools.get(i).enqueue(c));
+    }
+
+    /**
+     * Removes the customer at the front of the queue of a server, as that customer
+     * is about to be served by the server.
+     * @param serverID  The ID of the server serving the customer.
+     * @return          An updated shop without the customer in the queue.
+     */
+    public Shop dispatch(int serverID) {
+        int i = this.poolIndex[this.positionOf(serverID)];
+        return this.updatePool(i, this.pools.get(i).dispatch());
+    }
+
+    /**
+     * Replaces the pool of a server, such as with the pool as another copy of the shop
+     * holds it.
+     * @param serverID  The ID of the server, or of a counter in the pool.
+     * @param pool      The updated pool.
+     * @return          An updated shop with the pool replaced.
+     */
+    Shop replacePool(int serverID, ServerPool pool) {
+        return this.updatePool(this.poolIndex[this.positionOf(serverID)], pool);
+    }
+
+    /**
+     * Replaces the pool at a given position.
+     * @param i         Position of the pool.
+     * @param pool      The updated pool.
+     * @return          An updated shop.
+     */
+    private Shop updatePool(int i, ServerPool pool) {
+        int first = this.queueIndex.firstPosition(i);
+        ServerBitSet space = first < 0 ? this.queueSpace
+                : this.queueSpace.with(first, pool.getQueueLength() < this.maxQueue);
+        return new Shop(this.servers, this.indexedById, this.pools.set(i, pool),
+                this.poolIndex, this.queueIndex.update(i, pool.getQueueLength()), this.idle,
+                space, this.humans, this.maxQueue, this.probRest);
+    }
+
+    @Override
+    public String toString() {
+        return this.servers.toList().toString();
+    }
+
+}
@@ -0,0 +1,28 @@
+package cs2030.simulator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for one run of the event loop with {@link EventMetrics},
+ * lasting from the start of the run to its end.
+ */
+@Name("cs2030.SimulationRun")
+@Label("Simulation Run")
+@Category("CS2030 Simulator")
+@Description("One run of the event loop of EventRunner")
+class SimulationRunEvent extends Event {
+
+    @Label("Events")
+    long events;
+
+    @Label("Queue High Water Mark")
+    int queueHighWaterMark;
+
+    @Label("Events per Second")
+    double eventsPerSecond;
+
+}
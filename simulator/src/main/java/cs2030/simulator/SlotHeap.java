@@ -0,0 +1,170 @@
+package cs2030.simulator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * 4-ary heap of event keys, each the start time and customer ID of an event with an
+ * int slot that says where the rest of the event is kept, all held in primitive arrays.
+ *
+ * <p>Entries are ordered exactly as {@link EventComparator} orders events, by time and
+ * then by customer ID. Adding and removing entries allocates nothing once the arrays
+ * have grown to the most entries held at once. Used by {@link EventHeap}, which keeps
+ * {@link Event} objects in the slots, and by {@link DispatchEngine}, whose slots index
+ * its own primitive tables.</p>
+ */
+public class SlotHeap {
+
+    /**
+     * Number of children of each node, and the starting capacity.
+     */
+    private static final int ARITY = 4;
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Keys and slots of the entries, in heap order.
+     */
+    private double[] times;
+    private int[] ids;
+    private int[] slots;
+    private int size;
+
+    /**
+     * Initialises an empty heap.
+     */
+    public SlotHeap() {
+        this.times = new double[INITIAL_CAPACITY];
+        this.ids = new int[INITIAL_CAPACITY];
+        this.slots = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Getter methods.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Checks whether one key comes before another, in the same way as
+     * {@link EventComparator}.
+     */
+    private static boolean before(double time1, int id1, double time2, int id2) {
+        return time1 < time2 || (time1 == time2 && id1 < id2);
+    }
+
+    /**
+     * Adds an entry to the heap.
+     * @param time  Start time of the event.
+     * @param id    ID of the customer of the event.
+     * @param slot  Where the rest of the event is kept.
+     */
+    public void add(double time, int id, int slot) {
+        if (this.size == this.times.length) {
+            int capacity = this.size * 2;
+            this.times = Arrays.copyOf(this.times, capacity);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.slots = Arrays.copyOf(this.slots, capacity);
+        }
+        this.siftUp(this.size, time, id, slot);
+        this.size++;
+    }
+
+    /**
+     * Gives the start time of the first entry, without removing it.
+     * @return      The earliest time.
+     */
+    public double peekTime() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.times[0];
+    }
+
+    /**
+     * Gives the slot of the first entry, without removing it.
+     * @return      The slot.
+     */
+    public int peekSlot() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.slots[0];
+    }
+
+    /**
+     * Removes the first entry, which has the earliest time, and the smallest customer
+     * ID among entries at that time.
+     * @return      The slot of the first entry.
+     */
+    public int poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        int first = this.slots[0];
+        this.size--;
+        if (this.size > 0) {
+            int last = this.size;
+            this.siftDown(0, this.times[last], this.ids[last], this.slots[last]);
+        }
+        return first;
+    }
+
+    /**
+     * Moves an entry up from a hole at position i until its parent comes before it.
+     */
+    private void siftUp(int i, double time, int id, int slot) {
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            if (!before(time, id, this.times[parent], this.ids[parent])) {
+                break;
+            }
+            this.move(parent, i);
+            i = parent;
+        }
+        this.place(i, time, id, slot);
+    }
+
+    /**
+     * Moves an entry down from a hole at position i until it comes before all its children.
+     */
+    private void siftDown(int i, double time, int id, int slot) {
+        while (true) {
+            int firstChild = i * ARITY + 1;
+            if (firstChild >= this.size) {
+                break;
+            }
+            int min = firstChild;
+            int end = Math.min(firstChild + ARITY, this.size);
+            for (int c = firstChild + 1; c < end; c++) {
+                if (before(this.times[c], this.ids[c], this.times[min], this.ids[min])) {
+                    min = c;
+                }
+            }
+            if (!before(this.times[min], this.ids[min], time, id)) {
+                break;
+            }
+            this.move(min, i);
+            i = min;
+        }
+        this.place(i, time, id, slot);
+    }
+
+    private void move(int from, int to) {
+        this.times[to] = this.times[from];
+        this.ids[to] = this.ids[from];
+        this.slots[to] = this.slots[from];
+    }
+
+    private void place(int i, double time, int id, int slot) {
+        this.times[i] = time;
+        this.ids[i] = id;
+        this.slots[i] = slot;
+    }
+
+}
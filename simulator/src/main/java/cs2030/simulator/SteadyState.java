@@ -0,0 +1,338 @@
+package cs2030.simulator;
+
+/**
+ * Estimates the steady-state mean time waited by customers of a run, and stops the
+ * arrivals of the run once the estimate is precise enough, for runs of an
+ * {@link EventRunner} given it by {@link EventRunner#withSteadyState}.
+ *
+ * <p>The time waited by each customer served is kept, in order of service, as the
+ * mean of every 5 customers, and the 5-means are kept in a fixed number of cells, each
+ * the mean of the same number of 5-means in a row. A cell holds one 5-mean until
+ * every cell is full, and then each two neighbouring cells are merged into one, so
+ * that a cell holds twice as many from then on, as in batch means with doubling. The
+ * warm-up, whose waits are biased by the shop starting empty, is found by MSER-5 over
+ * the cells: the number d of cells left out is the one which gives the least variance
+ * of the mean of the rest, divided by (m - d)^2, for m cells, searching d up to m / 2.
+ * The rest is split into a fixed number of batches of whole cells, whose means give a
+ * confidence interval for the mean by Student's t-distribution, as in
+ * {@link SampleStats}. Until the cells first fill, this is MSER-5 on every 5-means, and
+ * after that the warm-up is found to within a cell.</p>
+ *
+ * <p>The estimate is checked each time the number of 5-means grows by an eighth, in
+ * time proportional to the number of cells, so a run of any length needs a fixed amount
+ * of memory, and checking costs less per customer as the run goes on. Once the warm-up
+ * is less than half of the run, every batch holds at least {@value #MIN_BATCH_SIZE}
+ * 5-means, and the half-width of the 95% confidence interval is below the precision,
+ * no more customers are generated. Those already in the shop are served or leave as usual, so the
+ * output ends as that of a run with fewer customers. The usual statistics cover the
+ * whole run, while those of this estimator leave out the warm-up.</p>
+ *
+ * <p>One estimator is used by one run at a time, and is reset when the run starts.
+ * Starting a run while another one is using it throws, and {@link ReplicationRunner}
+ * and {@link MultiShopRunner}, which run copies of a runner in parallel, do not take a
+ * runner with an estimator.</p>
+ */
+public class SteadyState implements EventSink {
+
+    /**
+     * Number of customers in each mean kept, as in MSER-5.
+     */
+    static final int GROUP_SIZE = 5;
+
+    /**
+     * Default number of batches, and the fewest 5-means in a batch before the run
+     * may stop.
+     */
+    static final int DEFAULT_BATCHES = 20;
+    static final int MIN_BATCH_SIZE = 10;
+
+    /**
+     * Fewest cells kept, which holds more cells for a larger number of batches.
+     */
+    static final int MIN_CELLS = 4096;
+
+    /**
+     * Immutable fields holding the half-width to reach, and the number of batches.
+     */
+    private final double precision;
+    private final int numBatches;
+
+    /**
+     * Source of the arrivals of the current run, and the number of 5-means so far, with
+     * the sum of the waits of the current 5.
+     */
+    private ArrivalSource arrivals;
+    private boolean running;
+    private int numMeans;
+    private double groupSum;
+    private int groupCount;
+    private int nextCheck;
+
+    /**
+     * Cells of 5-means, with the number of 5-means in each full cell, and the sum and
+     * number of the 5-means of the cell being filled.
+     */
+    private final double[] cells;
+    private int numCells;
+    private int cellSize;
+    private double cellSum;
+    private int cellCount;
+
+    /**
+     * The latest estimate: 5-means left out as warm-up, the size of each batch in
+     * 5-means, the mean and half-width, and whether and when the run stopped.
+     */
+    private int warmup;
+    private int batchSize;
+    private double mean;
+    private double halfWidth = Double.POSITIVE_INFINITY;
+    private boolean converged;
+    private int stoppedAfter;
+
+    /**
+     * Initialises an estimator with {@value #DEFAULT_BATCHES} batches.
+     * @param precision     Half-width of the 95% confidence interval of the mean wait
+     *                      at which to stop.
+     */
+    public SteadyState(double precision) {
+        this(precision, DEFAULT_BATCHES);
+    }
+
+    /**
+     * Initialises an estimator.
+     * @param precision     Half-width of the 95% confidence interval of the mean wait
+     *                      at which to stop.
+     * @param numBatches    Number of batches, at least 2.
+     * @throws IllegalArgumentException if the precision is not positive, or there are
+     *                      fewer than 2 batches.
+     */
+    public SteadyState(double precision, int numBatches) {
+        if (!(precision > 0) || numBatches < 2) {
+            throw new IllegalArgumentException("precision " + precision + " with "
+                    + numBatches + " batches");
+        }
+        this.precision = precision;
+        this.numBatches = numBatches;
+        this.nextCheck = numBatches * MIN_BATCH_SIZE;
+        //even, so that the cells merge in pairs, and holding every batch twice over
+        this.cells = new double[Math.max(MIN_CELLS, 4 * numBatches * MIN_BATCH_SIZE)];
+        this.cellSize = 1;
+    }
+
+    /**
+     * Resets the estimator for a run, whose arrivals are stopped once the estimate is
+     * precise enough. The run ends with its summary.
+     * @param arrivals  Source of the arrivals of the run, or null if none are stopped.
+     * @throws IllegalStateException if another run is using the estimator.
+     */
+    synchronized void start(ArrivalSource arrivals) {
+        if (this.running) {
+            throw new IllegalStateException("steady-state estimator is used by another run");
+        }
+        this.running = true;
+        this.arrivals = arrivals;
+        this.numMeans = 0;
+        this.groupSum = 0.0;
+        this.groupCount = 0;
+        this.nextCheck = this.numBatches * MIN_BATCH_SIZE;
+        this.numCells = 0;
+        this.cellSize = 1;
+        this.cellSum = 0.0;
+        this.cellCount = 0;
+        this.warmup = 0;
+        this.batchSize = 0;
+        this.mean = 0.0;
+        this.halfWidth = Double.POSITIVE_INFINITY;
+        this.converged = false;
+        this.stoppedAfter = 0;
+    }
+
+    @Override
+    public void accept(Event e) {
+    }
+
+    @Override
+    public void accept(EventType type, double time, int customerID, double arrivalTime,
+                       boolean greedy, int serverType, int serverID) {
+    }
+
+    /**
+     * Keeps the time waited by each customer served.
+     */
+    @Override
+    public void transition(EventType type, EventType nextType, double time,
+                           double arrivalTime, int serverID) {
+        if (type != EventType.SERVE || nextType != EventType.DONE) {
+            return;
+        }
+        this.groupSum += time - arrivalTime;
+        if (++this.groupCount < GROUP_SIZE) {
+            return;
+        }
+        this.add(this.groupSum / GROUP_SIZE);
+        this.groupSum = 0.0;
+        this.groupCount = 0;
+        if (this.numMeans >= this.nextCheck && !this.converged) {
+            this.nextCheck = this.numMeans + Math.max(1, this.numMeans / 8);
+            this.estimate();
+            if (this.isPrecise()) {
+                this.converged = true;
+                if (this.arrivals != null) {
+                    this.stoppedAfter = this.arrivals.numGenerated();
+                    this.arrivals.stop();
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a 5-mean to the cell being filled, and merges the cells in pairs once every
+     * cell is full.
+     * @param mean      Mean wait of the next 5 customers served.
+     */
+    private void add(double mean) {
+        this.numMeans++;
+        this.cellSum += mean;
+        if (++this.cellCount < this.cellSize) {
+            return;
+        }
+        this.cells[this.numCells++] = this.cellSum / this.cellSize;
+        this.cellSum = 0.0;
+        this.cellCount = 0;
+        if (this.numCells == this.cells.length) {
+            for (int i = 0; i < this.numCells / 2; i++) {
+                this.cells[i] = (this.cells[2 * i] + this.cells[2 * i + 1]) / 2;
+            }
+            this.numCells /= 2;
+            this.cellSize *= 2;
+        }
+    }
+
+    /**
+     * Gives the final estimate from every customer served, if the run did not stop, and
+     * frees the estimator for another run.
+     */
+    @Override
+    public synchronized void summary(double averageWait, int numServed, int numLeft) {
+        if (!this.converged) {
+            this.estimate();
+        }
+        this.arrivals = null;
+        this.running = false;
+    }
+
+    private boolean isPrecise() {
+        return 2 * this.warmup < this.numCells * this.cellSize
+                && this.batchSize >= MIN_BATCH_SIZE
+                && this.halfWidth < this.precision;
+    }
+
+    /**
+     * Finds the warm-up by MSER-5, and the batch means of the cells after it, leaving
+     * out the cell being filled.
+     */
+    private void estimate() {
+        int m = this.numCells;
+        //Welford's method from the last cell backwards, over the cells after d
+        double suffixMean = 0.0;
+        double suffixM2 = 0.0;
+        double best = Double.POSITIVE_INFINITY;
+        int bestD = 0;
+        for (int d = m - 1; d >= 0; d--) {
+            int count = m - d;
+            double delta = this.cells[d] - suffixMean;
+            suffixMean += delta / count;
+            suffixM2 += delta * (this.cells[d] - suffixMean);
+            double mser = suffixM2 / ((double) count * count);
+            if (d <= m / 2 && mser <= best) {
+                best = mser;
+                bestD = d;
+            }
+        }
+        int cellsPerBatch = (m - bestD) / this.numBatches;
+        this.warmup = bestD * this.cellSize;
+        this.batchSize = cellsPerBatch * this.cellSize;
+        if (cellsPerBatch == 0) {
+            this.mean = suffixMeanAfter(bestD);
+            this.halfWidth = Double.POSITIVE_INFINITY;
+            return;
+        }
+        //leaves out the cells just after the warm-up that do not fill a batch
+        int from = m - cellsPerBatch * this.numBatches;
+        SampleStats batches = new SampleStats();
+        for (int b = 0; b < this.numBatches; b++) {
+            double sum = 0.0;
+            int start = from + b * cellsPerBatch;
+            for (int i = start; i < start + cellsPerBatch; i++) {
+                sum += this.cells[i];
+            }
+            batches.add(sum / cellsPerBatch);
+        }
+        this.mean = batches.getMean();
+        this.halfWidth = batches.getHalfWidth();
+    }
+
+    private double suffixMeanAfter(int d) {
+        double sum = 0.0;
+        for (int i = d; i < this.numCells; i++) {
+            sum += this.cells[i];
+        }
+        return this.numCells > d ? sum / (this.numCells - d) : 0.0;
+    }
+
+    /**
+     * Getter methods, where the warm-up is given in customers.
+     */
+    public double getPrecision() {
+        return this.precision;
+    }
+
+    public int getWarmup() {
+        return this.warmup * GROUP_SIZE;
+    }
+
+    public int getNumServed() {
+        return this.numMeans * GROUP_SIZE + this.groupCount;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public double getHalfWidth() {
+        return this.halfWidth;
+    }
+
+    public boolean isConverged() {
+        return this.converged;
+    }
+
+    /**
+     * Gives the number of customers generated when the arrivals were stopped.
+     * @return      The number of customers, or 0 if the run did not stop early.
+     */
+    public int getStoppedAfter() {
+        return this.stoppedAfter;
+    }
+
+    /**
+     * Describes the estimate, its confidence interval, the warm-up left out, and
+     * whether the run stopped once the precision was reached.
+     * @return  String of the estimate.
+     */
+    @Override
+    public String toString() {
+        String interval = Double.isInfinite(this.halfWidth) ? "no CI"
+                : String.format("95%% CI [%.3f, %.3f]", this.mean - this.halfWidth,
+                        this.mean + this.halfWidth);
+        String batches = this.batchSize == 0 ? "too few to batch" : String.format(
+                "%d batches of %d", this.numBatches, this.batchSize * GROUP_SIZE);
+        String end = this.converged
+                ? String.format("stopped after %d customers", this.stoppedAfter)
+                : String.format("did not reach precision %s", this.precision);
+        return String.format("steady state: mean wait %.3f %s, warm-up %d of %d served,"
+                + " %s, %s", this.mean, interval, this.getWarmup(), this.getNumServed(),
+                batches, end);
+    }
+
+}
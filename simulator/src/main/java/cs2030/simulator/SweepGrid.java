@@ -0,0 +1,176 @@
+package cs2030.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Grid of values for each parameter of a simulation, which gives a {@link RunConfig}
+ * for every combination of values, to be run by a {@link ParameterSweep}.
+ *
+ * <p>Each parameter starts with a single default value, and each method gives a new
+ * grid with the values of one parameter replaced, such as
+ * {@code new SweepGrid().servers(1, 2, 4).lambdas(1.0, 2.0)}.</p>
+ */
+public class SweepGrid {
+
+    /**
+     * Immutable lists of the values of each parameter.
+     */
+    private final List<Integer> seeds;
+    private final List<Integer> servers;
+    private final List<List<Integer>> selfCheckoutPools;
+    private final List<Integer> maxQueues;
+    private final List<Integer> customers;
+    private final List<Double> lambdas;
+    private final List<Double> mius;
+    private final List<Double> rhos;
+    private final List<Double> probRests;
+    private final List<Double> probGreedies;
+
+    /**
+     * Initialises a grid of one simulation, with seed 1, 1 human server, no self-checkout
+     * counters, a queue of 1, 1000 customers, all rates 1.0 and no resting or greedy
+     * customers.
+     */
+    public SweepGrid() {
+        this(List.of(1), List.of(1), List.of(List.of()), List.of(1), List.of(1000),
+                List.of(1.0), List.of(1.0), List.of(1.0), List.of(0.0), List.of(0.0));
+    }
+
+    private SweepGrid(List<Integer> seeds, List<Integer> servers,
+                      List<List<Integer>> selfCheckoutPools, List<Integer> maxQueues,
+                      List<Integer> customers, List<Double> lambdas, List<Double> mius,
+                      List<Double> rhos, List<Double> probRests, List<Double> probGreedies) {
+        this.seeds = seeds;
+        this.servers = servers;
+        this.selfCheckoutPools = selfCheckoutPools;
+        this.maxQueues = maxQueues;
+        this.customers = customers;
+        this.lambdas = lambdas;
+        this.mius = mius;
+        this.rhos = rhos;
+        this.probRests = probRests;
+        this.probGreedies = probGreedies;
+    }
+
+    private static List<Integer> listOf(int... values) {
+        return Arrays.stream(values).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    private static List<Double> listOf(double... values) {
+        return Arrays.stream(values).boxed().collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Methods that give a new grid with the values of one parameter replaced.
+     */
+    public SweepGrid seeds(int... values) {
+        return new SweepGrid(listOf(values), this.servers, this.selfCheckoutPools,
+                this.maxQueues, this.customers, this.lambdas, this.mius, this.rhos,
+                this.probRests, this.probGreedies);
+    }
+
+    public SweepGrid servers(int... values) {
+        return new SweepGrid(this.seeds, listOf(values), this.selfCheckoutPools,
+                this.maxQueues, this.customers, this.lambdas, this.mius, this.rhos,
+                this.probRests, this.probGreedies);
+    }
+
+    /**
+     * Gives a new grid where each value is the number of counters in a single pool
+     * of self-checkout counters.
+     * @param values    Numbers of self-checkout counters.
+     * @return          A new SweepGrid.
+     */
+    public SweepGrid selfCheckout(int... values) {
+        return this.selfCheckoutPools(Arrays.stream(values).mapToObj(List::of)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Gives a new grid where each value is a list of pools of self-checkout counters.
+     * @param values    Numbers of counters in each pool, for each value.
+     * @return          A new SweepGrid.
+     */
+    public SweepGrid selfCheckoutPools(List<List<Integer>> values) {
+        return new SweepGrid(this.seeds, this.servers,
+                values.stream().map(List::copyOf).collect(Collectors.toUnmodifiableList()),
+                this.maxQueues, this.customers, this.lambdas, this.mius, this.rhos,
+                this.probRests, this.probGreedies);
+    }
+
+    public SweepGrid maxQueues(int... values) {
+        return new SweepGrid(this.seeds, this.servers, this.selfCheckoutPools,
+                listOf(values), this.customers, this.lambdas, this.mius, this.rhos,
+                this.probRests, this.probGreedies);
+    }
+
+    public SweepGrid customers(int... values) {
+        return new SweepGrid(this.seeds, this.servers, this.selfCheckoutPools,
+                this.maxQueues, listOf(values), this.lambdas, this.mius, this.rhos,
+                this.probRests, this.probGreedies);
+    }
+
+    public SweepGrid lambdas(double... values) {
+        return new SweepGrid(this.seeds, this.servers, this.selfCheckoutPools,
+                this.maxQueues, this.customers, listOf(values), this.mius, this.rhos,
+                this.probRests, this.probGreedies);
+    }
+
+    public SweepGrid mius(double... values) {
+        return new SweepGrid(this.seeds, this.servers, this.selfCheckoutPools,
+                this.maxQueues, this.customers, this.lambdas, listOf(values), this.rhos,
+                this.probRests, this.probGreedies);
+    }
+
+    public SweepGrid rhos(double... values) {
+        return new SweepGrid(this.seeds, this.servers, this.selfCheckoutPools,
+                this.maxQueues, this.customers, this.lambdas, this.mius, listOf(values),
+                this.probRests, this.probGreedies);
+    }
+
+    public SweepGrid probRests(double... values) {
+        return new SweepGrid(this.seeds, this.servers, this.selfCheckoutPools,
+                this.maxQueues, this.customers, this.lambdas, this.mius, this.rhos,
+                listOf(values), this.probGreedies);
+    }
+
+    public SweepGrid probGreedies(double... values) {
+        return new SweepGrid(this.seeds, this.servers, this.selfCheckoutPools,
+                this.maxQueues, this.customers, this.lambdas, this.mius, this.rhos,
+                this.probRests, listOf(values));
+    }
+
+    /**
+     * Gives every combination of values in the grid, where the last parameter,
+     * probGreedy, changes fastest.
+     * @return      List of configurations.
+     */
+    public List<RunConfig> configs() {
+        List<List<?>> axes = List.of(this.seeds, this.servers, this.selfCheckoutPools,
+                this.maxQueues, this.customers, this.lambdas, this.mius, this.rhos,
+                this.probRests, this.probGreedies);
+        long total = 1;
+        for (List<?> axis : axes) {
+            total *= axis.size();
+        }
+        List<RunConfig> configs = new ArrayList<>();
+        int[] at = new int[axes.size()];
+        for (long n = 0; n < total; n++) {
+            long rest = n;
+            for (int i = axes.size() - 1; i >= 0; i--) {
+                at[i] = (int) (rest % axes.get(i).size());
+                rest /= axes.get(i).size();
+            }
+            configs.add(new RunConfig(this.seeds.get(at[0]), this.servers.get(at[1]),
+                    this.selfCheckoutPools.get(at[2]), this.maxQueues.get(at[3]),
+                    this.customers.get(at[4]), this.lambdas.get(at[5]), this.mius.get(at[6]),
+                    this.rhos.get(at[7]), this.probRests.get(at[8]),
+                    this.probGreedies.get(at[9])));
+        }
+        return configs;
+    }
+
+}
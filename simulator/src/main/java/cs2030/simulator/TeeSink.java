@@ -0,0 +1,64 @@
+package cs2030.simulator;
+
+/**
+ * {@link EventSink} which sends the output of a simulation to two sinks, such as a
+ * {@link BufferedEventWriter} printing the events and an {@link OnlineStats} keeping
+ * statistics of them.
+ */
+public class TeeSink implements EventSink {
+
+    /**
+     * Immutable fields holding the sinks, which are given everything in turn.
+     */
+    private final EventSink first;
+    private final EventSink second;
+
+    /**
+     * Initialises the sink.
+     * @param first     Sink given everything first.
+     * @param second    Sink given everything second.
+     */
+    public TeeSink(EventSink first, EventSink second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public void accept(Event e) {
+        this.first.accept(e);
+        this.second.accept(e);
+    }
+
+    @Override
+    public void accept(EventType type, double time, int customerID, double arrivalTime,
+                       boolean greedy, int serverType, int serverID) {
+        this.first.accept(type, time, customerID, arrivalTime, greedy, serverType, serverID);
+        this.second.accept(type, time, customerID, arrivalTime, greedy, serverType, serverID);
+    }
+
+    @Override
+    public void transition(Event e, Event next) {
+        this.first.transition(e, next);
+        this.second.transition(e, next);
+    }
+
+    @Override
+    public void transition(EventType type, EventType nextType, double time,
+                           double arrivalTime, int serverID) {
+        this.first.transition(type, nextType, time, arrivalTime, serverID);
+        this.second.transition(type, nextType, time, arrivalTime, serverID);
+    }
+
+    @Override
+    public void summary(double averageWait, int numServed, int numLeft) {
+        this.first.summary(averageWait, numServed, numLeft);
+        this.second.summary(averageWait, numServed, numLeft);
+    }
+
+    @Override
+    public void flush() {
+        this.first.flush();
+        this.second.flush();
+    }
+
+}
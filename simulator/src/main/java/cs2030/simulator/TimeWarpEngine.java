@@ -0,0 +1,907 @@
+package cs2030.simulator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Runs the simulation of one shop on several threads by optimistic Time Warp, with
+ * exactly the output of {@link EventRunner#run(EventSink)}.
+ *
+ * <p>The shop is split into logical processes: a door, which executes the arrivals and
+ * the customers who leave, and groups of servers, each of which executes the events of
+ * its servers and their queues. Each logical process keeps its own copy of the
+ * {@link Shop}, in which only its part is kept up to date. The door learns which
+ * servers are idle and how long each queue is, which is all an arrival is routed by,
+ * from the changes the groups send it. Every event has a virtual time, which orders
+ * events as run() executes them. A logical process executes its events speculatively in
+ * order of virtual time, saving the Shop before each one. An event or change that comes
+ * in before events it has already executed rolls it back to the Shop saved before them,
+ * and cancels what they sent to the others.</p>
+ *
+ * <p>Service times, rests and rest periods are drawn from streams shared by every server,
+ * so the variate an event draws is decided by how many were drawn before it in virtual
+ * time, in any group. A {@link DrawLedger} keeps the draws that are not yet committed in
+ * order of virtual time, and gives each the variate at its place in the stream. A draw
+ * placed before later ones, or undone by a rollback, rolls back the events of the later
+ * draws, so every event keeps the variates run() gives it. Rolling back a Shop rolls
+ * back its place in each stream with it.</p>
+ *
+ * <p>The threads meet at a barrier every {@value #ROUND} events, where the global virtual
+ * time is found as the earliest event not yet executed. Events before it can no longer be
+ * rolled back, so they are passed to the sink in order of virtual time and counted as
+ * run() counts them, and their saved Shops and draws are dropped. Until the next
+ * barrier, only events within a window of simulated time past the global virtual time
+ * are executed. The window widens while most of what is executed is committed, and
+ * narrows while most is rolled back, so when the threads keep undoing each other's work
+ * the engine falls back to little more than the sequential run.</p>
+ */
+class TimeWarpEngine {
+
+    /**
+     * Most events a thread executes between meetings at the barrier, which bounds how
+     * far it runs ahead of the others, and how much is kept to roll back to.
+     */
+    private static final int ROUND = 256;
+
+    /**
+     * Number of groups of servers made for each thread, so a group that is rolled back
+     * holds only some of the servers of its thread.
+     */
+    private static final int GROUPS_PER_THREAD = 4;
+
+    /**
+     * Streams shared by the servers, as indices into the {@link DrawLedger}.
+     */
+    private static final int SERVICE = 0;
+    private static final int REST = 1;
+    private static final int REST_PERIOD = 2;
+
+    /**
+     * Logical processes, where the group of each server is found by its ID, the threads
+     * running them, and the ledger of draws they share.
+     */
+    private final Door door;
+    private final List<LogicalProcess> processes = new ArrayList<>();
+    private final Group[] groupOf;
+    private final Worker[] workers;
+    private final DrawLedger ledger;
+    private final ArrivalSource arrivals;
+    private final CyclicBarrier barrier;
+
+    /**
+     * Where committed events go, with the statistics of those committed so far, which
+     * are only touched at the barrier.
+     */
+    private EventSink sink;
+    private int numCustomersServed;
+    private double totalWait;
+
+    /**
+     * Global virtual time found at the last barrier, the window of simulated time past it
+     * within which events are executed until the next, and the time the window ends at.
+     */
+    private VirtualTime gvt;
+    private double window;
+    private double windowEnd;
+
+    /**
+     * Set at the barrier once every event is committed, or a thread has failed.
+     */
+    private boolean finished;
+    private volatile Throwable failure;
+
+    /**
+     * Whether each thread runs its logical processes in turn, as set by {@link #inTurn}.
+     */
+    private boolean inTurn;
+
+    /**
+     * Initialises the engine.
+     * @param numOfServers  Number of human servers, each of whom has a queue of his/her own.
+     * @param pools         Pools of self-checkout counters, which each share a queue.
+     * @param shops         Creates a copy of the Shop whose servers draw from a given
+     *                      RandomGenerator.
+     * @param random        RandomGenerator of the run, whose streams are drawn from.
+     * @param arrivals      Source of the customers arriving at the shop.
+     * @param parallelism   Number of threads to run on.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    TimeWarpEngine(int numOfServers, List<ServerPool> pools,
+                   Function<RandomGenerator, Shop> shops, RandomGenerator random,
+                   ArrivalSource arrivals, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism " + parallelism);
+        }
+        this.ledger = new DrawLedger(random);
+        this.arrivals = arrivals;
+        this.door = new Door(shops.apply(random));
+        this.processes.add(this.door);
+        //each human server and each pool is kept whole in one group, dealt out in turn
+        int numOfGroups = Math.min(numOfServers + pools.size(),
+                parallelism * GROUPS_PER_THREAD);
+        int numOfIDs = numOfServers + pools.stream().mapToInt(ServerPool::size).sum();
+        List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < numOfGroups; i++) {
+            Group group = new Group(shops, random);
+            groups.add(group);
+            this.processes.add(group);
+        }
+        this.groupOf = new Group[numOfIDs + 1];
+        for (int id = 1; id <= numOfServers; id++) {
+            this.groupOf[id] = groups.get((id - 1) % numOfGroups);
+        }
+        for (int i = 0; i < pools.size(); i++) {
+            Group group = groups.get((numOfServers + i) % numOfGroups);
+            ServerPool pool = pools.get(i);
+            Arrays.fill(this.groupOf, pool.getFirstID(), pool.getFirstID() + pool.size(),
+                    group);
+        }
+        this.workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            this.workers[i] = new Worker();
+        }
+        for (int i = 0; i < this.processes.size(); i++) {
+            this.workers[i % parallelism].processes.add(this.processes.get(i));
+        }
+        this.barrier = new CyclicBarrier(parallelism, this::advance);
+    }
+
+    /**
+     * Makes each thread run its logical processes in turn, each as far as the window
+     * allows, instead of always taking the earliest item among them. Logical processes
+     * then run ahead of each other even on one thread, and are rolled back, which the
+     * output does not depend on. Used to test rollbacks.
+     * @return      This engine.
+     */
+    TimeWarpEngine inTurn() {
+        this.inTurn = true;
+        return this;
+    }
+
+    /**
+     * Gives the number of steps rolled back, once the run has ended.
+     * @return      The number of steps undone, over every logical process.
+     */
+    long getNumRolledBack() {
+        return this.processes.stream().mapToLong(lp -> lp.numRolledBack).sum();
+    }
+
+    /**
+     * Runs the simulation, sending each event and the final statistics to a sink, on the
+     * thread that calls it and as many more as needed. Every call to the sink is made by
+     * one thread at a time, in the order run() makes them.
+     * @param sink      Receives the output of the simulation.
+     */
+    void run(EventSink sink) {
+        this.sink = sink;
+        this.gvt = VirtualTime.INFINITY;
+        if (this.arrivals.hasNext()) {
+            Customer first = this.arrivals.next();
+            this.gvt = VirtualTime.of(first.getArrivalTime(), first.getCustomerID());
+            this.door.pending.add(new Item(this.gvt, new ArriveEvent(first), this.door));
+        }
+        this.windowEnd = this.gvt.time;
+        Thread[] threads = new Thread[this.workers.length - 1];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(this.workers[i + 1], "time-warp-" + (i + 1));
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        this.workers[0].run();
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        Throwable failed = this.failure;
+        if (failed instanceof RuntimeException) {
+            throw (RuntimeException) failed;
+        } else if (failed instanceof Error) {
+            throw (Error) failed;
+        } else if (failed != null) {
+            throw new IllegalStateException("time warp was interrupted", failed);
+        }
+        //every customer generated has arrived, as in run()
+        int numLeft = this.arrivals.numGenerated() - this.numCustomersServed;
+        double averageWait = this.numCustomersServed == 0 ? 0.0
+                : this.totalWait / (double) this.numCustomersServed;
+        sink.summary(averageWait, this.numCustomersServed, numLeft);
+        sink.flush();
+    }
+
+    /**
+     * Keeps the first error of any thread, which stops every thread at the next barrier.
+     */
+    private synchronized void fail(Throwable t) {
+        if (this.failure == null) {
+            this.failure = t;
+        }
+    }
+
+    /**
+     * Runs at the barrier, while every thread waits. Delivers whatever is still on its
+     * way, finds the global virtual time, and commits the events before it.
+     */
+    private void advance() {
+        try {
+            if (this.failure != null) {
+                this.finished = true;
+                return;
+            }
+            boolean delivered = true;
+            while (delivered) {
+                //rolling back may send cancellations, which may roll back others
+                delivered = false;
+                for (LogicalProcess lp : this.processes) {
+                    delivered |= lp.receive();
+                }
+            }
+            VirtualTime gvt = VirtualTime.INFINITY;
+            for (LogicalProcess lp : this.processes) {
+                if (!lp.pending.isEmpty() && lp.pending.first().time.compareTo(gvt) < 0) {
+                    gvt = lp.pending.first().time;
+                }
+            }
+            VirtualTime last = this.gvt;
+            int numCommitted = this.commit(gvt);
+            long numExecuted = 0;
+            for (Worker worker : this.workers) {
+                numExecuted += worker.numExecuted;
+                worker.numExecuted = 0;
+            }
+            this.finished = gvt == VirtualTime.INFINITY;
+            if (!this.finished) {
+                //widens by the time just committed, so a window of nothing grows
+                if (numCommitted * 2 >= numExecuted) {
+                    this.window = 2 * this.window + (gvt.time - last.time);
+                } else {
+                    this.window /= 2;
+                }
+                this.gvt = gvt;
+                this.windowEnd = gvt.time + this.window;
+            }
+        } catch (RuntimeException | Error e) {
+            this.fail(e);
+            this.finished = true;
+        }
+    }
+
+    /**
+     * Passes the events executed before a virtual time to the sink, in order of virtual
+     * time, and drops what was kept to roll them back.
+     * @param gvt       Global virtual time, before which nothing is rolled back.
+     * @return          Number of steps committed.
+     */
+    private int commit(VirtualTime gvt) {
+        List<Step> steps = new ArrayList<>();
+        for (LogicalProcess lp : this.processes) {
+            while (!lp.processed.isEmpty()
+                    && lp.processed.peekFirst().item.time.compareTo(gvt) < 0) {
+                steps.add(lp.processed.pollFirst());
+            }
+        }
+        steps.sort((x, y) -> x.item.time.compareTo(y.item.time));
+        for (Step step : steps) {
+            Event e = step.item.event;
+            if (e == null) {
+                //a change sent to the door is not an event of run()
+                continue;
+            }
+            Event next = step.next;
+            int currentState = e.getEventType().getValue();
+            int nextState = next.getEventType().getValue();
+            this.sink.transition(e, next);
+            if (!(currentState == 2 && nextState != 5) && (currentState <= 5)) {
+                this.sink.accept(e);
+            }
+            if (currentState == 2 && nextState == 5) {
+                this.totalWait += e.eventStartTime() - e.getCustomer().getArrivalTime();
+                this.numCustomersServed++;
+            }
+        }
+        this.ledger.commit(gvt);
+        return steps.size();
+    }
+
+    /**
+     * Position of an event in the order run() executes events in. Events are executed in
+     * order of start time and customer ID, except that an event whose next event would
+     * come before it, such as the SERVE of a customer who has just arrived, is followed
+     * at once by that event, which takes the time and customer of the first with a
+     * higher step.
+     */
+    private static final class VirtualTime implements Comparable<VirtualTime> {
+
+        /**
+         * Virtual time after every event, once none is left.
+         */
+        static final VirtualTime INFINITY = new VirtualTime(Double.POSITIVE_INFINITY,
+                Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        private final double time;
+        private final int customerID;
+        private final int step;
+
+        private VirtualTime(double time, int customerID, int step) {
+            this.time = time;
+            this.customerID = customerID;
+            this.step = step;
+        }
+
+        /**
+         * Gives the virtual time of an event taken from the future event list.
+         * @param time          Start time of the event.
+         * @param customerID    ID of its customer.
+         * @return              The virtual time.
+         */
+        static VirtualTime of(double time, int customerID) {
+            return new VirtualTime(time, customerID, 0);
+        }
+
+        /**
+         * Gives the virtual time of the event given by executing the event at this time.
+         * @param next      The next event.
+         * @return          The virtual time of the next event.
+         */
+        VirtualTime next(Event next) {
+            double t = next.eventStartTime();
+            int id = next.getCustomer().getCustomerID();
+            if (t > this.time || (t == this.time && id > this.customerID)) {
+                return new VirtualTime(t, id, 0);
+            }
+            return new VirtualTime(this.time, this.customerID, this.step + 1);
+        }
+
+        @Override
+        public int compareTo(VirtualTime other) {
+            if (this.time != other.time) {
+                return this.time < other.time ? -1 : 1;
+            }
+            if (this.customerID != other.customerID) {
+                return Integer.compare(this.customerID, other.customerID);
+            }
+            return Integer.compare(this.step, other.step);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f/%d/%d", this.time, this.customerID, this.step);
+        }
+
+    }
+
+    /**
+     * Something for a logical process to execute at a virtual time: an event, or a
+     * change of a server and its queue sent to the door. An item that is yet to be
+     * cancelled may have the virtual time of the one that replaces it, so items of the
+     * same virtual time are told apart by the order they were made in.
+     */
+    private static final class Item implements Comparable<Item> {
+
+        private static final AtomicLong NUM_MADE = new AtomicLong();
+
+        final VirtualTime time;
+        final long serial = NUM_MADE.getAndIncrement();
+        final Event event;
+        final Server server;
+        final ServerPool pool;
+        final LogicalProcess owner;
+
+        /**
+         * Set once the logical process that sent this has rolled back sending it.
+         */
+        boolean cancelled;
+
+        /**
+         * Arrival of the next customer, for an ARRIVE, kept once generated so that the
+         * same customer arrives whenever it is executed again.
+         */
+        Item nextArrival;
+        boolean arrivalGenerated;
+
+        Item(VirtualTime time, Event event, LogicalProcess owner) {
+            this(time, event, null, null, owner);
+        }
+
+        Item(VirtualTime time, Event event, Server server, ServerPool pool,
+             LogicalProcess owner) {
+            this.time = time;
+            this.event = event;
+            this.server = server;
+            this.pool = pool;
+            this.owner = owner;
+        }
+
+        @Override
+        public int compareTo(Item other) {
+            int res = this.time.compareTo(other.time);
+            return res != 0 ? res : Long.compare(this.serial, other.serial);
+        }
+
+    }
+
+    /**
+     * An item executed by a logical process, with the Shop saved before it and what it
+     * sent, so that it can be rolled back.
+     */
+    private static final class Step {
+
+        final Item item;
+        final Shop before;
+        final List<Item> sent = new ArrayList<>(2);
+        Event next;
+        int draws;
+
+        Step(Item item, Shop before) {
+            this.item = item;
+            this.before = before;
+        }
+
+    }
+
+    /**
+     * What a logical process receives from the others: an item, the cancellation of an
+     * item, or the news that a draw must be made again.
+     */
+    private static final class Message {
+
+        static final int DELIVER = 0;
+        static final int CANCEL = 1;
+        static final int REDRAW = 2;
+
+        final int kind;
+        final Item item;
+        final VirtualTime time;
+
+        Message(int kind, Item item, VirtualTime time) {
+            this.kind = kind;
+            this.item = item;
+            this.time = time;
+        }
+
+    }
+
+    /**
+     * A part of the shop which executes its own events, in order of virtual time, on
+     * one thread at a time.
+     */
+    private abstract class LogicalProcess {
+
+        final ConcurrentLinkedQueue<Message> inbox = new ConcurrentLinkedQueue<>();
+        final TreeSet<Item> pending = new TreeSet<>();
+        final ArrayDeque<Step> processed = new ArrayDeque<>();
+        Shop shop;
+
+        /**
+         * Step being executed, whose draws are recorded in it.
+         */
+        Step current;
+
+        /**
+         * Number of steps undone by rollbacks.
+         */
+        long numRolledBack;
+
+        LogicalProcess(Shop shop) {
+            this.shop = shop;
+        }
+
+        /**
+         * Executes an item, updating the Shop of this logical process.
+         * @param step      Step of the item, to which the next event is written.
+         */
+        abstract void execute(Step step);
+
+        /**
+         * Takes in everything sent to this logical process, rolling back whatever came
+         * in too late for.
+         * @return      True if anything was received.
+         */
+        boolean receive() {
+            boolean received = false;
+            for (Message m = this.inbox.poll(); m != null; m = this.inbox.poll()) {
+                received = true;
+                if (m.kind == Message.DELIVER) {
+                    this.rollback(m.item.time);
+                    this.pending.add(m.item);
+                } else if (m.kind == Message.CANCEL) {
+                    m.item.cancelled = true;
+                    if (!this.pending.remove(m.item)) {
+                        this.rollback(m.item.time);
+                    }
+                } else {
+                    this.rollback(m.time);
+                }
+            }
+            return received;
+        }
+
+        /**
+         * Executes the earliest pending item.
+         */
+        void executeNext() {
+            Step step = new Step(this.pending.pollFirst(), this.shop);
+            this.current = step;
+            this.execute(step);
+            this.current = null;
+            this.processed.addLast(step);
+        }
+
+        /**
+         * Undoes every step executed at or after a virtual time, latest first.
+         * @param time      The virtual time.
+         */
+        void rollback(VirtualTime time) {
+            while (!this.processed.isEmpty()
+                    && this.processed.peekLast().item.time.compareTo(time) >= 0) {
+                Step step = this.processed.pollLast();
+                this.numRolledBack++;
+                this.shop = step.before;
+                for (Item item : step.sent) {
+                    if (item.owner == this) {
+                        this.pending.remove(item);
+                    } else {
+                        item.owner.inbox.add(new Message(Message.CANCEL, item, null));
+                    }
+                }
+                TimeWarpEngine.this.ledger.undo(step, this);
+                if (!step.item.cancelled) {
+                    this.pending.add(step.item);
+                }
+            }
+        }
+
+        /**
+         * Sends an item to the logical process that executes it.
+         * @param step      Step sending it, which cancels it if rolled back.
+         * @param item      The item.
+         */
+        void send(Step step, Item item) {
+            step.sent.add(item);
+            if (item.owner == this) {
+                this.pending.add(item);
+            } else {
+                item.owner.inbox.add(new Message(Message.DELIVER, item, null));
+            }
+        }
+
+        /**
+         * Executes the event of an item against the Shop, and schedules its next event
+         * with the logical process of its server, or with the door if it has none.
+         * @param step      Step of the item.
+         */
+        void executeEvent(Step step) {
+            Pair<Shop, Event> result = step.item.event.execute(this.shop);
+            this.shop = result.first();
+            Event next = result.second();
+            step.next = next;
+            int nextState = next.getEventType().getValue();
+            if (nextState > 1 && nextState <= 7) {
+                LogicalProcess owner = next.getServerID() == 0
+                        ? TimeWarpEngine.this.door
+                        : TimeWarpEngine.this.groupOf[next.getServerID()];
+                this.send(step, new Item(step.item.time.next(next), next, owner));
+            }
+        }
+
+    }
+
+    /**
+     * Logical process of the arrivals, and of the customers who leave.
+     */
+    private final class Door extends LogicalProcess {
+
+        Door(Shop shop) {
+            super(shop);
+        }
+
+        @Override
+        void execute(Step step) {
+            Item item = step.item;
+            if (item.event == null) {
+                this.shop = this.shop.replace(item.server);
+                if (item.pool != null) {
+                    this.shop = this.shop.replacePool(item.server.getServerIdentifier(),
+                            item.pool);
+                }
+                return;
+            }
+            if (item.event.getEventType() == EventType.ARRIVE) {
+                //schedules the next arrival only when this customer arrives
+                if (!item.arrivalGenerated) {
+                    item.arrivalGenerated = true;
+                    ArrivalSource source = TimeWarpEngine.this.arrivals;
+                    if (source.hasNext()) {
+                        Customer c = source.next();
+                        item.nextArrival = new Item(VirtualTime.of(c.getArrivalTime(),
+                                c.getCustomerID()), new ArriveEvent(c), this);
+                    }
+                }
+                if (item.nextArrival != null) {
+                    this.send(step, item.nextArrival);
+                }
+            }
+            this.executeEvent(step);
+        }
+
+    }
+
+    /**
+     * Logical process of a group of servers, whose draws are made through the ledger.
+     * Sends the door each change of whether a server is idle, or of the length of its
+     * queue.
+     */
+    private final class Group extends LogicalProcess {
+
+        Group(Function<RandomGenerator, Shop> shops, RandomGenerator random) {
+            super(null);
+            this.shop = shops.apply(new LedgerRandom(random, this));
+        }
+
+        @Override
+        void execute(Step step) {
+            int serverID = step.item.event.getServerID();
+            Shop before = this.shop;
+            this.executeEvent(step);
+            Server was = before.get(serverID);
+            Server now = this.shop.get(serverID);
+            ServerPool pool = this.shop.getPool(serverID);
+            boolean idleChanged = (was.isAvailable() && !was.isResting())
+                    != (now.isAvailable() && !now.isResting());
+            boolean queueChanged = before.getPool(serverID).getQueueLength()
+                    != pool.getQueueLength();
+            if (idleChanged || queueChanged) {
+                this.send(step, new Item(step.item.time, null, now,
+                        queueChanged ? pool : null, TimeWarpEngine.this.door));
+            }
+        }
+
+        /**
+         * Draws the variate of a shared stream for the step being executed.
+         * @param stream    The stream.
+         * @return          The variate at the place of the step in the stream.
+         */
+        double draw(int stream) {
+            Step step = this.current;
+            step.draws |= 1 << stream;
+            return TimeWarpEngine.this.ledger.draw(stream, step.item, this);
+        }
+
+    }
+
+    /**
+     * RandomGenerator of the servers of a group, which draws the variates of the shared
+     * streams through the ledger.
+     */
+    private static final class LedgerRandom extends RandomGenerator {
+
+        private final Group group;
+
+        LedgerRandom(RandomGenerator random, Group group) {
+            super(random);
+            this.group = group;
+        }
+
+        @Override
+        double genServiceTime() {
+            return this.group.draw(SERVICE);
+        }
+
+        @Override
+        double genRandomRest() {
+            return this.group.draw(REST);
+        }
+
+        @Override
+        double genRestPeriod() {
+            return this.group.draw(REST_PERIOD);
+        }
+
+    }
+
+    /**
+     * Draws of the streams shared by the servers which are not yet committed, in order of
+     * virtual time, with the variates of the stream from the first of them. Guarded by
+     * this object, as every group draws from it.
+     */
+    private static final class DrawLedger {
+
+        private final Stream[] streams;
+
+        DrawLedger(RandomGenerator random) {
+            this.streams = new Stream[] {new Stream(random::genServiceTime),
+                new Stream(random::genRandomRest), new Stream(random::genRestPeriod)};
+        }
+
+        /**
+         * Places a draw, and gives the variate at its place in the stream.
+         * @param stream    The stream drawn from.
+         * @param item      Item of the step drawing.
+         * @param group     Group of the step.
+         * @return          The variate.
+         */
+        synchronized double draw(int stream, Item item, Group group) {
+            return this.streams[stream].draw(item, group);
+        }
+
+        /**
+         * Removes the draws of a step that is rolled back.
+         * @param step      The step.
+         * @param lp        Logical process of the step.
+         */
+        synchronized void undo(Step step, LogicalProcess lp) {
+            for (int i = 0; i < this.streams.length; i++) {
+                if ((step.draws & (1 << i)) != 0) {
+                    this.streams[i].undo(step.item, lp);
+                }
+            }
+        }
+
+        /**
+         * Drops the draws before the global virtual time, which are final.
+         * @param gvt       Global virtual time.
+         */
+        synchronized void commit(VirtualTime gvt) {
+            for (Stream stream : this.streams) {
+                stream.commit(gvt);
+            }
+        }
+
+    }
+
+    /**
+     * Draws of one shared stream which are not yet committed, and the variates from the
+     * first of them, in the order the stream gives them.
+     */
+    private static final class Stream {
+
+        private final DoubleSupplier source;
+        private final TreeMap<Item, LogicalProcess> draws = new TreeMap<>();
+        private double[] values = new double[64];
+        private int numValues;
+
+        Stream(DoubleSupplier source) {
+            this.source = source;
+        }
+
+        double draw(Item item, LogicalProcess lp) {
+            this.redrawAfter(item);
+            int place = this.draws.size();
+            this.draws.put(item, lp);
+            while (this.numValues <= place) {
+                if (this.numValues == this.values.length) {
+                    this.values = Arrays.copyOf(this.values, this.values.length * 2);
+                }
+                this.values[this.numValues++] = this.source.getAsDouble();
+            }
+            return this.values[place];
+        }
+
+        void undo(Item item, LogicalProcess lp) {
+            if (this.draws.remove(item) != null) {
+                this.redrawAfter(item);
+            }
+        }
+
+        /**
+         * Removes every draw after that of an item, whose place in the stream has moved,
+         * and has its logical process draw it again.
+         */
+        private void redrawAfter(Item item) {
+            NavigableMap<Item, LogicalProcess> later = this.draws.tailMap(item, false);
+            for (Map.Entry<Item, LogicalProcess> e : later.entrySet()) {
+                e.getValue().inbox.add(new Message(Message.REDRAW, null, e.getKey().time));
+            }
+            later.clear();
+        }
+
+        void commit(VirtualTime gvt) {
+            int n = 0;
+            while (!this.draws.isEmpty() && this.draws.firstKey().time.compareTo(gvt) < 0) {
+                this.draws.pollFirstEntry();
+                n++;
+            }
+            System.arraycopy(this.values, n, this.values, 0, this.numValues - n);
+            this.numValues -= n;
+        }
+
+    }
+
+    /**
+     * Thread running some of the logical processes, each time taking the earliest
+     * pending item among them.
+     */
+    private final class Worker implements Runnable {
+
+        final List<LogicalProcess> processes = new ArrayList<>();
+
+        /**
+         * Number of steps executed in this round, read and reset at the barrier.
+         */
+        long numExecuted;
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    if (TimeWarpEngine.this.failure == null) {
+                        try {
+                            this.round();
+                        } catch (RuntimeException | Error e) {
+                            TimeWarpEngine.this.fail(e);
+                        }
+                    }
+                    TimeWarpEngine.this.barrier.await();
+                    if (TimeWarpEngine.this.finished) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                TimeWarpEngine.this.fail(e);
+            } catch (BrokenBarrierException e) {
+                //another thread was interrupted, and has kept why
+            }
+        }
+
+        private void round() {
+            if (TimeWarpEngine.this.inTurn) {
+                this.roundInTurn();
+                return;
+            }
+            for (int n = 0; n < ROUND; n++) {
+                LogicalProcess next = null;
+                for (LogicalProcess lp : this.processes) {
+                    lp.receive();
+                    if (!lp.pending.isEmpty() && (next == null
+                            || lp.pending.first().compareTo(next.pending.first()) < 0)) {
+                        next = lp;
+                    }
+                }
+                if (next == null
+                        || next.pending.first().time.time > TimeWarpEngine.this.windowEnd) {
+                    return;
+                }
+                next.executeNext();
+                this.numExecuted++;
+            }
+        }
+
+        /**
+         * Runs each logical process in turn, for at most {@value #ROUND} events each, so
+         * the one holding the earliest item always executes it.
+         */
+        private void roundInTurn() {
+            for (LogicalProcess lp : this.processes) {
+                lp.receive();
+                for (int n = 0; n < ROUND && !lp.pending.isEmpty()
+                        && lp.pending.first().time.time <= TimeWarpEngine.this.windowEnd; n++) {
+                    lp.executeNext();
+                    this.numExecuted++;
+                    lp.receive();
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,208 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decoder of a binary trace written by {@link TraceWriter}, which replays the events
+ * of the trace into an {@link EventSink}, such as a {@link BufferedEventWriter} to get
+ * back exactly the text output of the simulation.
+ *
+ * <p>While replaying, the reader computes the statistics of the simulation from the
+ * events themselves, adding up the time waited by each customer served in the same
+ * order as EventRunner does, so they match the record of the final statistics. A
+ * trace cut short, such as by a crash, is replayed up to its last whole record, and
+ * ends with the statistics computed so far. Arrival times are only kept for
+ * customers still in the shop at each point in the trace.</p>
+ */
+public class TraceReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final EventType[] TYPES = EventType.values();
+
+    /**
+     * The trace to read.
+     */
+    private final Path file;
+
+    /**
+     * Statistics computed from the events of the last replay, with the time waited by
+     * each customer served.
+     */
+    private int numServed;
+    private int numLeft;
+    private double totalWait;
+    private SampleStats wait = new SampleStats();
+
+    /**
+     * Initialises a reader of a trace.
+     * @param file      The trace file.
+     */
+    public TraceReader(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Passes every event of the trace to a sink, followed by the final statistics,
+     * which are those recorded in the trace if it has them, or else those computed
+     * from its events. The sink is flushed at the end.
+     * @param sink      Receives the output of the simulation.
+     * @throws IOException if the file cannot be read, or is not a trace.
+     */
+    public void replay(EventSink sink) throws IOException {
+        this.numServed = 0;
+        this.numLeft = 0;
+        this.totalWait = 0.0;
+        this.wait = new SampleStats();
+        Map<Integer, Double> arrivals = new HashMap<>();
+        boolean summarised = false;
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.limit(0);
+            boolean eof = fill(channel, buffer);
+            if (buffer.remaining() < Integer.BYTES + 1 || buffer.getInt() != TraceWriter.MAGIC) {
+                throw new IOException(this.file + " is not a trace");
+            }
+            byte version = buffer.get();
+            if (version != TraceWriter.VERSION) {
+                throw new IOException("trace version " + version + " is not supported");
+            }
+            long timeBits = 0;
+            int customerID = 0;
+            while (!summarised) {
+                if (!eof && buffer.remaining() < TraceWriter.MAX_RECORD) {
+                    eof = fill(channel, buffer);
+                }
+                if (!buffer.hasRemaining()) {
+                    break;
+                }
+                try {
+                    int tag = buffer.get() & 0xFF;
+                    int code = tag & TraceWriter.TYPE_MASK;
+                    if (code == TraceWriter.SUMMARY) {
+                        double averageWait = Double.longBitsToDouble(buffer.getLong());
+                        int served = (int) getVarLong(buffer);
+                        int left = (int) getVarLong(buffer);
+                        sink.summary(averageWait, served, left);
+                        summarised = true;
+                        break;
+                    }
+                    if (code >= EventType.DONE.getValue()) {
+                        throw new IOException("bad record tag " + tag + " in " + this.file);
+                    }
+                    EventType type = TYPES[code];
+                    timeBits += unzigzag(getVarLong(buffer));
+                    customerID += (int) unzigzag(getVarLong(buffer));
+                    int serverID = TraceWriter.hasServer(type) ? (int) getVarLong(buffer) : 0;
+                    double time = Double.longBitsToDouble(timeBits);
+                    double arrival = this.arrivalOf(type, customerID, time, arrivals);
+                    sink.accept(type, time, customerID, arrival,
+                            (tag & TraceWriter.GREEDY) != 0,
+                            (tag & TraceWriter.SELF_CHECK) != 0 ? 1 : 0, serverID);
+                } catch (BufferUnderflowException e) {
+                    //the trace was cut short in the middle of this record
+                    break;
+                }
+            }
+        }
+        if (!summarised) {
+            sink.summary(this.getAverageWait(), this.numServed, this.numLeft);
+        }
+        sink.flush();
+    }
+
+    /**
+     * Follows a customer through an event, and updates the statistics.
+     * @return      The arrival time of the customer.
+     */
+    private double arrivalOf(EventType type, int customerID, double time,
+                             Map<Integer, Double> arrivals) {
+        switch (type) {
+            case ARRIVE:
+                arrivals.put(customerID, time);
+                return time;
+            case SERVE: {
+                double arrival = arrivals.getOrDefault(customerID, time);
+                this.totalWait += time - arrival;
+                this.wait.add(time - arrival);
+                this.numServed++;
+                return arrival;
+            }
+            case LEAVE:
+                this.numLeft++;
+                return this.remove(customerID, time, arrivals);
+            case DONE:
+                return this.remove(customerID, time, arrivals);
+            default:
+                return arrivals.getOrDefault(customerID, time);
+        }
+    }
+
+    /**
+     * Forgets a customer who has left the shop.
+     * @return      The arrival time of the customer.
+     */
+    private double remove(int customerID, double time, Map<Integer, Double> arrivals) {
+        Double arrival = arrivals.remove(customerID);
+        return arrival == null ? time : arrival;
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer, and reads more after them.
+     * @return      True if the end of the file was reached.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.compact();
+        boolean eof = false;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                eof = true;
+                break;
+            }
+        }
+        buffer.flip();
+        return eof;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint too long");
+    }
+
+    /**
+     * Getter methods, for the statistics computed from the events of the last replay.
+     */
+    public int getNumServed() {
+        return this.numServed;
+    }
+
+    public int getNumLeft() {
+        return this.numLeft;
+    }
+
+    public double getAverageWait() {
+        return this.numServed == 0 ? 0.0 : this.totalWait / this.numServed;
+    }
+
+    public SampleStats getWait() {
+        return this.wait;
+    }
+
+}
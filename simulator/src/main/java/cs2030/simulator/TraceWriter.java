@@ -0,0 +1,204 @@
+package cs2030.simulator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link EventSink} which writes the output of a simulation to a file as a compact
+ * binary trace, which {@link TraceReader} turns back into the usual text output.
+ *
+ * <p>The file starts with the characters "CSTR" and a version byte. Each event of the
+ * output is then a record of a tag byte, holding the type of the event, whether the
+ * customer is greedy and whether he/she is served by a self-checkout counter, followed
+ * by the bits of the event time less those of the last event's, and the customer ID
+ * less the last event's, each as a zigzag varint. SERVE, WAIT and DONE events end with
+ * the server ID as a varint. As the times of the output never decrease, and customers
+ * in the shop at once have close IDs, most records take a few bytes instead of a line
+ * of text. The trace ends with a record of the final statistics.</p>
+ *
+ * <p>Records are gathered in a buffer and written through a FileChannel when it is
+ * full or flushed.</p>
+ */
+public class TraceWriter implements EventSink, AutoCloseable {
+
+    /**
+     * First bytes of every trace, "CSTR", and the version of the format.
+     */
+    static final int MAGIC = 0x43535452;
+    static final byte VERSION = 1;
+
+    /**
+     * Parts of the tag byte of a record. The low 3 bits hold the value of the EventType
+     * less 1, or SUMMARY for the record of the final statistics.
+     */
+    static final int TYPE_MASK = 0x07;
+    static final int SUMMARY = 0x07;
+    static final int GREEDY = 0x08;
+    static final int SELF_CHECK = 0x10;
+
+    /**
+     * Most bytes taken by a record: a tag, two varints of a long and one of an int.
+     */
+    static final int MAX_RECORD = 1 + 10 + 10 + 5;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Channel that receives the trace, and the records not yet written to it.
+     */
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Bits of the time and the customer ID of the last record, which the next record
+     * is written relative to.
+     */
+    private long lastTimeBits;
+    private int lastCustomerID;
+
+    /**
+     * Initialises a writer, and writes the start of the trace.
+     * @param channel   Channel to write the trace to, which is closed by {@link #close}.
+     */
+    public TraceWriter(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.putInt(MAGIC);
+        this.buffer.put(VERSION);
+    }
+
+    /**
+     * Creates a writer of a new trace file, replacing any file there.
+     * @param file      The file to write.
+     * @return          The writer.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static TraceWriter open(Path file) throws IOException {
+        return new TraceWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    @Override
+    public void accept(Event e) {
+        Customer c = e.getCustomer();
+        this.write(e.getEventType(), e.eventStartTime(), c.getCustomerID(), c.isGreedy(),
+                c.getServerType(), e.getServerID());
+    }
+
+    @Override
+    public void accept(EventType type, double time, int customerID, double arrivalTime,
+                       boolean greedy, int serverType, int serverID) {
+        this.write(type, time, customerID, greedy, serverType, serverID);
+    }
+
+    /**
+     * Writes the record of one event of the output.
+     * @param type          Type of the event, which is ARRIVE, SERVE, WAIT, LEAVE or DONE.
+     * @param time          Start time of the event.
+     * @param customerID    ID of the customer.
+     * @param greedy        Whether the customer is greedy.
+     * @param serverType    1 if the customer is served by a self-checkout counter.
+     * @param serverID      ID of the server of the event, if any.
+     */
+    public void write(EventType type, double time, int customerID, boolean greedy,
+                      int serverType, int serverID) {
+        this.ensureSpace();
+        int tag = type.getValue() - 1;
+        if (greedy) {
+            tag |= GREEDY;
+        }
+        if (serverType == 1) {
+            tag |= SELF_CHECK;
+        }
+        this.buffer.put((byte) tag);
+        long timeBits = Double.doubleToRawLongBits(time);
+        putVarLong(this.buffer, zigzag(timeBits - this.lastTimeBits));
+        putVarLong(this.buffer, zigzag((long) customerID - this.lastCustomerID));
+        if (hasServer(type)) {
+            putVarLong(this.buffer, Integer.toUnsignedLong(serverID));
+        }
+        this.lastTimeBits = timeBits;
+        this.lastCustomerID = customerID;
+    }
+
+    /**
+     * Writes the record of the final statistics.
+     */
+    @Override
+    public void summary(double averageWait, int numServed, int numLeft) {
+        this.ensureSpace();
+        this.buffer.put((byte) SUMMARY);
+        this.buffer.putLong(Double.doubleToRawLongBits(averageWait));
+        putVarLong(this.buffer, Integer.toUnsignedLong(numServed));
+        putVarLong(this.buffer, Integer.toUnsignedLong(numLeft));
+    }
+
+    /**
+     * Writes the records held in the buffer to the channel.
+     */
+    @Override
+    public void flush() {
+        this.buffer.flip();
+        try {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes the records held in the buffer, and closes the channel.
+     * @throws IOException if the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private void ensureSpace() {
+        if (this.buffer.remaining() < MAX_RECORD) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Checks whether records of a type end with a server ID.
+     * @param type      Type of the event.
+     * @return          True for SERVE, WAIT and DONE.
+     */
+    static boolean hasServer(EventType type) {
+        return type == EventType.SERVE || type == EventType.WAIT || type == EventType.DONE;
+    }
+
+    /**
+     * Maps a signed number to an unsigned one, so that numbers close to 0 of either
+     * sign take few bytes as a varint.
+     */
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Writes a number 7 bits at a time, from the lowest, with the top bit of each byte
+     * set if more bytes follow.
+     */
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+}
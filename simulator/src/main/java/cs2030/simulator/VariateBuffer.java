@@ -0,0 +1,132 @@
+package cs2030.simulator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Block of variates drawn ahead from one {@link RandomStream}, which the event loop
+ * reads one at a time.
+ *
+ * <p>When the block runs out it is refilled with the next uniform numbers of the
+ * stream, turned into exponential variates by an {@link ExpKernel} for the streams
+ * of times, so each stream still gives its numbers in the order it always did. Blocks
+ * start small and double up to {@value #MAX_BLOCK} values, so short runs do not draw
+ * far past what they use.</p>
+ */
+class VariateBuffer {
+
+    /**
+     * Sizes of the first and largest blocks.
+     */
+    private static final int MIN_BLOCK = 16;
+    private static final int MAX_BLOCK = 512;
+
+    /**
+     * Immutable fields holding the stream, and the rate and kernel of the
+     * exponential distribution, or no kernel for uniform numbers.
+     */
+    private final RandomStream stream;
+    private final double rate;
+    private final ExpKernel kernel;
+
+    /**
+     * The block, the number of values in it and the index of the next value.
+     */
+    private double[] block;
+    private int length;
+    private int next;
+
+    private VariateBuffer(RandomStream stream, double rate, ExpKernel kernel) {
+        this.stream = stream;
+        this.rate = rate;
+        this.kernel = kernel;
+        this.block = new double[MIN_BLOCK];
+    }
+
+    /**
+     * Creates a buffer of exponential variates.
+     * @param stream    Stream of uniform numbers the variates are drawn from.
+     * @param rate      Rate of the exponential distribution.
+     * @param kernel    Kernel computing the variates.
+     * @return          The buffer.
+     */
+    static VariateBuffer exponential(RandomStream stream, double rate, ExpKernel kernel) {
+        return new VariateBuffer(stream, rate, kernel);
+    }
+
+    /**
+     * Creates a buffer of the uniform numbers of a stream.
+     * @param stream    Stream of uniform numbers.
+     * @return          The buffer.
+     */
+    static VariateBuffer uniform(RandomStream stream) {
+        return new VariateBuffer(stream, 0, null);
+    }
+
+    /**
+     * Gives the next variate.
+     * @return  The next variate of the stream.
+     */
+    double next() {
+        if (this.next == this.length) {
+            this.fill();
+        }
+        return this.block[this.next++];
+    }
+
+    private void fill() {
+        if (this.length == this.block.length && this.block.length < MAX_BLOCK) {
+            this.block = new double[this.block.length * 2];
+        }
+        double[] values = this.block;
+        int n = values.length;
+        for (int i = 0; i < n; i++) {
+            values[i] = this.stream.nextDouble();
+        }
+        if (this.kernel != null) {
+            this.kernel.exponential(values, n, this.rate);
+        }
+        this.length = n;
+        this.next = 0;
+    }
+
+    /**
+     * Writes the state of the buffer, with the variates not yet read and the state of
+     * its stream, for a {@link Checkpoint}.
+     * @param out       Where to write the state.
+     * @throws IOException if the state cannot be written.
+     */
+    void save(DataOutput out) throws IOException {
+        out.writeInt(this.block.length);
+        out.writeInt(this.length);
+        out.writeInt(this.next);
+        for (int i = this.next; i < this.length; i++) {
+            out.writeDouble(this.block[i]);
+        }
+        this.stream.save(out);
+    }
+
+    /**
+     * Sets the state of the buffer to one written by {@link #save}.
+     * @param in        Where to read the state.
+     * @throws IOException if the state cannot be read.
+     */
+    void restore(DataInput in) throws IOException {
+        int size = in.readInt();
+        int length = in.readInt();
+        int next = in.readInt();
+        if (size < MIN_BLOCK || size > MAX_BLOCK || length < 0 || length > size
+                || next < 0 || next > length) {
+            throw new IOException("bad variate block " + size + " " + length + " " + next);
+        }
+        this.block = new double[size];
+        for (int i = next; i < length; i++) {
+            this.block[i] = in.readDouble();
+        }
+        this.length = length;
+        this.next = next;
+        this.stream.restore(in);
+    }
+
+}
@@ -0,0 +1,49 @@
+package cs2030.simulator;
+
+/**
+ * Class which represents a {@link Customer} waiting for his turn
+ * to be served.
+ */
+public class WaitEvent extends Event {
+
+    /** 
+     * Initialises a WAIT event.
+     * @param customer Gives the waiting customer.
+     * @param serverID Indicates the server the customer is waiting for.
+     */
+    public WaitEvent(Customer customer, int serverID) {
+        super(customer, customer.getArrivalTime(), EventType.WAIT, serverID);
+    }
+
+    @Override
+    Pair<Shop, Event> execute(Shop x) {
+        Customer customer = this.getCustomer();
+        int serverID = this.getServerID();
+        Server s = x.get(serverID);
+        //executing wait is not supposed to generate serve, hence we will store the
+        //customer in the queue of the server (shared by the pool for self checkout),
+        //and toggle to EndEvent. The server serves the customer when it becomes
+        //available, in DoneEvent or BackEvent.
+        Server n = s.of(serverID, false, s.isResting(), s.getNextAvailTime(),
+                s.getCustomersInQueue(), s.getRand());
+        Customer d = customer.freeze(s.getNextAvailTime());
+        return Pair.of(x.replace(n).enqueue(serverID, customer), new EndEvent(d));
+    }
+   
+    @Override
+    public String toString() {
+        Customer customer = this.getCustomer();
+        String type = "server ";
+        String greedy = "";
+        if (customer.getServerType() == 1) {
+            type = "self-check ";
+        }
+        if (customer.isGreedy()) {
+            greedy = "(greedy)";
+        }
+        return String.format("%.3f", this.eventStartTime()) + " " +
+                customer.getCustomerID() + greedy +
+                " waits to be served by " + type + this.getServerID();
+    }
+
+}
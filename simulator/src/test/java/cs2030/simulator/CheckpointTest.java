@@ -0,0 +1,53 @@
+package cs2030.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Takes checkpoints of runs that keep their events in each kind of {@link EventQueue},
+ * and checks that a run resumed from the last checkpoint ends as the run did.
+ */
+class CheckpointTest {
+
+    private static final EventRunner RUNNER = new EventRunner(2000, 3, 7, 1.2, 1.0, 0.5,
+            2, 0.3, 0.2, List.of(2, 3));
+
+    @TempDir
+    Path dir;
+
+    private static String output(EventRunner runner) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        runner.run(new BufferedEventWriter(out));
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @ParameterizedTest
+    @EnumSource(EventQueueType.class)
+    void resumesFromTheLastCheckpoint(EventQueueType type) throws IOException {
+        String expected = output(RUNNER);
+        Path file = this.dir.resolve(type + ".ckpt");
+        EventRunner runner = RUNNER.withEventQueue(type)
+                .withCheckpoints(new CheckpointSchedule(file, 997));
+        assertEquals(expected, output(runner));
+
+        Checkpoint checkpoint = Checkpoint.read(file);
+        assertTrue(checkpoint.getEventsExecuted() > 0);
+        ByteArrayOutputStream rest = new ByteArrayOutputStream();
+        RUNNER.withEventQueue(type).resume(checkpoint, new BufferedEventWriter(rest));
+        String[] lines = expected.split("\n", -1);
+        String head = String.join("\n", Arrays.copyOf(lines,
+                (int) checkpoint.getLinesPrinted())) + "\n";
+        assertEquals(expected, head + rest.toString(StandardCharsets.US_ASCII));
+    }
+
+}
@@ -0,0 +1,100 @@
+package cs2030.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.DoubleSupplier;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Checks each kind of {@link EventQueue} against {@link PriorityEventQueue}, over random
+ * sequences of adds and polls in which no event is added before the last event polled.
+ */
+class EventQueueTest {
+
+    private static final int SEEDS = 20;
+    private static final int STEPS = 20_000;
+
+    /**
+     * Gives a random gap between the last event polled and an event added after it,
+     * as drawn by each kind of sequence.
+     */
+    private static DoubleSupplier[] gaps(SplittableRandom random) {
+        return new DoubleSupplier[] {
+            //exponential gaps, as in a simulation
+            () -> -Math.log(1.0 - random.nextDouble()),
+            //gaps on a coarse grid, so many events are at the same time
+            () -> random.nextInt(4) * 0.5,
+            //mostly short gaps, with a few far into the future
+            () -> random.nextInt(50) == 0 ? 1000 * random.nextDouble()
+                    : 0.01 * random.nextDouble(),
+        };
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = EventQueueType.class, names = "PRIORITY",
+            mode = EnumSource.Mode.EXCLUDE)
+    void pollsInTheOrderOfPriorityEventQueue(EventQueueType type) {
+        for (int seed = 0; seed < SEEDS; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            for (DoubleSupplier gap : gaps(random)) {
+                this.check(type, random, gap);
+            }
+        }
+    }
+
+    private void check(EventQueueType type, SplittableRandom random, DoubleSupplier gap) {
+        EventQueue queue = type.create();
+        EventQueue expected = new PriorityEventQueue();
+        double now = 0.0;
+        int nextID = 1;
+        //grow the queue in bursts and drain it again, checking the contents as it goes
+        int target = 1 + random.nextInt(3000);
+        for (int step = 0; step < STEPS; step++) {
+            if (random.nextInt(500) == 0) {
+                target = random.nextInt(3000);
+            }
+            boolean add = expected.isEmpty() || (expected.size() < target
+                    ? random.nextInt(4) != 0 : random.nextInt(4) == 0);
+            if (add) {
+                //IDs are given out of order, so ties at one time are broken by ID
+                int id = nextID + random.nextInt(8);
+                nextID += 8;
+                Event e = new ArriveEvent(new Customer(id, now + gap.getAsDouble()));
+                queue.add(e);
+                expected.add(e);
+            } else {
+                Event e = expected.poll();
+                assertSame(e, queue.poll(), type + " polled out of order");
+                now = e.eventStartTime();
+            }
+            assertEquals(expected.size(), queue.size());
+            assertEquals(expected.isEmpty(), queue.isEmpty());
+            if (random.nextInt(1000) == 0) {
+                assertSameEvents(expected.toList(), queue.toList());
+            }
+        }
+        while (!expected.isEmpty()) {
+            assertSame(expected.poll(), queue.poll(), type + " polled out of order");
+        }
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.toList().isEmpty());
+    }
+
+    private static void assertSameEvents(List<Event> expected, List<Event> actual) {
+        List<Event> sortedExpected = new ArrayList<>(expected);
+        List<Event> sortedActual = new ArrayList<>(actual);
+        sortedExpected.sort(new EventComparator());
+        sortedActual.sort(new EventComparator());
+        assertEquals(sortedExpected.size(), sortedActual.size());
+        for (int i = 0; i < sortedExpected.size(); i++) {
+            assertSame(sortedExpected.get(i), sortedActual.get(i));
+        }
+    }
+
+}
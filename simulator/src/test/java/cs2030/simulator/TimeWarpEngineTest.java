@@ -0,0 +1,117 @@
+package cs2030.simulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Checks that {@link TimeWarpEngine} prints exactly the output of
+ * {@link EventRunner#run(EventSink)}, over several seeds, layouts of shop and horizons,
+ * on one thread and on several, and when its logical processes are made to roll back.
+ */
+class TimeWarpEngineTest {
+
+    private static final int[] SEEDS = {1, 2, 3, 17, 2030};
+    private static final int[] THREADS = {1, 2, 4};
+
+    /**
+     * Layouts of shop, each with the number of customers, human servers, the pools of
+     * self-checkout counters, the longest queue, and the chances of resting and of
+     * being greedy.
+     */
+    static Stream<Arguments> shops() {
+        return Stream.of(
+                Arguments.of(500, 1, List.of(0), 1, 0.0, 0.0),
+                Arguments.of(1500, 3, List.of(0), 2, 0.5, 0.5),
+                Arguments.of(1500, 2, List.of(2, 3), 2, 0.3, 0.2),
+                Arguments.of(1500, 0, List.of(2, 2, 2), 3, 0.3, 0.5),
+                Arguments.of(3000, 12, List.of(3, 3), 4, 0.2, 0.3),
+                Arguments.of(0, 2, List.of(1), 1, 0.5, 0.5),
+                Arguments.of(20, 0, List.of(0), 1, 0.5, 0.5));
+    }
+
+    private static EventRunner runner(int customers, int servers, List<Integer> pools,
+                                      int maxQueue, double probRest, double probGreedy) {
+        double lambda = 0.9 * Math.max(1, servers + pools.stream().mapToInt(i -> i).sum());
+        return new EventRunner(customers, servers, 1, lambda, 1.0, 0.5, maxQueue, probRest,
+                probGreedy, pools);
+    }
+
+    private static String run(EventRunner runner) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        runner.run(new BufferedEventWriter(out));
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static String runTimeWarp(EventRunner runner, int threads) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        runner.runTimeWarp(new BufferedEventWriter(out), threads);
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @ParameterizedTest
+    @MethodSource("shops")
+    void printsTheOutputOfRun(int customers, int servers, List<Integer> pools,
+                              int maxQueue, double probRest, double probGreedy) {
+        EventRunner base = runner(customers, servers, pools, maxQueue, probRest,
+                probGreedy);
+        for (int seed : SEEDS) {
+            EventRunner runner = base.withSeed(seed);
+            String expected = run(runner);
+            for (int threads : THREADS) {
+                assertEquals(expected, runTimeWarp(runner, threads),
+                        "seed " + seed + " on " + threads + " threads");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("shops")
+    void stopsAtTheHorizonOfRun(int customers, int servers, List<Integer> pools,
+                                int maxQueue, double probRest, double probGreedy) {
+        EventRunner base = runner(customers, servers, pools, maxQueue, probRest,
+                probGreedy);
+        for (double horizon : new double[] {0.0, 5.0, 60.0}) {
+            EventRunner runner = base.withNumOfCustomers(EventRunner.UNBOUNDED)
+                    .withHorizon(horizon);
+            String expected = run(runner);
+            for (int threads : THREADS) {
+                assertEquals(expected, runTimeWarp(runner, threads),
+                        "horizon " + horizon + " on " + threads + " threads");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("shops")
+    void rollsBackToTheOutputOfRun(int customers, int servers, List<Integer> pools,
+                                   int maxQueue, double probRest, double probGreedy) {
+        EventRunner base = runner(customers, servers, pools, maxQueue, probRest,
+                probGreedy);
+        for (int seed : SEEDS) {
+            for (RandomMode mode : RandomMode.values()) {
+                EventRunner runner = base.withSeed(seed).withRandomMode(mode);
+                String expected = run(runner);
+                for (int threads : new int[] {1, 3}) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    TimeWarpEngine engine = runner.timeWarp(threads).inTurn();
+                    engine.run(new BufferedEventWriter(out));
+                    assertEquals(expected, out.toString(StandardCharsets.US_ASCII),
+                            "seed " + seed + " " + mode + " on " + threads + " threads");
+                    if (threads == 1 && customers >= 1000) {
+                        //one thread runs the door ahead of the servers every time
+                        assertTrue(engine.getNumRolledBack() > 0, "nothing was rolled back");
+                    }
+                }
+            }
+        }
+    }
+
+}
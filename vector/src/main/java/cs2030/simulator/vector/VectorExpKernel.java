@@ -0,0 +1,42 @@
+package cs2030.simulator.vector;
+
+import cs2030.simulator.ExpKernel;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ExpKernel} computing the logarithms of a block a whole vector at a time with
+ * the incubating Vector API, chosen by the name "vector".
+ *
+ * <p>The vector logarithm may differ from Math.log in the last bit, so a run with this
+ * kernel can give slightly different times, and so output, from a run with the scalar
+ * kernel. Runs with this kernel are still reproducible for a seed on the same
+ * machine.</p>
+ */
+public class VectorExpKernel implements ExpKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    @Override
+    public void exponential(double[] values, int length, double rate) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, values, i)
+                    .lanewise(VectorOperators.LOG)
+                    .neg()
+                    .div(rate)
+                    .intoArray(values, i);
+        }
+        for (; i < length; i++) {
+            values[i] = -Math.log(values[i]) / rate;
+        }
+    }
+
+}